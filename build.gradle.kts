@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.3.5"
 	id("io.spring.dependency-management") version "1.1.6"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.acmelabinc"
@@ -19,24 +20,121 @@ configurations {
 	}
 }
 
+sourceSets {
+	create("loadTest") {
+		compileClasspath += sourceSets.main.get().output + sourceSets.main.get().runtimeClasspath
+		runtimeClasspath += sourceSets.main.get().output + sourceSets.main.get().runtimeClasspath
+	}
+}
+
 repositories {
 	mavenCentral()
 }
 
 dependencies {
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	implementation("org.springframework.boot:spring-boot-starter-cache")
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
+	implementation("org.springframework.boot:spring-boot-starter-data-r2dbc")
 	implementation("org.springframework.boot:spring-boot-starter-web")
+	implementation("org.springframework.boot:spring-boot-starter-webflux")
 	implementation("org.flywaydb:flyway-core")
 	implementation("org.flywaydb:flyway-database-postgresql")
 	implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310:2.17.2")
+	implementation("com.github.ben-manes.caffeine:caffeine")
 	compileOnly("org.projectlombok:lombok")
+	compileOnly("com.h2database:h2")
 	runtimeOnly("com.h2database:h2")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 	runtimeOnly("org.postgresql:postgresql")
+	runtimeOnly("io.r2dbc:r2dbc-h2")
+	runtimeOnly("org.postgresql:r2dbc-postgresql")
+	runtimeOnly("org.codehaus.janino:janino")
 	annotationProcessor("org.projectlombok:lombok")
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
+	testImplementation("io.zonky.test:embedded-postgres:2.0.7")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+	jmh("org.mockito:mockito-core")
+	jmh("io.zonky.test:embedded-postgres:2.0.7")
+	"loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+	"loadTestImplementation"("io.zonky.test:embedded-postgres:2.0.7")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
+	maxHeapSize = "512m"
+	systemProperty("roombook.outbox.sink", "memory")
+	System.getProperties()
+		.filterKeys { it.toString().startsWith("roombook.") }
+		.forEach { (key, value) -> systemProperty(key.toString(), value) }
+}
+
+tasks.test {
+	useJUnitPlatform {
+		excludeTags("memory")
+	}
+}
+
+tasks.register<Test>("memoryTest") {
+	description = "Runs the tests tagged memory, which load millions of rows to check heap use."
+	group = "verification"
+	testClassesDirs = sourceSets["test"].output.classesDirs
+	classpath = sourceSets["test"].runtimeClasspath
+	useJUnitPlatform {
+		includeTags("memory")
+	}
+}
+
+tasks.register<JavaExec>("loadTest") {
+	description = "Compares request latency and throughput on platform and virtual threads."
+	group = "verification"
+	classpath = sourceSets["loadTest"].runtimeClasspath
+	mainClass = "com.acmelabinc.roombook.controllers.BookingLoadTest"
+	maxHeapSize = "2g"
+	System.getProperties()
+		.filterKeys { it.toString().startsWith("roombook.") }
+		.forEach { (key, value) -> systemProperty(key.toString(), value) }
+}
+
+tasks.register<JavaExec>("workloadTest") {
+	description = "Drives a synthetic mix of booking reads, saves, conflicts and cancels and reports latency per operation."
+	group = "verification"
+	classpath = sourceSets["loadTest"].runtimeClasspath
+	mainClass = "com.acmelabinc.roombook.controllers.BookingWorkloadTest"
+	maxHeapSize = "2g"
+	System.getProperties()
+		.filterKeys { it.toString().startsWith("roombook.") }
+		.forEach { (key, value) -> systemProperty(key.toString(), value) }
+}
+
+tasks.register<JavaExec>("eventStreamTest") {
+	description = "Opens thousands of idle booking event streams and measures their memory, threads and fan-out latency."
+	group = "verification"
+	classpath = sourceSets["loadTest"].runtimeClasspath
+	mainClass = "com.acmelabinc.roombook.controllers.BookingEventStreamScalingTest"
+	maxHeapSize = "2g"
+	System.getProperties()
+		.filterKeys { it.toString().startsWith("roombook.") }
+		.forEach { (key, value) -> systemProperty(key.toString(), value) }
+}
+
+tasks.register<JavaExec>("outboxTest") {
+	description = "Compares booking save latency with and without the outbox and times relaying the backlog."
+	group = "verification"
+	classpath = sourceSets["loadTest"].runtimeClasspath
+	mainClass = "com.acmelabinc.roombook.controllers.BookingOutboxLoadTest"
+	maxHeapSize = "2g"
+	System.getProperties()
+		.filterKeys { it.toString().startsWith("roombook.") }
+		.forEach { (key, value) -> systemProperty(key.toString(), value) }
+}
+
+tasks.check {
+	dependsOn("loadTestClasses")
+}
+
+jmh {
+	jvmArgs = listOf("-Xmx4g")
+	resultFormat = "JSON"
+	resultsFile = layout.buildDirectory.file("results/jmh/results-${project.version}.json")
 }
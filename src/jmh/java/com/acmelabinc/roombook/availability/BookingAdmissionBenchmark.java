@@ -0,0 +1,61 @@
+package com.acmelabinc.roombook.availability;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Admission throughput of the striped locks against a single global lock ({@code stripes = 1}) with eight writers
+ * spread over many rooms. The consumed CPU tokens stand in for the overlap check and insert done under the lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class BookingAdmissionBenchmark {
+
+    private static final int ROOMS = 500;
+    private static final LocalDate DATE = LocalDate.now().plusDays(1L);
+
+    @Param({"1", "1024"})
+    public int stripes;
+
+    @Param({"200"})
+    public int workTokens;
+
+    private BookingAdmission bookingAdmission;
+
+    @Setup
+    public void setUp() {
+        bookingAdmission = new BookingAdmission(stripes);
+    }
+
+    @Benchmark
+    public void admit() {
+        Lock lock = bookingAdmission.lockFor((long) ThreadLocalRandom.current().nextInt(ROOMS), DATE);
+        lock.lock();
+        try {
+            Blackhole.consumeCPU(workTokens);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
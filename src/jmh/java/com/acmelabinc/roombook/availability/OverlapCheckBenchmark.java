@@ -0,0 +1,130 @@
+package com.acmelabinc.roombook.availability;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the in-memory overlap check with the per-request overlap query the service used to run
+ * ({@code existsByRoomAndBookingDateAndStartTimeLessThanAndEndTimeGreaterThan}) on an H2 database migrated with the
+ * application's Flyway scripts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverlapCheckBenchmark {
+
+    private static final int ROOMS = 100;
+    private static final int SLOTS_PER_DAY = 8;
+    private static final LocalTime FIRST_SLOT = LocalTime.of(9, 0);
+    private static final String EXISTS_QUERY = "SELECT b.id FROM booking b WHERE b.room_id = ? AND b.booking_date = ? " +
+            "AND b.start_time < ? AND b.end_time > ? FETCH FIRST 1 ROWS ONLY";
+
+    @Param({"10000", "100000", "1000000"})
+    public int bookings;
+
+    private final List<Long> roomIds = new ArrayList<>();
+    private LocalDate firstDay;
+    private int days;
+    private BookingIntervalIndex bookingIntervalIndex;
+    private Connection connection;
+    private PreparedStatement existsStatement;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+
+        String url = "jdbc:h2:mem:overlap" + bookings + ";DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").locations("classpath:db/migration").load().migrate();
+        connection = DriverManager.getConnection(url, "sa", "");
+
+        firstDay = LocalDate.now().plusDays(1L);
+        days = Math.max(1, bookings / (ROOMS * SLOTS_PER_DAY));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO room (name) SELECT 'Bench ' || X FROM SYSTEM_RANGE(1, " + ROOMS + ")");
+            try (ResultSet resultSet = statement.executeQuery("SELECT id FROM room WHERE name LIKE 'Bench %' ORDER BY id")) {
+                while (resultSet.next()) {
+                    roomIds.add(resultSet.getLong(1));
+                }
+            }
+            statement.executeUpdate("INSERT INTO booking (room_id, employee_id, booking_date, start_time, end_time) " +
+                    "SELECT r.id, (SELECT MIN(id) FROM employee), " +
+                    "DATEADD(DAY, X / " + SLOTS_PER_DAY + ", DATE '" + firstDay + "'), " +
+                    "DATEADD(HOUR, MOD(X, " + SLOTS_PER_DAY + "), TIME '" + FIRST_SLOT + "'), " +
+                    "DATEADD(HOUR, MOD(X, " + SLOTS_PER_DAY + ") + 1, TIME '" + FIRST_SLOT + "') " +
+                    "FROM room r CROSS JOIN SYSTEM_RANGE(0, " + (days * SLOTS_PER_DAY - 1) + ") WHERE r.name LIKE 'Bench %'");
+        }
+
+        bookingIntervalIndex = new BookingIntervalIndex(null, true);
+        for (Long roomId : roomIds) {
+            for (int day = 0; day < days; day++) {
+                for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                    bookingIntervalIndex.add(roomId, firstDay.plusDays(day), FIRST_SLOT.plusHours(slot),
+                            FIRST_SLOT.plusHours(slot + 1L));
+                }
+            }
+        }
+
+        existsStatement = connection.prepareStatement(EXISTS_QUERY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        existsStatement.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public boolean intervalIndex() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalTime start = LocalTime.of(random.nextInt(7, 19), 0);
+        return bookingIntervalIndex.overlaps(roomIds.get(random.nextInt(roomIds.size())),
+                firstDay.plusDays(random.nextInt(days)), start, start.plusHours(1L));
+    }
+
+    @Benchmark
+    public boolean repositoryQuery() throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalTime start = LocalTime.of(random.nextInt(7, 19), 0);
+
+        existsStatement.setLong(1, roomIds.get(random.nextInt(roomIds.size())));
+        existsStatement.setDate(2, Date.valueOf(firstDay.plusDays(random.nextInt(days))));
+        existsStatement.setTime(3, Time.valueOf(start.plusHours(1L)));
+        existsStatement.setTime(4, Time.valueOf(start));
+        try (ResultSet resultSet = existsStatement.executeQuery()) {
+            return resultSet.next();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.acmelabinc.roombook.availability;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Room search over 5,000 rooms and a 30-day window, with about five of eight office hours of every room-day booked,
+ * on an H2 database migrated with the application's Flyway scripts. {@code solveSequential} and {@code solveForkJoin}
+ * time the solver alone on bitmaps built beforehand; {@code loadAndSolve} adds the single range query and building
+ * the bitmaps, as the service does; {@code perRoomQueries} is the one-query-per-room lookup the search replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoomSearchBenchmark {
+
+    private static final int ROOMS = 5000;
+    private static final int DAYS = 30;
+    private static final int SLOTS_PER_DAY = 8;
+    private static final int WINDOW_START = 13;
+    private static final int WINDOW_END = 17;
+    private static final int HOURS = 2;
+    private static final int LIMIT = 20;
+    private static final String RANGE_QUERY = "SELECT room_id, booking_date, start_time, end_time FROM booking " +
+            "WHERE booking_date BETWEEN ? AND ? AND cancelled_at IS NULL";
+    private static final String ROOM_QUERY = "SELECT room_id, booking_date, start_time, end_time FROM booking " +
+            "WHERE room_id = ? AND booking_date BETWEEN ? AND ? AND cancelled_at IS NULL";
+
+    private final List<Long> roomIds = new ArrayList<>();
+    private LocalDate firstDay;
+    private int[] bitmaps;
+    private Connection connection;
+    private PreparedStatement rangeStatement;
+    private PreparedStatement roomStatement;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+
+        String url = "jdbc:h2:mem:room-search;DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").locations("classpath:db/migration").load().migrate();
+        connection = DriverManager.getConnection(url, "sa", "");
+
+        firstDay = LocalDate.now().plusDays(1L);
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO room (name) SELECT 'Bench ' || X FROM SYSTEM_RANGE(1, " + ROOMS + ")");
+            try (ResultSet resultSet = statement.executeQuery("SELECT id FROM room WHERE name LIKE 'Bench %' ORDER BY name")) {
+                while (resultSet.next()) {
+                    roomIds.add(resultSet.getLong(1));
+                }
+            }
+            statement.executeUpdate("INSERT INTO booking (room_id, employee_id, booking_date, start_time, end_time) " +
+                    "SELECT r.id, (SELECT MIN(id) FROM employee), " +
+                    "DATEADD(DAY, X / " + SLOTS_PER_DAY + ", DATE '" + firstDay + "'), " +
+                    "DATEADD(HOUR, MOD(X, " + SLOTS_PER_DAY + "), TIME '09:00:00'), " +
+                    "DATEADD(HOUR, MOD(X, " + SLOTS_PER_DAY + ") + 1, TIME '09:00:00') " +
+                    "FROM room r CROSS JOIN SYSTEM_RANGE(0, " + (DAYS * SLOTS_PER_DAY - 1) + ") " +
+                    "WHERE r.name LIKE 'Bench %' AND MOD(r.id * 31 + X * 7, 8) < 5");
+            statement.execute("ANALYZE");
+        }
+
+        rangeStatement = connection.prepareStatement(RANGE_QUERY);
+        roomStatement = connection.prepareStatement(ROOM_QUERY);
+        bitmaps = FreeSlotSearch.occupancy(roomIds, firstDay, DAYS, rangeSlots());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        rangeStatement.close();
+        roomStatement.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<FreeSlotSearch.Candidate> solveSequential() {
+        return FreeSlotSearch.search(bitmaps, DAYS, WINDOW_START, WINDOW_END, HOURS, LIMIT, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<FreeSlotSearch.Candidate> solveForkJoin() {
+        return FreeSlotSearch.search(bitmaps, DAYS, WINDOW_START, WINDOW_END, HOURS, LIMIT);
+    }
+
+    @Benchmark
+    public List<FreeSlotSearch.Candidate> loadAndSolve() throws SQLException {
+        int[] loaded = FreeSlotSearch.occupancy(roomIds, firstDay, DAYS, rangeSlots());
+        return FreeSlotSearch.search(loaded, DAYS, WINDOW_START, WINDOW_END, HOURS, LIMIT);
+    }
+
+    @Benchmark
+    public List<FreeSlotSearch.Candidate> perRoomQueries() throws SQLException {
+
+        List<BookingSlot> slots = new ArrayList<>();
+        roomStatement.setDate(2, Date.valueOf(firstDay));
+        roomStatement.setDate(3, Date.valueOf(firstDay.plusDays(DAYS - 1L)));
+        for (Long roomId : roomIds) {
+            roomStatement.setLong(1, roomId);
+            try (ResultSet resultSet = roomStatement.executeQuery()) {
+                addSlots(resultSet, slots);
+            }
+        }
+        int[] loaded = FreeSlotSearch.occupancy(roomIds, firstDay, DAYS, slots);
+        return FreeSlotSearch.search(loaded, DAYS, WINDOW_START, WINDOW_END, HOURS, LIMIT, Integer.MAX_VALUE);
+    }
+
+    private List<BookingSlot> rangeSlots() throws SQLException {
+
+        List<BookingSlot> slots = new ArrayList<>();
+        rangeStatement.setDate(1, Date.valueOf(firstDay));
+        rangeStatement.setDate(2, Date.valueOf(firstDay.plusDays(DAYS - 1L)));
+        try (ResultSet resultSet = rangeStatement.executeQuery()) {
+            addSlots(resultSet, slots);
+        }
+        return slots;
+    }
+
+    private static void addSlots(ResultSet resultSet, List<BookingSlot> slots) throws SQLException {
+        while (resultSet.next()) {
+            slots.add(new BookingSlot(resultSet.getLong(1), resultSet.getDate(2).toLocalDate(),
+                    resultSet.getTime(3).toLocalTime(), resultSet.getTime(4).toLocalTime()));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.acmelabinc.roombook.converters;
+
+import com.acmelabinc.roombook.dtos.BookingRequestDto;
+import com.acmelabinc.roombook.dtos.BookingResponseDto;
+import com.acmelabinc.roombook.entities.Booking;
+import com.acmelabinc.roombook.entities.Employee;
+import com.acmelabinc.roombook.entities.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link BookingConverter} conversions on every booking request: request DTO to entity, entity to
+ * response DTO (from the loaded room and employee or from the names in the request) and response DTO to a CSV line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingConverterBenchmark {
+
+    private Room room;
+    private Employee employee;
+    private Booking booking;
+    private BookingRequestDto bookingRequestDto;
+    private BookingResponseDto bookingResponseDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        room = new Room(1L, "Earth");
+        employee = new Employee(1L, "pluto@acme.com");
+
+        bookingRequestDto = new BookingRequestDto();
+        bookingRequestDto.setRoomName(room.getName());
+        bookingRequestDto.setEmployeeEmail(employee.getEmail());
+        bookingRequestDto.setBookingDate(LocalDate.of(2030, 1, 1));
+        bookingRequestDto.setStartTime(LocalTime.of(10, 0));
+        bookingRequestDto.setEndTime(LocalTime.of(11, 0));
+
+        booking = BookingConverter.convert(bookingRequestDto, room, employee);
+        booking.setId(42L);
+        bookingResponseDto = BookingConverter.convert(booking);
+    }
+
+    @Benchmark
+    public Booking requestToEntity() {
+        return BookingConverter.convert(bookingRequestDto, room, employee);
+    }
+
+    @Benchmark
+    public BookingResponseDto entityToResponse() {
+        return BookingConverter.convert(booking);
+    }
+
+    @Benchmark
+    public BookingResponseDto entityToResponseWithNames() {
+        return BookingConverter.convert(booking, bookingRequestDto.getRoomName(), bookingRequestDto.getEmployeeEmail());
+    }
+
+    @Benchmark
+    public String responseToCsv() {
+        return BookingConverter.toCsv(bookingResponseDto);
+    }
+}
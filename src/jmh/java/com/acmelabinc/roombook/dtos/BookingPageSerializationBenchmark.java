@@ -0,0 +1,69 @@
+package com.acmelabinc.roombook.dtos;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing a {@code Page<BookingResponseDto>} as the {@code /api/bookings/all} response body, with an object
+ * mapper configured like Spring Boot's (Java time module, ISO dates), for page sizes 10, 100 and 1,000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingPageSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<BookingResponseDto> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        List<BookingResponseDto> bookings = new ArrayList<>(pageSize);
+        LocalDate firstDay = LocalDate.of(2030, 1, 1);
+        for (int i = 0; i < pageSize; i++) {
+            LocalTime start = LocalTime.of(8 + i % 10, 0);
+            bookings.add(new BookingResponseDto((long) i, "Room " + i % 50, "employee" + i % 200 + "@acme.com",
+                    firstDay.plusDays(i / 10), start, start.plusHours(1L)));
+        }
+        page = new PageImpl<>(bookings, PageRequest.of(3, pageSize, Sort.by("bookingDate")), 100_000L);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,128 @@
+package com.acmelabinc.roombook.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of one successful and one conflicting {@code POST /api/bookings}, with the statements the service and
+ * the exception handler used to make (INFO on entry and success, ERROR for a conflict, written synchronously) and
+ * with the current ones (DEBUG on entry and for conflicts, success INFO sampled one in 100, written through the async
+ * appender of {@code logback-spring.xml}). Both write Spring Boot's console pattern to a discarding stream. Run with
+ * the GC profiler to see bytes per request:
+ * {@code java -jar build/libs/*-jmh.jar RequestLogging -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p 1 --- [%15.15t] %-40.40logger{39} : %m%n";
+    private static final String ROOM = "Earth";
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 1);
+    private static final String CONFLICT = "This room is already booked for the selected hours or overlaps another booking.";
+
+    private LoggerContext before;
+    private LoggerContext after;
+    private Logger serviceBefore;
+    private Logger handlerBefore;
+    private Logger serviceAfter;
+    private Logger handlerAfter;
+    private long id;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        before = new LoggerContext();
+        before.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).addAppender(discardingAppender(before));
+        serviceBefore = before.getLogger("com.acmelabinc.roombook.services.BookingServiceImpl");
+        handlerBefore = before.getLogger("com.acmelabinc.roombook.exceptions.BookRoomExceptionHandler");
+
+        after = new LoggerContext();
+        SamplingTurboFilter samplingFilter = new SamplingTurboFilter();
+        samplingFilter.setRate(100);
+        samplingFilter.start();
+        after.addTurboFilter(samplingFilter);
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(after);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(discardingAppender(after));
+        async.start();
+        after.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).addAppender(async);
+        serviceAfter = after.getLogger("com.acmelabinc.roombook.services.BookingServiceImpl");
+        handlerAfter = after.getLogger("com.acmelabinc.roombook.exceptions.BookRoomExceptionHandler");
+
+        for (LoggerContext context : new LoggerContext[]{before, after}) {
+            context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(ch.qos.logback.classic.Level.INFO);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        before.stop();
+        after.stop();
+    }
+
+    @Benchmark
+    public void savedBefore() {
+        serviceBefore.info("Saving a new booking in room {} on date {}", ROOM, DATE);
+        serviceBefore.info("Booking saved successfully with ID {}", ++id);
+    }
+
+    @Benchmark
+    public void savedAfter() {
+        serviceAfter.debug("Saving a new booking in room {} on date {}", ROOM, DATE);
+        serviceAfter.info(SamplingTurboFilter.SAMPLED, "Booking saved successfully with ID {}", ++id);
+    }
+
+    @Benchmark
+    public void conflictBefore() {
+        serviceBefore.info("Saving a new booking in room {} on date {}", ROOM, DATE);
+        handlerBefore.error("API MESSAGE: {}", CONFLICT);
+    }
+
+    @Benchmark
+    public void conflictAfter() {
+        serviceAfter.debug("Saving a new booking in room {} on date {}", ROOM, DATE);
+        handlerAfter.debug("API MESSAGE: {}", CONFLICT);
+    }
+
+    private static Appender<ILoggingEvent> discardingAppender(LoggerContext context) {
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+}
@@ -0,0 +1,149 @@
+package com.acmelabinc.roombook.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of fetching page 1 and page 10,000 of {@code /api/bookings/all} with offset pagination (page query plus
+ * COUNT(*)) and with the keyset listing behind {@code /api/bookings/all/seek}, on 200,000 bookings in H2.
+ * <p>
+ * Only the booking table is queried: room and employee names are primary-key lookups for the ten rows of a page in
+ * both modes, and H2 picks join order by table size without regard to the row limit. Result reuse is switched off so
+ * that repeated executions of the same statement are actually run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingPaginationBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int ROOMS = 250;
+    private static final int SLOTS_PER_DAY = 8;
+    private static final int DAYS = 100;
+    private static final String SELECT = "SELECT b.id, b.room_id, b.employee_id, b.booking_date, b.start_time, " +
+            "b.end_time FROM booking b ";
+    private static final String ORDER = "ORDER BY b.booking_date, b.start_time, b.id ";
+
+    @Param({"1", "10000"})
+    public int page;
+
+    private Connection connection;
+    private PreparedStatement offsetQuery;
+    private PreparedStatement countQuery;
+    private PreparedStatement keysetQuery;
+    private Date cursorDate;
+    private Time cursorStartTime;
+    private long cursorId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+
+        String url = "jdbc:h2:mem:pagination" + page + ";DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE";
+        Flyway.configure().dataSource(url, "sa", "").locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load().migrate();
+        connection = DriverManager.getConnection(url, "sa", "");
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO room (name) SELECT 'Bench ' || X FROM SYSTEM_RANGE(1, " + ROOMS + ")");
+            statement.executeUpdate("INSERT INTO booking (room_id, employee_id, booking_date, start_time, end_time) " +
+                    "SELECT r.id, (SELECT MIN(id) FROM employee), " +
+                    "DATEADD(DAY, X / " + SLOTS_PER_DAY + ", DATE '" + LocalDate.now().plusDays(1L) + "'), " +
+                    "DATEADD(HOUR, MOD(X, " + SLOTS_PER_DAY + "), TIME '09:00:00'), " +
+                    "DATEADD(HOUR, MOD(X, " + SLOTS_PER_DAY + ") + 1, TIME '09:00:00') " +
+                    "FROM room r CROSS JOIN SYSTEM_RANGE(0, " + (DAYS * SLOTS_PER_DAY - 1) + ") " +
+                    "WHERE r.name LIKE 'Bench %'");
+            statement.execute("ANALYZE");
+        }
+
+        offsetQuery = connection.prepareStatement(SELECT + ORDER + "OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+        countQuery = connection.prepareStatement("SELECT COUNT(b.id) FROM booking b");
+        keysetQuery = connection.prepareStatement(SELECT + "WHERE b.booking_date >= ? AND (b.booking_date > ? " +
+                "OR (b.booking_date = ? AND (b.start_time > ? OR (b.start_time = ? AND b.id > ?)))) " + ORDER +
+                "FETCH FIRST ? ROWS ONLY");
+
+        if (page > 1) {
+            try (PreparedStatement lastOfPreviousPage = connection.prepareStatement(
+                    "SELECT booking_date, start_time, id FROM booking b " + ORDER + "OFFSET ? ROWS FETCH NEXT 1 ROW ONLY")) {
+                lastOfPreviousPage.setInt(1, (page - 1) * PAGE_SIZE - 1);
+                try (ResultSet resultSet = lastOfPreviousPage.executeQuery()) {
+                    resultSet.next();
+                    cursorDate = resultSet.getDate(1);
+                    cursorStartTime = resultSet.getTime(2);
+                    cursorId = resultSet.getLong(3);
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void offsetPage(Blackhole blackhole) throws SQLException {
+
+        offsetQuery.setInt(1, (page - 1) * PAGE_SIZE);
+        offsetQuery.setInt(2, PAGE_SIZE);
+        consume(offsetQuery, blackhole);
+        consume(countQuery, blackhole);
+    }
+
+    @Benchmark
+    public void keysetPage(Blackhole blackhole) throws SQLException {
+
+        if (page == 1) {
+            offsetQuery.setInt(1, 0);
+            offsetQuery.setInt(2, PAGE_SIZE + 1);
+            consume(offsetQuery, blackhole);
+            return;
+        }
+
+        keysetQuery.setDate(1, cursorDate);
+        keysetQuery.setDate(2, cursorDate);
+        keysetQuery.setDate(3, cursorDate);
+        keysetQuery.setTime(4, cursorStartTime);
+        keysetQuery.setTime(5, cursorStartTime);
+        keysetQuery.setLong(6, cursorId);
+        keysetQuery.setInt(7, PAGE_SIZE + 1);
+        consume(keysetQuery, blackhole);
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.acmelabinc.roombook.repositories;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The overlap query and the interval-index warm-up query over five years of synthetic history plus a month ahead, on
+ * an embedded PostgreSQL migrated up to the unpartitioned schema (V8) and with the monthly partitions of V9. Both
+ * queries target today and the future, as live traffic does.
+ * <p>
+ * Seeding some 750,000 bookings takes a minute or two per layout. The embedded PostgreSQL runs with its default
+ * settings, so compare the layouts with each other rather than with a tuned server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingPartitioningBenchmark {
+
+    private static final int ROOMS = 50;
+    private static final int SLOTS_PER_DAY = 8;
+    private static final int HISTORY_YEARS = 5;
+    private static final int DAYS_AHEAD = 30;
+    private static final int UNPARTITIONED_VERSION = 8;
+    private static final LocalTime FIRST_SLOT = LocalTime.of(9, 0);
+    private static final String OVERLAP_QUERY = "SELECT b.id FROM booking b WHERE b.room_id = ? AND b.booking_date = ? " +
+            "AND b.start_time < ? AND b.end_time > ? AND b.cancelled_at IS NULL FETCH FIRST 1 ROWS ONLY";
+    private static final String SLOTS_FROM_QUERY = "SELECT b.room_id, b.booking_date, b.start_time, b.end_time " +
+            "FROM booking b WHERE b.booking_date >= ? AND b.cancelled_at IS NULL";
+
+    @Param({"plain", "partitioned"})
+    public String layout;
+
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+    private PreparedStatement overlapStatement;
+    private PreparedStatement slotsFromStatement;
+    private long firstRoomId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+
+        postgres = EmbeddedPostgres.start();
+        connection = postgres.getPostgresDatabase().getConnection();
+        migrate("plain".equals(layout) ? UNPARTITIONED_VERSION : Integer.MAX_VALUE);
+
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusYears(HISTORY_YEARS);
+        if ("partitioned".equals(layout)) {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT booking_create_partition(" +
+                    "month::DATE) FROM generate_series(?::DATE, ?::DATE, INTERVAL '1 month') AS month")) {
+                statement.setObject(1, firstDay.withDayOfMonth(1));
+                statement.setObject(2, today);
+                statement.execute();
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO room (name) SELECT 'Bench ' || x FROM generate_series(1, " + ROOMS +
+                    ") AS x");
+            try (ResultSet resultSet = statement.executeQuery("SELECT MIN(id) FROM room WHERE name LIKE 'Bench %'")) {
+                resultSet.next();
+                firstRoomId = resultSet.getLong(1);
+            }
+            statement.executeUpdate("INSERT INTO booking (room_id, employee_id, booking_date, start_time, end_time) " +
+                    "SELECT r.id, (SELECT MIN(id) FROM employee), d::DATE, TIME '" + FIRST_SLOT + "' + s * INTERVAL " +
+                    "'1 hour', TIME '" + FIRST_SLOT + "' + (s + 1) * INTERVAL '1 hour' FROM room r " +
+                    "CROSS JOIN generate_series(DATE '" + firstDay + "', DATE '" + today.plusDays(DAYS_AHEAD) +
+                    "', INTERVAL '1 day') AS d CROSS JOIN generate_series(0, " + (SLOTS_PER_DAY - 1) + ") AS s " +
+                    "WHERE r.name LIKE 'Bench %'");
+            statement.execute("VACUUM ANALYZE booking");
+        }
+
+        overlapStatement = connection.prepareStatement(OVERLAP_QUERY);
+        slotsFromStatement = connection.prepareStatement(SLOTS_FROM_QUERY);
+    }
+
+    /**
+     * Runs the application's PostgreSQL migrations up to {@code targetVersion}. Flyway cannot be used here: the JMH
+     * jar keeps only one of the plugin registrations of the Flyway jars, which drops PostgreSQL support.
+     */
+    private void migrate(int targetVersion) throws IOException, SQLException {
+
+        Resource[] scripts = Stream.of("classpath:db/migration/V*.sql", "classpath:db/vendor/postgresql/V*.sql")
+                .flatMap(pattern -> {
+                    try {
+                        return Arrays.stream(new PathMatchingResourcePatternResolver().getResources(pattern));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .filter(script -> version(script) <= targetVersion)
+                .sorted(Comparator.comparingInt(BookingPartitioningBenchmark::version))
+                .toArray(Resource[]::new);
+
+        try (Statement statement = connection.createStatement()) {
+            for (Resource script : scripts) {
+                statement.execute(script.getContentAsString(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static int version(Resource script) {
+        String name = script.getFilename();
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        overlapStatement.close();
+        slotsFromStatement.close();
+        connection.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public boolean overlapQuery() throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalTime start = LocalTime.of(random.nextInt(7, 19), 0);
+
+        overlapStatement.setLong(1, firstRoomId + random.nextInt(ROOMS));
+        overlapStatement.setDate(2, Date.valueOf(LocalDate.now().plusDays(random.nextInt(DAYS_AHEAD))));
+        overlapStatement.setTime(3, Time.valueOf(start.plusHours(1L)));
+        overlapStatement.setTime(4, Time.valueOf(start));
+        try (ResultSet resultSet = overlapStatement.executeQuery()) {
+            return resultSet.next();
+        }
+    }
+
+    @Benchmark
+    public int slotsFromToday() throws SQLException {
+        slotsFromStatement.setDate(1, Date.valueOf(LocalDate.now()));
+        int slots = 0;
+        try (ResultSet resultSet = slotsFromStatement.executeQuery()) {
+            while (resultSet.next()) {
+                slots++;
+            }
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,196 @@
+package com.acmelabinc.roombook.repositories;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A page of {@code GET /api/employees/{email}/bookings}, first and from a cursor half-way through the range, over a
+ * year of synthetic history spread across 1,000 employees, on an embedded PostgreSQL with the monthly partitions of
+ * V9. {@code employee-id} stops at V10, where the history can only use the plain foreign-key index on employee_id;
+ * {@code covering} adds the (employee_id, booking_date, start_time, id) index of V11. That the first page is an
+ * index-only scan without heap fetches is checked by {@code BookingPostgresQueryPlanTest}.
+ * <p>
+ * The embedded PostgreSQL runs with its default settings, so compare the indexes with each other rather than with a
+ * tuned server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeHistoryBenchmark {
+
+    private static final int ROOMS = 200;
+    private static final int EMPLOYEES = 1000;
+    private static final int SLOTS_PER_DAY = 8;
+    private static final int DAYS = 365;
+    private static final int PAGE_SIZE = 10;
+    private static final int BEFORE_COVERING_INDEX = 10;
+    private static final String SELECT = "SELECT b.id, r.name, e.email, b.booking_date, b.start_time, b.end_time " +
+            "FROM booking b JOIN room r ON r.id = b.room_id JOIN employee e ON e.id = b.employee_id " +
+            "WHERE b.employee_id = ? AND b.booking_date BETWEEN ? AND ? AND b.cancelled_at IS NULL ";
+    private static final String AFTER_CURSOR = "AND b.booking_date >= ? AND (b.booking_date > ? " +
+            "OR (b.booking_date = ? AND (b.start_time > ? OR (b.start_time = ? AND b.id > ?)))) ";
+    private static final String ORDER = "ORDER BY b.booking_date, b.start_time, b.id FETCH FIRST " + (PAGE_SIZE + 1) +
+            " ROWS ONLY";
+
+    @Param({"employee-id", "covering"})
+    public String index;
+
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+    private PreparedStatement firstPageStatement;
+    private PreparedStatement afterCursorStatement;
+    private long firstEmployeeId;
+    private LocalDate firstDay;
+    private LocalDate lastDay;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+
+        postgres = EmbeddedPostgres.start();
+        connection = postgres.getPostgresDatabase().getConnection();
+        migrate("covering".equals(index) ? Integer.MAX_VALUE : BEFORE_COVERING_INDEX);
+
+        firstDay = LocalDate.now().minusDays(DAYS);
+        lastDay = LocalDate.now();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT booking_create_partition(" +
+                "month::DATE) FROM generate_series(?::DATE, ?::DATE, INTERVAL '1 month') AS month")) {
+            statement.setObject(1, firstDay.withDayOfMonth(1));
+            statement.setObject(2, lastDay);
+            statement.execute();
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO room (name) SELECT 'Bench ' || x FROM generate_series(1, " + ROOMS +
+                    ") AS x");
+            statement.executeUpdate("INSERT INTO employee (email) SELECT 'bench' || x || '@acme.com' " +
+                    "FROM generate_series(1, " + EMPLOYEES + ") AS x");
+            try (ResultSet resultSet = statement.executeQuery("SELECT MIN(id) FROM employee WHERE email LIKE 'bench%'")) {
+                resultSet.next();
+                firstEmployeeId = resultSet.getLong(1);
+            }
+            statement.executeUpdate("INSERT INTO booking (room_id, employee_id, booking_date, start_time, end_time) " +
+                    "SELECT r.id, " + firstEmployeeId + " + (r.id * 7 + s + (d::DATE - DATE '" + firstDay + "') * 3) % " +
+                    EMPLOYEES + ", d::DATE, TIME '09:00' + s * INTERVAL '1 hour', " +
+                    "TIME '09:00' + (s + 1) * INTERVAL '1 hour' FROM room r " +
+                    "CROSS JOIN generate_series(DATE '" + firstDay + "', DATE '" + lastDay + "', INTERVAL '1 day') AS d " +
+                    "CROSS JOIN generate_series(0, " + (SLOTS_PER_DAY - 1) + ") AS s WHERE r.name LIKE 'Bench %'");
+            statement.execute("VACUUM ANALYZE");
+        }
+
+        firstPageStatement = connection.prepareStatement(SELECT + ORDER);
+        afterCursorStatement = connection.prepareStatement(SELECT + AFTER_CURSOR + ORDER);
+    }
+
+    /**
+     * Runs the application's PostgreSQL migrations up to {@code targetVersion}, as {@link BookingPartitioningBenchmark}
+     * does.
+     */
+    private void migrate(int targetVersion) throws IOException, SQLException {
+
+        Resource[] scripts = Stream.of("classpath:db/migration/V*.sql", "classpath:db/vendor/postgresql/V*.sql")
+                .flatMap(pattern -> {
+                    try {
+                        return Arrays.stream(new PathMatchingResourcePatternResolver().getResources(pattern));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .filter(script -> version(script) <= targetVersion)
+                .sorted(Comparator.comparingInt(EmployeeHistoryBenchmark::version))
+                .toArray(Resource[]::new);
+
+        try (Statement statement = connection.createStatement()) {
+            for (Resource script : scripts) {
+                statement.execute(script.getContentAsString(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static int version(Resource script) {
+        String name = script.getFilename();
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        firstPageStatement.close();
+        afterCursorStatement.close();
+        connection.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public void firstPage(Blackhole blackhole) throws SQLException {
+        bindRange(firstPageStatement, randomEmployeeId());
+        consume(firstPageStatement, blackhole);
+    }
+
+    @Benchmark
+    public void pageAfterCursor(Blackhole blackhole) throws SQLException {
+
+        Date cursorDate = Date.valueOf(firstDay.plusDays(DAYS / 2));
+        Time cursorStartTime = Time.valueOf("12:00:00");
+
+        bindRange(afterCursorStatement, randomEmployeeId());
+        afterCursorStatement.setDate(4, cursorDate);
+        afterCursorStatement.setDate(5, cursorDate);
+        afterCursorStatement.setDate(6, cursorDate);
+        afterCursorStatement.setTime(7, cursorStartTime);
+        afterCursorStatement.setTime(8, cursorStartTime);
+        afterCursorStatement.setLong(9, 0L);
+        consume(afterCursorStatement, blackhole);
+    }
+
+    private long randomEmployeeId() {
+        return firstEmployeeId + ThreadLocalRandom.current().nextInt(EMPLOYEES);
+    }
+
+    private void bindRange(PreparedStatement statement, long employeeId) throws SQLException {
+        statement.setLong(1, employeeId);
+        statement.setDate(2, Date.valueOf(firstDay));
+        statement.setDate(3, Date.valueOf(lastDay));
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.acmelabinc.roombook.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a booking insert that first runs the overlap query against a single optimistic insert that relies on
+ * the {@code booking_no_overlap} constraint, with four writers competing for the same rooms. Every insert is rolled
+ * back so the table keeps its seeded occupancy (every other hour booked).
+ * <p>
+ * Runs against in-memory H2 by default. Pass {@code -p url=jdbc:postgresql://localhost:5432/postgres -p user=postgres
+ * -p password=postgres} to measure the PostgreSQL exclusion constraint, where the saved round trip matters most.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class OverlapInsertBenchmark {
+
+    private static final int ROOMS = 20;
+    private static final int DAYS = 30;
+    private static final LocalDate FIRST_DAY = LocalDate.now().plusDays(1L);
+    private static final String EXISTS_QUERY = "SELECT b.id FROM booking b WHERE b.room_id = ? AND b.booking_date = ? " +
+            "AND b.start_time < ? AND b.end_time > ? FETCH FIRST 1 ROWS ONLY";
+    private static final String INSERT = "INSERT INTO booking (room_id, employee_id, booking_date, start_time, end_time) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    @Param({"jdbc:h2:mem:overlap-insert;DB_CLOSE_DELAY=-1"})
+    public String url;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    private long firstRoomId;
+    private long employeeId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+
+        String vendor = url.startsWith("jdbc:postgresql") ? "postgresql" : "h2";
+        Flyway flyway = Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration", "classpath:db/vendor/" + vendor)
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO room (name) SELECT 'Bench ' || x FROM " + range(ROOMS) + " AS r(x)");
+            try (ResultSet resultSet = statement.executeQuery("SELECT MIN(r.id), MIN(e.id) FROM room r, employee e " +
+                    "WHERE r.name LIKE 'Bench %'")) {
+                resultSet.next();
+                firstRoomId = resultSet.getLong(1);
+                employeeId = resultSet.getLong(2);
+            }
+        }
+
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            for (int room = 0; room < ROOMS; room++) {
+                for (int day = 0; day < DAYS; day++) {
+                    for (int hour = 8; hour < 18; hour += 2) {
+                        bind(insert, firstRoomId + room, day, hour);
+                        insert.addBatch();
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Flyway.configure().dataSource(url, user, password).cleanDisabled(false).load().clean();
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+
+        private Connection connection;
+        private PreparedStatement exists;
+        private PreparedStatement insert;
+
+        @Setup(Level.Trial)
+        public void setUp(OverlapInsertBenchmark benchmark) throws SQLException {
+            connection = DriverManager.getConnection(benchmark.url, benchmark.user, benchmark.password);
+            connection.setAutoCommit(false);
+            exists = connection.prepareStatement(EXISTS_QUERY);
+            insert = connection.prepareStatement(INSERT);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public boolean checkThenInsert(Writer writer) throws SQLException {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long roomId = firstRoomId + random.nextInt(ROOMS);
+        int day = random.nextInt(DAYS);
+        int hour = random.nextInt(8, 18);
+
+        try {
+            writer.exists.setLong(1, roomId);
+            writer.exists.setDate(2, Date.valueOf(FIRST_DAY.plusDays(day)));
+            writer.exists.setTime(3, Time.valueOf(LocalTime.of(hour + 1, 0)));
+            writer.exists.setTime(4, Time.valueOf(LocalTime.of(hour, 0)));
+            try (ResultSet resultSet = writer.exists.executeQuery()) {
+                if (resultSet.next()) {
+                    return false;
+                }
+            }
+            bind(writer.insert, roomId, day, hour);
+            return writer.insert.executeUpdate() == 1;
+        } catch (SQLException e) {
+            if (isConstraintViolation(e)) {
+                return false;
+            }
+            throw e;
+        } finally {
+            writer.connection.rollback();
+        }
+    }
+
+    @Benchmark
+    public boolean optimisticInsert(Writer writer) throws SQLException {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        try {
+            bind(writer.insert, firstRoomId + random.nextInt(ROOMS), random.nextInt(DAYS), random.nextInt(8, 18));
+            return writer.insert.executeUpdate() == 1;
+        } catch (SQLException e) {
+            if (isConstraintViolation(e)) {
+                return false;
+            }
+            throw e;
+        } finally {
+            writer.connection.rollback();
+        }
+    }
+
+    private void bind(PreparedStatement insert, long roomId, int day, int hour) throws SQLException {
+        insert.setLong(1, roomId);
+        insert.setLong(2, employeeId);
+        insert.setDate(3, Date.valueOf(FIRST_DAY.plusDays(day)));
+        insert.setTime(4, Time.valueOf(LocalTime.of(hour, 0)));
+        insert.setTime(5, Time.valueOf(LocalTime.of(hour + 1, 0)));
+    }
+
+    private String range(int count) {
+        return url.startsWith("jdbc:postgresql") ? "generate_series(1, " + count + ")" : "SYSTEM_RANGE(1, " + count + ")";
+    }
+
+    private static boolean isConstraintViolation(SQLException e) {
+        return e.getSQLState() != null && e.getSQLState().startsWith("23");
+    }
+}
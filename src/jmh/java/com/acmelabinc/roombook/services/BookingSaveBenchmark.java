@@ -0,0 +1,208 @@
+package com.acmelabinc.roombook.services;
+
+import com.acmelabinc.roombook.availability.BookingAdmission;
+import com.acmelabinc.roombook.availability.BookingIntervalIndex;
+import com.acmelabinc.roombook.availability.RoomDayOccupancy;
+import com.acmelabinc.roombook.availability.RoomDayVersions;
+import com.acmelabinc.roombook.compaction.BookingRetention;
+import com.acmelabinc.roombook.dtos.BookingRequestDto;
+import com.acmelabinc.roombook.dtos.BookingResponseDto;
+import com.acmelabinc.roombook.entities.Booking;
+import com.acmelabinc.roombook.entities.Employee;
+import com.acmelabinc.roombook.entities.Room;
+import com.acmelabinc.roombook.events.BookingEventBus;
+import com.acmelabinc.roombook.metrics.BookingMetrics;
+import com.acmelabinc.roombook.outbox.BookingOutbox;
+import com.acmelabinc.roombook.repositories.BookingRepository;
+import com.acmelabinc.roombook.repositories.EmployeeRepository;
+import com.acmelabinc.roombook.repositories.RoomRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Latency of {@link BookingService#save} including its overlap check, once on stub-only Mockito repositories, which
+ * leaves the service, interval index, admission and metrics overhead, and once on Spring Data JPA repositories over a
+ * Flyway-migrated H2, which adds Hibernate and the insert. Room and employee ids come from a stub in both modes, as
+ * they would from the warm reference caches. Every save is rolled back, so the rooms stay free and each call takes
+ * the success path. The database-only comparison of the overlap query and the index is {@code OverlapCheckBenchmark}.
+ * <p>
+ * The H2 mode wires JPA by hand: the JMH jar keeps only one of the auto-configuration import files that the Spring
+ * Boot jars ship, so the application context cannot start from it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingSaveBenchmark {
+
+    private static final String ROOM = "Earth";
+    private static final String EMPLOYEE = "pluto@acme.com";
+    private static final int DAYS = 30;
+
+    @Param({"mock", "h2"})
+    public String repository;
+
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private BookingService bookingService;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        if ("h2".equals(repository)) {
+            setUpH2();
+            return;
+        }
+
+        Room room = new Room(1L, ROOM);
+        Employee employee = new Employee(1L, EMPLOYEE);
+
+        BookingRepository bookingRepository = stub(BookingRepository.class);
+        RoomRepository roomRepository = stub(RoomRepository.class);
+        EmployeeRepository employeeRepository = stub(EmployeeRepository.class);
+        when(roomRepository.getReferenceById(room.getId())).thenReturn(room);
+        when(employeeRepository.getReferenceById(employee.getId())).thenReturn(employee);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(1L);
+            return booking;
+        });
+
+        bookingService = newBookingService(bookingRepository, roomRepository, employeeRepository, room.getId(),
+                employee.getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+            dataSource.close();
+        }
+    }
+
+    @Benchmark
+    public BookingResponseDto save() {
+
+        BookingRequestDto bookingRequestDto = randomRequest();
+
+        if (transactionTemplate != null) {
+            return transactionTemplate.execute(status -> {
+                status.setRollbackOnly();
+                return bookingService.save(bookingRequestDto);
+            });
+        }
+
+        // Without a transaction manager, stand in for one so that admission and the index release on rollback.
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            return bookingService.save(bookingRequestDto);
+        } finally {
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void setUpH2() {
+
+        dataSource = new HikariDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setJdbcUrl("jdbc:h2:mem:save-benchmark;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load().migrate();
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.acmelabinc.roombook.entities");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.jdbc.batch_size", 50));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+
+        JpaRepositoryFactory repositoryFactory = new JpaRepositoryFactory(
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+        RoomRepository roomRepository = repositoryFactory.getRepository(RoomRepository.class);
+        EmployeeRepository employeeRepository = repositoryFactory.getRepository(EmployeeRepository.class);
+
+        bookingService = newBookingService(repositoryFactory.getRepository(BookingRepository.class), roomRepository,
+                employeeRepository, roomRepository.findIdByName(ROOM).orElseThrow(),
+                employeeRepository.findIdByEmail(EMPLOYEE).orElseThrow());
+    }
+
+    private static BookingService newBookingService(BookingRepository bookingRepository,
+                                                    RoomRepository roomRepository,
+                                                    EmployeeRepository employeeRepository, Long roomId,
+                                                    Long employeeId) {
+
+        ReferenceResolver referenceResolver = stub(ReferenceResolver.class);
+        when(referenceResolver.findRoomId(ROOM)).thenReturn(Optional.of(roomId));
+        when(referenceResolver.findEmployeeId(EMPLOYEE)).thenReturn(Optional.of(employeeId));
+
+        return new BookingServiceImpl(bookingRepository, roomRepository, employeeRepository,
+                new BookingIntervalIndex(bookingRepository, true), new BookingAdmission(1024), new ObjectMapper(),
+                referenceResolver, stub(RoomDayOccupancy.class), stub(RoomDayVersions.class), stub(BookingEventBus.class),
+                stub(BookingOutbox.class), new BookingMetrics(new SimpleMeterRegistry()),
+                new BookingRetention(Duration.ofDays(90L)));
+    }
+
+    private static BookingRequestDto randomRequest() {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int hour = random.nextInt(8, 18);
+
+        BookingRequestDto bookingRequestDto = new BookingRequestDto();
+        bookingRequestDto.setRoomName(ROOM);
+        bookingRequestDto.setEmployeeEmail(EMPLOYEE);
+        bookingRequestDto.setBookingDate(LocalDate.now().plusDays(random.nextInt(1, DAYS)));
+        bookingRequestDto.setStartTime(LocalTime.of(hour, 0));
+        bookingRequestDto.setEndTime(LocalTime.of(hour + 1, 0));
+        return bookingRequestDto;
+    }
+
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+}
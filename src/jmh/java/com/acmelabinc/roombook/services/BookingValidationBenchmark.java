@@ -0,0 +1,64 @@
+package com.acmelabinc.roombook.services;
+
+import com.acmelabinc.roombook.exceptions.BadRequestException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@code validateDuration} for a valid booking and for each rejection, which includes building the
+ * {@link BadRequestException} and its stack trace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingValidationBenchmark {
+
+    private final LocalDate tomorrow = LocalDate.now().plusDays(1L);
+    private final LocalDate yesterday = LocalDate.now().minusDays(1L);
+    private final LocalTime ten = LocalTime.of(10, 0);
+    private final LocalTime twelve = LocalTime.of(12, 0);
+    private final LocalTime halfPastTen = LocalTime.of(10, 30);
+
+    @Benchmark
+    public void valid() {
+        BookingValidation.validateDuration(tomorrow, ten, twelve);
+    }
+
+    @Benchmark
+    public BadRequestException pastDay() {
+        return reject(yesterday, ten, twelve);
+    }
+
+    @Benchmark
+    public BadRequestException endBeforeStart() {
+        return reject(tomorrow, twelve, ten);
+    }
+
+    @Benchmark
+    public BadRequestException notWholeHours() {
+        return reject(tomorrow, ten, halfPastTen);
+    }
+
+    private static BadRequestException reject(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        try {
+            BookingValidation.validateDuration(date, startTime, endTime);
+            throw new IllegalStateException("Expected a rejection");
+        } catch (BadRequestException e) {
+            return e;
+        }
+    }
+}
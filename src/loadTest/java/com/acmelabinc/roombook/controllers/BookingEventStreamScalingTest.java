@@ -0,0 +1,252 @@
+package com.acmelabinc.roombook.controllers;
+
+import com.acmelabinc.roombook.RoombookApplication;
+import com.acmelabinc.roombook.events.BookingEventBus;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Connection-scaling test of {@code GET /api/rooms/{name}/events}: for each stream count, opens that many idle
+ * Server-Sent Event streams on one room, then saves one booking in it and measures how long the
+ * {@code booking-created} event takes to reach every stream. Prints, per stream count, the time to open the streams,
+ * heap retained per open stream, the live thread count with the streams open and the fan-out latency. Run with
+ * {@code gradle eventStreamTest}; the stream counts are set with {@code -Droombook.event-stream-test.streams=1000,5000}.
+ * <p>
+ * Client and server share the JVM, so every stream costs two sockets of the process's file descriptor limit
+ * ({@code ulimit -n}), and heap per stream covers both ends. The server runs with the {@code event-streams} profile;
+ * streams beyond its {@code server.tomcat.max-connections} wait in the accept queue. The live thread count should not grow with the stream count: an idle stream is an async
+ * request without a thread, and events are sent from virtual threads.
+ */
+public class BookingEventStreamScalingTest {
+
+    private static final String ROOM = "Earth";
+    private static final String CREATED_EVENT = "event:booking-created";
+    private static final int MAX_PENDING_OPENS = 256;
+    private static final Duration OPEN_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration EVENT_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(30);
+
+    public static void main(String[] args) throws Exception {
+
+        int[] streamCounts = Arrays.stream(System.getProperty("roombook.event-stream-test.streams", "1000,5000")
+                        .split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        List<String> rows = new ArrayList<>();
+        try (ConfigurableApplicationContext context = start()) {
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            BookingEventBus bookingEventBus = context.getBean(BookingEventBus.class);
+            LocalDate date = LocalDate.now();
+            for (int streams : streamCounts) {
+                date = date.plusDays(1L);
+                rows.add(run(baseUri, bookingEventBus, streams, date).format(streams));
+            }
+        }
+
+        System.out.printf("%n%8s %9s %12s %8s %9s %9s %9s %10s%n", "streams", "open s", "KiB/stream", "threads",
+                "p50 ms", "p99 ms", "max ms", "delivered");
+        rows.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext start() {
+
+        // A short heartbeat makes the server notice the streams of a finished step quickly.
+        return new SpringApplicationBuilder(RoombookApplication.class).profiles("event-streams").run("--server.port=0",
+                "--logging.level.com.acmelabinc=WARN", "--roombook.events.heartbeat=PT1S",
+                "--spring.datasource.url=jdbc:h2:mem:event-stream-test;DB_CLOSE_DELAY=-1");
+    }
+
+    private static Result run(URI baseUri, BookingEventBus bookingEventBus, int streams, LocalDate date)
+            throws Exception {
+
+        System.gc();
+        long baselineHeap = heapAfterCollection();
+
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/rooms/" + ROOM + "/events"))
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder().executor(executor).build();
+        try {
+            CountDownLatch opened = new CountDownLatch(streams);
+            CountDownLatch delivered = new CountDownLatch(streams);
+            AtomicLong publishedAt = new AtomicLong();
+            long[] latencies = new long[streams];
+            AtomicInteger received = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+            Semaphore pendingOpens = new Semaphore(MAX_PENDING_OPENS);
+
+            long openStart = System.nanoTime();
+            for (int i = 0; i < streams; i++) {
+                pendingOpens.acquire();
+                StreamSubscriber subscriber = new StreamSubscriber(success -> {
+                    if (!success) {
+                        failed.incrementAndGet();
+                    }
+                    pendingOpens.release();
+                    opened.countDown();
+                }, () -> {
+                    int index = received.getAndIncrement();
+                    if (index < streams) {
+                        latencies[index] = System.nanoTime() - publishedAt.get();
+                    }
+                    delivered.countDown();
+                });
+                client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(subscriber))
+                        .exceptionally(e -> {
+                            subscriber.opened(false);
+                            return null;
+                        });
+            }
+            if (!opened.await(OPEN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS) || failed.get() > 0) {
+                throw new IllegalStateException((streams - opened.getCount() - failed.get()) + " of " + streams +
+                        " streams opened, " + failed.get() + " failed.");
+            }
+            double openSeconds = (System.nanoTime() - openStart) / 1e9;
+            awaitSubscribers(bookingEventBus, streams);
+
+            System.gc();
+            long heapPerStream = (heapAfterCollection() - baselineHeap) / streams;
+            int liveThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            publishedAt.set(System.nanoTime());
+            save(client, baseUri, date);
+            delivered.await(EVENT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+            int deliveredCount = Math.min(received.get(), streams);
+            long[] sorted = Arrays.copyOf(latencies, deliveredCount);
+            Arrays.sort(sorted);
+            return new Result(openSeconds, heapPerStream, liveThreads, percentile(sorted, 0.50),
+                    percentile(sorted, 0.99), percentile(sorted, 1.0), deliveredCount);
+        } finally {
+            // close() would wait for the streams to end, which they never do.
+            client.shutdownNow();
+            executor.shutdownNow();
+            awaitSubscribers(bookingEventBus, 0);
+        }
+    }
+
+    private static void save(HttpClient client, URI baseUri, LocalDate date) throws IOException, InterruptedException {
+
+        String body = String.format("{\"roomName\":\"%s\",\"employeeEmail\":\"pluto@acme.com\"," +
+                "\"bookingDate\":\"%s\",\"startTime\":\"10:00\",\"endTime\":\"11:00\"}", ROOM, date);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(baseUri.resolve("/api/bookings"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Saving the booking failed: " + response.body());
+        }
+    }
+
+    private static void awaitSubscribers(BookingEventBus bookingEventBus, int expected) throws InterruptedException {
+
+        long deadline = System.nanoTime() + CLOSE_TIMEOUT.toNanos();
+        while (bookingEventBus.getSubscriberCount() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(100L);
+        }
+    }
+
+    private static long heapAfterCollection() {
+
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (pool.getType() == MemoryType.HEAP && usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        return used;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[(int) Math.ceil(quantile * sorted.length) - 1] / 1e6;
+    }
+
+    /**
+     * Reports whether a stream opened, which it has once its response headers arrive, and the first booking-created
+ * event on it.
+     */
+    private static final class StreamSubscriber implements Flow.Subscriber<String> {
+
+        private final Consumer<Boolean> onOpen;
+        private final Runnable onCreated;
+        private boolean open;
+        private boolean created;
+
+        StreamSubscriber(Consumer<Boolean> onOpen, Runnable onCreated) {
+            this.onOpen = onOpen;
+            this.onCreated = onCreated;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+            opened(true);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (!created && CREATED_EVENT.equals(line)) {
+                created = true;
+                onCreated.run();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            opened(false);
+        }
+
+        @Override
+        public void onComplete() {
+            opened(false);
+        }
+
+        synchronized void opened(boolean success) {
+            if (!open) {
+                open = true;
+                onOpen.accept(success);
+            }
+        }
+    }
+
+    private record Result(double openSeconds, long heapBytesPerStream, int liveThreads, double p50Millis,
+                          double p99Millis, double maxMillis, int delivered) {
+
+        String format(int streams) {
+            return String.format("%8d %9.1f %12.1f %8d %9.1f %9.1f %9.1f %10d", streams, openSeconds,
+                    heapBytesPerStream / 1024.0, liveThreads, p50Millis, p99Millis, maxMillis, delivered);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.acmelabinc.roombook.controllers;
+
+import com.acmelabinc.roombook.RoombookApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test of {@code GET /api/bookings} that boots the application on Tomcat's platform-thread pool,
+ * with {@code spring.threads.virtual.enabled} (and so the JDBC gate) and with the WebFlux/R2DBC {@code reactive}
+ * profile, then prints p50/p99 latency, throughput, heap retained per in-flight request and peak thread count per
+ * client count. Run with {@code gradle loadTest}; the client counts, modes and run length are set with
+ * {@code -Droombook.load-test.clients=1000,10000}, {@code -Droombook.load-test.modes=platform,virtual,reactive} and
+ * {@code -Droombook.load-test.seconds=20}. Pass {@code -Droombook.load-test.postgres=//localhost:5432/postgres} to run
+ * every mode against the docker-compose PostgreSQL instead of in-memory H2.
+ * <p>
+ * Clients and server share the JVM and the CPU, so compare the modes with each other rather than with production
+ * numbers. Heap per request is the largest heap occupancy measured right after a collection during the run, less the
+ * occupancy before it, divided by the client count; the client side is the same in every mode. Application logging
+ * is turned down to WARN so that it does not dominate the measurement.
+ */
+public class BookingLoadTest {
+
+    private static final int WARM_UP_CLIENTS = 100;
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration HEAP_SAMPLE_INTERVAL = Duration.ofMillis(100);
+    private static final LocalDate DATE = LocalDate.now().plusDays(1L);
+
+    public static void main(String[] args) throws Exception {
+
+        int[] clientCounts = Arrays.stream(System.getProperty("roombook.load-test.clients", "1000,10000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        String[] modes = System.getProperty("roombook.load-test.modes", "platform,virtual,reactive").split(",");
+        Duration duration = Duration.ofSeconds(Long.getLong("roombook.load-test.seconds", 20L));
+        String postgres = System.getProperty("roombook.load-test.postgres");
+
+        List<String> rows = new ArrayList<>();
+        for (String mode : modes) {
+            try (ConfigurableApplicationContext context = start(mode, postgres)) {
+                URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+                seed(baseUri);
+                run(baseUri, WARM_UP_CLIENTS, WARM_UP);
+                for (int clients : clientCounts) {
+                    rows.add(run(baseUri, clients, duration).format(mode, clients));
+                }
+            }
+        }
+
+        System.out.printf("%n%-9s %8s %10s %8s %10s %9s %9s %12s %8s%n", "mode", "clients", "requests", "errors",
+                "req/s", "p50 ms", "p99 ms", "KiB/request", "threads");
+        rows.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext start(String mode, String postgres) {
+
+        String jdbcUrl = postgres != null ? "jdbc:postgresql:" + postgres : "jdbc:h2:mem:load-test-" + mode;
+        String suffix = postgres != null ? "" : ";DB_CLOSE_DELAY=-1";
+        String user = postgres != null ? "postgres" : "sa";
+        String password = postgres != null ? "postgres" : "";
+
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--logging.level.com.acmelabinc=WARN",
+                "--spring.threads.virtual.enabled=" + "virtual".equals(mode)));
+        if ("reactive".equals(mode)) {
+            // Without a DataSource, Flyway connects on its own and the API goes through R2DBC.
+            String r2dbcUrl = postgres != null ? "r2dbc:postgresql:" + postgres : "r2dbc:h2:mem:///load-test-" + mode;
+            args.addAll(List.of("--spring.profiles.active=reactive", "--spring.flyway.url=" + jdbcUrl + suffix,
+                    "--spring.flyway.user=" + user, "--spring.flyway.password=" + password,
+                    "--spring.r2dbc.url=" + r2dbcUrl + suffix, "--spring.r2dbc.username=" + user,
+                    "--spring.r2dbc.password=" + password));
+        } else {
+            args.addAll(List.of("--spring.datasource.url=" + jdbcUrl + suffix, "--spring.datasource.username=" + user,
+                    "--spring.datasource.password=" + password));
+        }
+
+        return new SpringApplicationBuilder(RoombookApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private static void seed(URI baseUri) throws IOException, InterruptedException {
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            for (int hour = 8; hour < 18; hour++) {
+                String body = String.format("{\"roomName\":\"Earth\",\"employeeEmail\":\"pluto@acme.com\"," +
+                        "\"bookingDate\":\"%s\",\"startTime\":\"%02d:00\",\"endTime\":\"%02d:00\"}", DATE, hour, hour + 1);
+                client.send(HttpRequest.newBuilder(baseUri.resolve("/api/bookings"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(), HttpResponse.BodyHandlers.discarding());
+            }
+        }
+    }
+
+    private static Result run(URI baseUri, int clients, Duration duration) throws Exception {
+
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/bookings?roomName=Earth&date=" + DATE))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.gc();
+        long baselineHeap = heapAfterCollection();
+        AtomicLong peakHeap = new AtomicLong(baselineHeap);
+        threads.resetPeakThreadCount();
+
+        try (ScheduledExecutorService heapSampler = Executors.newSingleThreadScheduledExecutor();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(executor).build()) {
+
+            heapSampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(heapAfterCollection(), Math::max),
+                    0, HEAP_SAMPLE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+
+            long start = System.nanoTime();
+            long deadline = start + duration.toNanos();
+            List<Future<Samples>> futures = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> loop(client, request, deadline)));
+            }
+
+            Samples total = new Samples();
+            for (Future<Samples> future : futures) {
+                total.addAll(future.get());
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            heapSampler.shutdownNow();
+            return total.summarize(elapsedNanos, (peakHeap.get() - baselineHeap) / clients,
+                    threads.getPeakThreadCount());
+        }
+    }
+
+    private static long heapAfterCollection() {
+
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (pool.getType() == MemoryType.HEAP && usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        return used;
+    }
+
+    private static Samples loop(HttpClient client, HttpRequest request, long deadline) {
+
+        Samples samples = new Samples();
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    samples.add(System.nanoTime() - start);
+                } else {
+                    samples.errors++;
+                }
+            } catch (IOException e) {
+                samples.errors++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return samples;
+    }
+
+    private static final class Samples {
+
+        private long[] latencies = new long[64];
+        private int count;
+        private long errors;
+
+        void add(long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i]);
+            }
+            errors += other.errors;
+        }
+
+        Result summarize(long elapsedNanos, long heapBytesPerRequest, int peakThreads) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Result(count, errors, count / (elapsedNanos / 1e9), percentile(sorted, 0.50),
+                    percentile(sorted, 0.99), heapBytesPerRequest, peakThreads);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            return sorted[(int) Math.ceil(quantile * sorted.length) - 1] / 1e6;
+        }
+    }
+
+    private record Result(long requests, long errors, double throughput, double p50Millis, double p99Millis,
+                          long heapBytesPerRequest, int peakThreads) {
+
+        String format(String mode, int clients) {
+            return String.format("%-9s %8d %10d %8d %10.0f %9.1f %9.1f %12.1f %8d", mode, clients, requests, errors,
+                    throughput, p50Millis, p99Millis, heapBytesPerRequest / 1024.0, peakThreads);
+        }
+    }
+}
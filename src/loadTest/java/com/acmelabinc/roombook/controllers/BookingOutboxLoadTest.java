@@ -0,0 +1,214 @@
+package com.acmelabinc.roombook.controllers;
+
+import com.acmelabinc.roombook.RoombookApplication;
+import com.acmelabinc.roombook.outbox.OutboxRelay;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Measures what the transactional outbox costs and how fast it drains: boots the application on in-memory H2 or an
+ * embedded PostgreSQL, once with {@code roombook.outbox.enabled=false} and once with it on, saves the same sequence of
+ * non-overlapping bookings from virtual-thread clients and prints the save latency percentiles of both runs. With the
+ * outbox on, the scheduled relay is held back during the saves, then the backlog is relayed in one go and timed. Run
+ * with {@code gradle outboxTest}; the run is set with {@code -Droombook.outbox-test.database=h2|embedded-postgres},
+ * {@code -Droombook.outbox-test.saves=20000}, {@code -Droombook.outbox-test.clients=32},
+ * {@code -Droombook.outbox-test.batch-size=500} and {@code -Droombook.outbox-test.sink=memory|file}.
+ * <p>
+ * Clients and server share the JVM and the CPU, so compare the two runs with each other rather than with production
+ * numbers.
+ */
+public class BookingOutboxLoadTest {
+
+    private static final int ROOMS = 200;
+    private static final int EMPLOYEES = 1000;
+    private static final int FIRST_HOUR = 8;
+    private static final int HOURS = 10;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    public static void main(String[] args) throws Exception {
+
+        String database = System.getProperty("roombook.outbox-test.database", "h2");
+        int saves = Integer.getInteger("roombook.outbox-test.saves", 20000);
+        int clients = Integer.getInteger("roombook.outbox-test.clients", 32);
+        int batchSize = Integer.getInteger("roombook.outbox-test.batch-size", 500);
+        String sink = System.getProperty("roombook.outbox-test.sink", "memory");
+        Path file = Path.of("build/outbox-test/outbox.ndjson");
+        Files.deleteIfExists(file);
+
+        List<String> rows = new ArrayList<>();
+        String relayRow = null;
+        for (boolean enabled : new boolean[]{false, true}) {
+            EmbeddedPostgres postgres = "embedded-postgres".equals(database) ? EmbeddedPostgres.start() : null;
+            try (ConfigurableApplicationContext context = start(postgres, enabled, batchSize, sink, file)) {
+                seed(context.getBean(JdbcTemplate.class));
+                URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+
+                int warmUp = saves / 10;
+                saveAll(baseUri, clients, 0, warmUp);
+                Result result = saveAll(baseUri, clients, warmUp, saves);
+                rows.add(result.format(enabled ? "on" : "off", saves));
+
+                if (enabled) {
+                    long backlog = context.getBean(JdbcTemplate.class)
+                            .queryForObject("SELECT COUNT(*) FROM outbox", Long.class);
+                    long start = System.nanoTime();
+                    int relayed = context.getBean(OutboxRelay.class).relay();
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    relayRow = String.format("%9d %9d %9.2f %9.0f", backlog, relayed, seconds, relayed / seconds);
+                }
+            } finally {
+                if (postgres != null) {
+                    postgres.close();
+                }
+            }
+        }
+
+        System.out.printf("%n%s, %d clients, %s sink, batches of %d%n", database, clients, sink, batchSize);
+        System.out.printf("%-6s %9s %9s %8s %8s %8s %8s %9s%n", "outbox", "saves", "req/s", "p50 ms", "p90 ms",
+                "p99 ms", "max ms", "errors");
+        rows.forEach(System.out::println);
+        System.out.printf("%n%9s %9s %9s %9s%n", "backlog", "relayed", "seconds", "msg/s");
+        System.out.println(relayRow);
+    }
+
+    private static ConfigurableApplicationContext start(EmbeddedPostgres postgres, boolean outboxEnabled,
+                                                        int batchSize, String sink, Path file) {
+
+        String jdbcUrl = postgres != null ? postgres.getJdbcUrl("postgres", "postgres")
+                : "jdbc:h2:mem:outbox-test-" + outboxEnabled + ";DB_CLOSE_DELAY=-1";
+        String user = postgres != null ? "postgres" : "sa";
+        String password = postgres != null ? "postgres" : "";
+
+        // The relay runs once at startup and then not again before the backlog is timed.
+        return new SpringApplicationBuilder(RoombookApplication.class).run("--server.port=0",
+                "--logging.level.com.acmelabinc=WARN", "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + user, "--spring.datasource.password=" + password,
+                "--roombook.outbox.enabled=" + outboxEnabled, "--roombook.outbox.poll-interval=PT1H",
+                "--roombook.outbox.batch-size=" + batchSize, "--roombook.outbox.sink=" + sink,
+                "--roombook.outbox.file=" + file);
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+
+        jdbcTemplate.batchUpdate("INSERT INTO room (name) VALUES (?)",
+                IntStream.range(0, ROOMS).mapToObj(i -> new Object[]{roomName(i)}).toList());
+        jdbcTemplate.batchUpdate("INSERT INTO employee (email, name, surname) VALUES (?, ?, ?)",
+                IntStream.range(0, EMPLOYEES).mapToObj(i -> new Object[]{employeeEmail(i), "Outbox", "Test " + i})
+                        .toList());
+    }
+
+    /**
+     * Saves bookings {@code first} to {@code first + count - 1}; booking {@code k} gets a slot of its own.
+     */
+    private static Result saveAll(URI baseUri, int clients, int first, int count) throws Exception {
+
+        AtomicInteger next = new AtomicInteger(first);
+        int end = first + count;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(executor).build()) {
+
+            long start = System.nanoTime();
+            List<Future<Result>> futures = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    Result result = new Result();
+                    int k;
+                    while ((k = next.getAndIncrement()) < end) {
+                        result.record(client, baseUri, k);
+                    }
+                    return result;
+                }));
+            }
+
+            Result total = new Result();
+            for (Future<Result> future : futures) {
+                total.addAll(future.get());
+            }
+            total.elapsedNanos = System.nanoTime() - start;
+            return total;
+        }
+    }
+
+    private static String booking(int k) {
+
+        int hour = FIRST_HOUR + (k / ROOMS) % HOURS;
+        LocalDate date = LocalDate.now().plusDays(1L + k / (ROOMS * HOURS));
+        return String.format("{\"roomName\":\"%s\",\"employeeEmail\":\"%s\",\"bookingDate\":\"%s\"," +
+                        "\"startTime\":\"%02d:00\",\"endTime\":\"%02d:00\"}", roomName(k % ROOMS),
+                employeeEmail(k % EMPLOYEES), date, hour, hour + 1);
+    }
+
+    private static String roomName(int index) {
+        return String.format("outbox-room-%04d", index);
+    }
+
+    private static String employeeEmail(int index) {
+        return String.format("outbox%05d@acme.com", index);
+    }
+
+    private static final class Result {
+
+        private final Histogram histogram = new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        private long errors;
+        private long elapsedNanos;
+
+        void record(HttpClient client, URI baseUri, int k) throws InterruptedException {
+
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/bookings"))
+                    .header("Content-Type", "application/json")
+                    .timeout(REQUEST_TIMEOUT)
+                    .POST(HttpRequest.BodyPublishers.ofString(booking(k)))
+                    .build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors++;
+                    return;
+                }
+            } catch (IOException e) {
+                errors++;
+                return;
+            }
+            histogram.recordValue(Math.min(System.nanoTime() - start, HIGHEST_TRACKABLE_NANOS));
+        }
+
+        void addAll(Result other) {
+            histogram.add(other.histogram);
+            errors += other.errors;
+        }
+
+        String format(String outbox, int saves) {
+            return String.format("%-6s %9d %9.0f %8.2f %8.2f %8.2f %8.2f %9d", outbox, saves,
+                    histogram.getTotalCount() / (elapsedNanos / 1e9), millis(50.0), millis(90.0), millis(99.0),
+                    histogram.getMaxValue() / 1e6, errors);
+        }
+
+        private double millis(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1e6;
+        }
+    }
+}
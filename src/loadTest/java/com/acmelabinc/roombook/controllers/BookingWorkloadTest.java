@@ -0,0 +1,345 @@
+package com.acmelabinc.roombook.controllers;
+
+import com.acmelabinc.roombook.RoombookApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Synthetic end-to-end workload: boots the application on in-memory H2 or an embedded PostgreSQL, seeds rooms and
+ * employees on top of {@code V2__Insert_Data.sql}, then drives a closed-loop mix of reads, saves, conflicting saves
+ * and cancels from virtual-thread clients and prints requests, error rate, throughput and HdrHistogram latency
+ * percentiles per operation. The full percentile distribution of each operation is also written as an {@code .hgrm}
+ * file for plotting. Run with {@code gradle workloadTest}; the workload is set with
+ * {@code -Droombook.workload.database=h2|embedded-postgres}, {@code -Droombook.workload.rooms=200},
+ * {@code -Droombook.workload.employees=1000}, {@code -Droombook.workload.clients=200},
+ * {@code -Droombook.workload.seconds=30}, {@code -Droombook.workload.days=14} and
+ * {@code -Droombook.workload.mix=read:70,save:20,conflict:5,cancel:5}.
+ * <p>
+ * A conflicting save re-posts a booking the same client made before, so its expected answer is 409; a save that
+ * lands on a slot another client took in the meantime also answers 409 and is counted as a conflict, not an error.
+ * A cancel targets a booking the client made before. Only unexpected statuses and I/O failures are errors. Clients
+ * and server share the JVM and the CPU, so compare runs with each other rather than with production numbers.
+ */
+public class BookingWorkloadTest {
+
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final int FIRST_HOUR = 8;
+    private static final int LAST_HOUR = 18;
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    // Fixed seeds keep runs repeatable; counting across runs keeps the measured run from replaying the warm-up.
+    private static final AtomicLong CLIENT_SEEDS = new AtomicLong();
+
+    enum Operation {
+        READ, SAVE, CONFLICT, CANCEL
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        String database = System.getProperty("roombook.workload.database", "h2");
+        int rooms = Integer.getInteger("roombook.workload.rooms", 200);
+        int employees = Integer.getInteger("roombook.workload.employees", 1000);
+        int clients = Integer.getInteger("roombook.workload.clients", 200);
+        int days = Integer.getInteger("roombook.workload.days", 14);
+        Duration duration = Duration.ofSeconds(Long.getLong("roombook.workload.seconds", 30L));
+        Mix mix = Mix.parse(System.getProperty("roombook.workload.mix", "read:70,save:20,conflict:5,cancel:5"));
+        Path outputDir = Path.of(System.getProperty("roombook.workload.output-dir", "build/load-test"));
+
+        EmbeddedPostgres postgres = "embedded-postgres".equals(database) ? EmbeddedPostgres.start() : null;
+        try (ConfigurableApplicationContext context = start(postgres)) {
+            seed(context.getBean(JdbcTemplate.class), rooms, employees);
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            Workload workload = new Workload(baseUri, mix, rooms, employees, days);
+
+            workload.run(clients, WARM_UP);
+            Map<Operation, Stats> stats = workload.run(clients, duration);
+            report(database, clients, stats, outputDir);
+        } finally {
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(EmbeddedPostgres postgres) {
+
+        String jdbcUrl = postgres != null ? postgres.getJdbcUrl("postgres", "postgres")
+                : "jdbc:h2:mem:workload-test;DB_CLOSE_DELAY=-1";
+        String user = postgres != null ? "postgres" : "sa";
+        String password = postgres != null ? "postgres" : "";
+
+        return new SpringApplicationBuilder(RoombookApplication.class).run("--server.port=0",
+                "--logging.level.com.acmelabinc=WARN", "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + user, "--spring.datasource.password=" + password);
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int rooms, int employees) {
+
+        jdbcTemplate.batchUpdate("INSERT INTO room (name) VALUES (?)",
+                IntStream.range(0, rooms).mapToObj(i -> new Object[]{roomName(i)}).toList());
+        jdbcTemplate.batchUpdate("INSERT INTO employee (email, name, surname) VALUES (?, ?, ?)",
+                IntStream.range(0, employees).mapToObj(i -> new Object[]{employeeEmail(i), "Load", "Test " + i})
+                        .toList());
+    }
+
+    private static String roomName(int index) {
+        return String.format("load-room-%04d", index);
+    }
+
+    private static String employeeEmail(int index) {
+        return String.format("load%05d@acme.com", index);
+    }
+
+    private static void report(String database, int clients, Map<Operation, Stats> stats, Path outputDir)
+            throws IOException {
+
+        Files.createDirectories(outputDir);
+        System.out.printf("%n%s, %d clients%n", database, clients);
+        System.out.printf("%-9s %9s %9s %9s %8s %9s %8s %8s %8s %8s %8s%n", "operation", "requests", "conflicts",
+                "errors", "error %", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Stats operationStats = entry.getValue();
+            Histogram histogram = operationStats.histogram;
+            long requests = histogram.getTotalCount() + operationStats.errors;
+            System.out.printf("%-9s %9d %9d %9d %8.2f %9.0f %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                    entry.getKey().name().toLowerCase(), requests, operationStats.conflicts, operationStats.errors,
+                    requests == 0 ? 0.0 : 100.0 * operationStats.errors / requests,
+                    requests / (operationStats.elapsedNanos / 1e9), millis(histogram, 50.0),
+                    millis(histogram, 90.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1e6);
+
+            Path file = outputDir.resolve(String.format("workload-%s-%s.hgrm", database,
+                    entry.getKey().name().toLowerCase()));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                histogram.outputPercentileDistribution(out, 1e6);
+            }
+        }
+        System.out.printf("%nPercentile distributions in milliseconds written to %s%n", outputDir.toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    private record Mix(int read, int save, int conflict, int cancel) {
+
+        static Mix parse(String mix) {
+
+            Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+            for (String part : mix.split(",")) {
+                String[] weight = part.split(":");
+                weights.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+            }
+            Mix parsed = new Mix(weights.getOrDefault(Operation.READ, 0), weights.getOrDefault(Operation.SAVE, 0),
+                    weights.getOrDefault(Operation.CONFLICT, 0), weights.getOrDefault(Operation.CANCEL, 0));
+            if (parsed.total() <= 0) {
+                throw new IllegalArgumentException("The workload mix needs at least one positive weight: " + mix);
+            }
+            return parsed;
+        }
+
+        int total() {
+            return read + save + conflict + cancel;
+        }
+
+        Operation pick(Random random) {
+
+            int value = random.nextInt(total());
+            if ((value -= read) < 0) {
+                return Operation.READ;
+            }
+            if ((value -= save) < 0) {
+                return Operation.SAVE;
+            }
+            return value < conflict ? Operation.CONFLICT : Operation.CANCEL;
+        }
+    }
+
+    private record Workload(URI baseUri, Mix mix, int rooms, int employees, int days) {
+
+        Map<Operation, Stats> run(int clients, Duration duration) throws Exception {
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+                 HttpClient client = HttpClient.newBuilder().executor(executor).build()) {
+
+                long start = System.nanoTime();
+                long deadline = start + duration.toNanos();
+                List<Future<Map<Operation, Stats>>> futures = new ArrayList<>(clients);
+                for (int i = 0; i < clients; i++) {
+                    Random random = new Random(CLIENT_SEEDS.getAndIncrement());
+                    futures.add(executor.submit(() -> new Client(this, client, random).loop(deadline)));
+                }
+
+                Map<Operation, Stats> total = Stats.perOperation();
+                for (Future<Map<Operation, Stats>> future : futures) {
+                    future.get().forEach((operation, stats) -> total.get(operation).addAll(stats));
+                }
+                long elapsedNanos = System.nanoTime() - start;
+                total.values().forEach(stats -> stats.elapsedNanos = elapsedNanos);
+                return total;
+            }
+        }
+    }
+
+    private static final class Client {
+
+        private final Workload workload;
+        private final HttpClient httpClient;
+        private final Random random;
+        private final List<String> savedBodies = new ArrayList<>();
+        private final List<Long> savedIds = new ArrayList<>();
+        private final Map<Operation, Stats> stats = Stats.perOperation();
+
+        Client(Workload workload, HttpClient httpClient, Random random) {
+            this.workload = workload;
+            this.httpClient = httpClient;
+            this.random = random;
+        }
+
+        Map<Operation, Stats> loop(long deadline) {
+
+            while (System.nanoTime() < deadline) {
+                try {
+                    next();
+                } catch (IOException e) {
+                    // Counted against the operation that failed in next().
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            return stats;
+        }
+
+        private void next() throws IOException, InterruptedException {
+
+            Operation operation = workload.mix().pick(random);
+            if (operation == Operation.CONFLICT && savedBodies.isEmpty()
+                    || operation == Operation.CANCEL && savedIds.isEmpty()) {
+                operation = Operation.SAVE;
+            }
+
+            switch (operation) {
+                case READ -> send(Operation.READ, HttpRequest.newBuilder(workload.baseUri().resolve(
+                        "/api/bookings?roomName=" + roomName(random.nextInt(workload.rooms())) + "&date=" + day())),
+                        200);
+                case SAVE -> {
+                    String body = randomBooking();
+                    HttpResponse<String> response = send(Operation.SAVE, post(body), 200, 409);
+                    Matcher matcher = ID.matcher(response.body());
+                    if (response.statusCode() == 200 && matcher.find()) {
+                        savedBodies.add(body);
+                        savedIds.add(Long.parseLong(matcher.group(1)));
+                    }
+                }
+                case CONFLICT -> send(Operation.CONFLICT, post(savedBodies.get(random.nextInt(savedBodies.size()))),
+                        409);
+                case CANCEL -> {
+                    int index = random.nextInt(savedIds.size());
+                    send(Operation.CANCEL, HttpRequest.newBuilder(workload.baseUri().resolve(
+                            "/api/bookings/cancel/" + savedIds.get(index))).DELETE(), 200);
+                    savedIds.remove(index);
+                    savedBodies.remove(index);
+                }
+            }
+        }
+
+        private HttpResponse<String> send(Operation operation, HttpRequest.Builder request, int... expected)
+                throws IOException, InterruptedException {
+
+            Stats operationStats = stats.get(operation);
+            long start = System.nanoTime();
+            HttpResponse<String> response;
+            try {
+                response = httpClient.send(request.timeout(REQUEST_TIMEOUT).build(),
+                        HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                operationStats.errors++;
+                throw e;
+            }
+            long latencyNanos = System.nanoTime() - start;
+
+            int status = response.statusCode();
+            if (IntStream.of(expected).noneMatch(code -> code == status)) {
+                operationStats.errors++;
+                return response;
+            }
+            operationStats.histogram.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+            if (status == 409) {
+                operationStats.conflicts++;
+            }
+            return response;
+        }
+
+        private HttpRequest.Builder post(String body) {
+            return HttpRequest.newBuilder(workload.baseUri().resolve("/api/bookings"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+
+        private String randomBooking() {
+
+            int hour = random.nextInt(FIRST_HOUR, LAST_HOUR);
+            return String.format("{\"roomName\":\"%s\",\"employeeEmail\":\"%s\",\"bookingDate\":\"%s\"," +
+                            "\"startTime\":\"%02d:00\",\"endTime\":\"%02d:00\"}",
+                    roomName(random.nextInt(workload.rooms())), employeeEmail(random.nextInt(workload.employees())),
+                    day(), hour, hour + 1);
+        }
+
+        private LocalDate day() {
+            return LocalDate.now().plusDays(1L + random.nextInt(workload.days()));
+        }
+    }
+
+    private static final class Stats {
+
+        private final Histogram histogram = new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        private long conflicts;
+        private long errors;
+        private long elapsedNanos;
+
+        static Map<Operation, Stats> perOperation() {
+
+            Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+            for (Operation operation : Operation.values()) {
+                stats.put(operation, new Stats());
+            }
+            return stats;
+        }
+
+        void addAll(Stats other) {
+            histogram.add(other.histogram);
+            conflicts += other.conflicts;
+            errors += other.errors;
+        }
+    }
+}
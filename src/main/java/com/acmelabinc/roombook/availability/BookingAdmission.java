@@ -0,0 +1,88 @@
+package com.acmelabinc.roombook.availability;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes booking writes per room and day with a fixed set of striped locks, so the overlap check and the insert
+ * of one booking cannot interleave with another booking for the same room and day. Writes for other rooms or days
+ * only wait on each other when their keys hash to the same stripe.
+ * <p>
+ * {@code roombook.admission.stripes=1} turns this into a single global lock, which is useful as a baseline.
+ */
+@Component
+public class BookingAdmission {
+
+    private final Lock[] stripes;
+    private final int mask;
+
+    @Autowired
+    public BookingAdmission(@Value("${roombook.admission.stripes:1024}") int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new Lock[stripes <= 1 ? 1 : size];
+        this.mask = this.stripes.length - 1;
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Blocks until no other transaction is writing a booking for the same room and day. The lock is held until the
+     * current transaction completes, so the next writer sees this booking committed.
+     */
+    public void admit(Long roomId, LocalDate date) {
+
+        requireTransaction();
+        lockUntilCompletion(lockFor(roomId, date));
+    }
+
+    /**
+     * Admits the writes of a whole batch. Stripes are taken in ascending order, so two batches that share stripes
+     * cannot deadlock on each other.
+     */
+    public void admitAll(Collection<RoomDay> roomDays) {
+
+        requireTransaction();
+        roomDays.stream()
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .forEach(stripe -> lockUntilCompletion(stripes[stripe]));
+    }
+
+    Lock lockFor(Long roomId, LocalDate date) {
+        return stripes[stripeOf(new RoomDay(roomId, date))];
+    }
+
+    private int stripeOf(RoomDay roomDay) {
+        int hash = roomDay.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static void requireTransaction() {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Booking admission requires an active transaction");
+        }
+    }
+
+    private static void lockUntilCompletion(Lock lock) {
+
+        lock.lock();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
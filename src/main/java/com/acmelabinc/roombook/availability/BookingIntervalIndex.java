@@ -0,0 +1,159 @@
+package com.acmelabinc.roombook.availability;
+
+import com.acmelabinc.roombook.repositories.BookingRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory index of the booked intervals per room and day, used by the overlap check instead of a database query.
+ * Past days can no longer be booked, so only today and future bookings are loaded at startup, and the days before
+ * today are evicted every night on {@code roombook.booking-index.eviction-cron}.
+ * <p>
+ * The index is authoritative only when a single node writes bookings; set {@code roombook.booking-index.enabled}
+ * to {@code false} when running several instances against the same database.
+ */
+@Component
+@Profile("!reactive")
+public class BookingIntervalIndex {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ConcurrentMap<RoomDay, RoomDayIntervals> intervals = new ConcurrentHashMap<>();
+
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+
+    @Autowired
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${roombook.booking-index.enabled:true}") boolean enabled) {
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    void warmUp() {
+
+        if (!enabled) {
+            logger.info("Booking interval index is disabled, overlaps will be checked against the database.");
+            return;
+        }
+
+        List<BookingSlot> slots = bookingRepository.findSlotsFrom(LocalDate.now());
+        slots.forEach(slot -> add(slot.roomId(), slot.bookingDate(), slot.startTime(), slot.endTime()));
+
+        logger.info("Booking interval index warmed up with {} bookings", slots.size());
+    }
+
+    /**
+     * @return the number of room-days evicted
+     */
+    @Scheduled(cron = "${roombook.booking-index.eviction-cron:0 5 0 * * *}")
+    public int evictPastDays() {
+
+        LocalDate today = LocalDate.now();
+        int evicted = 0;
+        for (Iterator<RoomDay> roomDays = intervals.keySet().iterator(); roomDays.hasNext(); ) {
+            if (roomDays.next().date().isBefore(today)) {
+                roomDays.remove();
+                evicted++;
+            }
+        }
+
+        logger.info("Evicted {} past room-days from the booking interval index", evicted);
+        return evicted;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean overlaps(Long roomId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        RoomDayIntervals roomDayIntervals = intervals.get(new RoomDay(roomId, date));
+        return roomDayIntervals != null && roomDayIntervals.overlaps(startTime.toSecondOfDay(), endTime.toSecondOfDay());
+    }
+
+    /**
+     * Atomically checks the interval against the room's bookings for that day and, if it is free, adds it.
+     * Inside a transaction the interval is released again if the transaction does not commit.
+     *
+     * @return {@code false} if the interval overlaps an existing booking
+     */
+    public boolean tryReserve(Long roomId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+
+        RoomDay roomDay = new RoomDay(roomId, date);
+        int start = startTime.toSecondOfDay();
+        int end = endTime.toSecondOfDay();
+        boolean[] reserved = new boolean[1];
+
+        intervals.compute(roomDay, (key, current) -> {
+            RoomDayIntervals existing = current == null ? RoomDayIntervals.EMPTY : current;
+            if (existing.overlaps(start, end)) {
+                return current;
+            }
+            reserved[0] = true;
+            return existing.with(start, end);
+        });
+
+        if (reserved[0] && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        remove(roomId, date, startTime, endTime);
+                    }
+                }
+            });
+        }
+
+        return reserved[0];
+    }
+
+    public void add(Long roomId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        int start = startTime.toSecondOfDay();
+        int end = endTime.toSecondOfDay();
+        intervals.compute(new RoomDay(roomId, date),
+                (key, current) -> (current == null ? RoomDayIntervals.EMPTY : current).with(start, end));
+    }
+
+    /**
+     * Removes the interval once the current transaction commits, or right away outside a transaction.
+     */
+    public void releaseAfterCommit(Long roomId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(roomId, date, startTime, endTime);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remove(roomId, date, startTime, endTime);
+            }
+        });
+    }
+
+    public void remove(Long roomId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        int start = startTime.toSecondOfDay();
+        int end = endTime.toSecondOfDay();
+        intervals.computeIfPresent(new RoomDay(roomId, date), (key, current) -> {
+            RoomDayIntervals remaining = current.without(start, end);
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+}
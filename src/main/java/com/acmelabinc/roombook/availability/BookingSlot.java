@@ -0,0 +1,11 @@
+package com.acmelabinc.roombook.availability;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record BookingSlot(Long roomId, LocalDate bookingDate, LocalTime startTime, LocalTime endTime) {
+
+    public boolean overlaps(LocalTime otherStartTime, LocalTime otherEndTime) {
+        return startTime.isBefore(otherEndTime) && endTime.isAfter(otherStartTime);
+    }
+}
@@ -0,0 +1,180 @@
+package com.acmelabinc.roombook.availability;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds the room-days with a run of free whole hours inside a window of the day, across many rooms and days at once.
+ * Occupancy is one {@link HourlyBitmap} per room-day, laid out room by room: room {@code r} on day {@code d} is
+ * {@code bitmaps[r * days + d]}. The free hours of the window are intersected with themselves shifted by one up to
+ * {@code hours - 1} hours, which leaves a bit set at every hour a run of {@code hours} free hours can start; each
+ * room-day is offered once, from its earliest such hour.
+ * <p>
+ * Candidates are ranked by day, then start hour, then how snugly the run fits the free stretch of the window around
+ * it, so that long free stretches stay open for long meetings, then room. Estates of more than
+ * {@link #SEQUENTIAL_THRESHOLD} room-days are split by room across the common fork/join pool, unless it has a single
+ * worker, and every part only keeps its best {@code limit} candidates.
+ */
+public final class FreeSlotSearch {
+
+    public static final int SEQUENTIAL_THRESHOLD = 16384;
+
+    private static final Comparator<Candidate> RANKING = Comparator.comparingInt(Candidate::day)
+            .thenComparingInt(Candidate::startHour)
+            .thenComparingInt(Candidate::freeHours)
+            .thenComparingInt(Candidate::room);
+
+    private FreeSlotSearch() {
+    }
+
+    /**
+     * @param roomIds the rooms in the order their bitmaps are laid out
+     * @return the bitmaps of {@code days} days from {@code firstDay} of each room, with the slots of other rooms and
+     * days ignored
+     */
+    public static int[] occupancy(List<Long> roomIds, LocalDate firstDay, int days, Iterable<BookingSlot> slots) {
+
+        Map<Long, Integer> roomIndexes = new HashMap<>();
+        for (int room = 0; room < roomIds.size(); room++) {
+            roomIndexes.put(roomIds.get(room), room);
+        }
+
+        int[] bitmaps = new int[roomIds.size() * days];
+        for (BookingSlot slot : slots) {
+            Integer room = roomIndexes.get(slot.roomId());
+            long day = ChronoUnit.DAYS.between(firstDay, slot.bookingDate());
+            if (room != null && day >= 0 && day < days) {
+                bitmaps[room * days + (int) day] |= HourlyBitmap.of(slot.startTime(), slot.endTime());
+            }
+        }
+        return bitmaps;
+    }
+
+    /**
+     * @param windowStart first hour of the window
+     * @param windowEnd   hour the window ends at, exclusive
+     * @return at most {@code limit} candidates, best first
+     */
+    public static List<Candidate> search(int[] bitmaps, int days, int windowStart, int windowEnd, int hours,
+                                         int limit) {
+        int sequentialThreshold = ForkJoinPool.getCommonPoolParallelism() < 2 ? Integer.MAX_VALUE
+                : SEQUENTIAL_THRESHOLD;
+        return search(bitmaps, days, windowStart, windowEnd, hours, limit, sequentialThreshold);
+    }
+
+    static List<Candidate> search(int[] bitmaps, int days, int windowStart, int windowEnd, int hours, int limit,
+                                  int sequentialThreshold) {
+
+        int rooms = days == 0 ? 0 : bitmaps.length / days;
+        int window = (int) ((1L << windowEnd) - (1L << windowStart));
+        Search search = new Search(bitmaps, days, window, hours, limit, Math.max(days, sequentialThreshold), 0, rooms);
+        return bitmaps.length <= sequentialThreshold ? search.compute() : ForkJoinPool.commonPool().invoke(search);
+    }
+
+    /**
+     * @return the hours at which a run of {@code hours} hours free in {@code bitmap} and inside {@code window} starts
+     */
+    static int runStarts(int bitmap, int window, int hours) {
+
+        int free = ~bitmap & window;
+        int starts = free;
+        for (int shift = 1; shift < hours && starts != 0; shift++) {
+            starts &= free >>> shift;
+        }
+        return starts;
+    }
+
+    private static int freeStretch(int free, int startHour) {
+
+        int first = startHour;
+        while (first > 0 && (free & (1 << (first - 1))) != 0) {
+            first--;
+        }
+        int end = startHour;
+        while (end < HourlyBitmap.HOURS && (free & (1 << end)) != 0) {
+            end++;
+        }
+        return end - first;
+    }
+
+    private static List<Candidate> best(List<Candidate> candidates, int limit) {
+
+        candidates.sort(RANKING);
+        return candidates.size() > limit ? new ArrayList<>(candidates.subList(0, limit)) : candidates;
+    }
+
+    /**
+     * @param room      index of the room in the layout of the bitmaps
+     * @param day       days after the first day
+     * @param freeHours length of the free stretch of the window the run lies in
+     */
+    public record Candidate(int room, int day, int startHour, int freeHours) {
+    }
+
+    private static final class Search extends RecursiveTask<List<Candidate>> {
+
+        private final int[] bitmaps;
+        private final int days;
+        private final int window;
+        private final int hours;
+        private final int limit;
+        private final int threshold;
+        private final int fromRoom;
+        private final int toRoom;
+
+        private Search(int[] bitmaps, int days, int window, int hours, int limit, int threshold, int fromRoom,
+                       int toRoom) {
+            this.bitmaps = bitmaps;
+            this.days = days;
+            this.window = window;
+            this.hours = hours;
+            this.limit = limit;
+            this.threshold = threshold;
+            this.fromRoom = fromRoom;
+            this.toRoom = toRoom;
+        }
+
+        @Override
+        protected List<Candidate> compute() {
+
+            if ((toRoom - fromRoom) * days > threshold) {
+                int middle = (fromRoom + toRoom) >>> 1;
+                Search left = new Search(bitmaps, days, window, hours, limit, threshold, fromRoom, middle);
+                left.fork();
+                List<Candidate> candidates = new Search(bitmaps, days, window, hours, limit, threshold, middle,
+                        toRoom).compute();
+                candidates.addAll(left.join());
+                return best(candidates, limit);
+            }
+
+            // The worst of the best candidates so far is on top, so most room-days are turned down by one comparison.
+            PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            for (int room = fromRoom; room < toRoom; room++) {
+                for (int day = 0; day < days; day++) {
+                    int bitmap = bitmaps[room * days + day];
+                    int starts = runStarts(bitmap, window, hours);
+                    if (starts != 0) {
+                        int startHour = Integer.numberOfTrailingZeros(starts);
+                        Candidate candidate = new Candidate(room, day, startHour,
+                                freeStretch(~bitmap & window, startHour));
+                        if (best.size() < limit) {
+                            best.add(candidate);
+                        } else if (RANKING.compare(candidate, best.peek()) < 0) {
+                            best.poll();
+                            best.add(candidate);
+                        }
+                    }
+                }
+            }
+            return best(new ArrayList<>(best), limit);
+        }
+    }
+}
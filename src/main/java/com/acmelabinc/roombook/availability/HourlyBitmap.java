@@ -0,0 +1,52 @@
+package com.acmelabinc.roombook.availability;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Occupancy of a room-day as one bit per hour of the day: bit {@code h} is set when a booking covers any part of
+ * {@code [h:00, h+1:00)}. Bookings last whole hours, so an hourly slot is free exactly when its bit is clear.
+ */
+public final class HourlyBitmap {
+
+    public static final int HOURS = 24;
+
+    private static final int LAST_BOOKABLE_HOUR = HOURS - 2;
+
+    private HourlyBitmap() {
+    }
+
+    /**
+     * @return the hours touched by {@code [startTime, endTime)}, or {@code 0} for an empty interval
+     */
+    public static int of(LocalTime startTime, LocalTime endTime) {
+
+        if (!endTime.isAfter(startTime)) {
+            return 0;
+        }
+
+        int first = startTime.getHour();
+        int last = endTime.equals(LocalTime.of(endTime.getHour(), 0)) ? endTime.getHour() - 1 : endTime.getHour();
+        return (int) ((1L << (last + 1)) - (1L << first));
+    }
+
+    public static boolean isFree(int bitmap, LocalTime startTime, LocalTime endTime) {
+        return (bitmap & of(startTime, endTime)) == 0;
+    }
+
+    /**
+     * A booking cannot end at midnight, so the 23:00 hour is never offered as a free slot.
+     *
+     * @return the start hours of the free hourly slots, in order
+     */
+    public static List<Integer> freeHours(int bitmap) {
+        List<Integer> hours = new ArrayList<>();
+        for (int hour = 0; hour <= LAST_BOOKABLE_HOUR; hour++) {
+            if ((bitmap & (1 << hour)) == 0) {
+                hours.add(hour);
+            }
+        }
+        return hours;
+    }
+}
@@ -0,0 +1,6 @@
+package com.acmelabinc.roombook.availability;
+
+import java.time.LocalDate;
+
+public record RoomDay(Long roomId, LocalDate date) {
+}
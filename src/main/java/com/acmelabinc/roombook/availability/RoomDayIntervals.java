@@ -0,0 +1,92 @@
+package com.acmelabinc.roombook.availability;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, start-sorted set of the booked intervals of one room on one day, in seconds of the day.
+ * {@code maxEnds[i]} holds the largest end among the first {@code i + 1} intervals, so an overlap check is a
+ * single binary search even if the table already contains overlapping rows.
+ */
+final class RoomDayIntervals {
+
+    static final RoomDayIntervals EMPTY = new RoomDayIntervals(new int[0], new int[0], new int[0]);
+
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] maxEnds;
+
+    private RoomDayIntervals(int[] starts, int[] ends, int[] maxEnds) {
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = maxEnds;
+    }
+
+    boolean overlaps(int start, int end) {
+        int last = lastStartingBefore(end);
+        return last >= 0 && maxEnds[last] > start;
+    }
+
+    RoomDayIntervals with(int start, int end) {
+        int position = lastStartingBefore(start) + 1;
+        int size = starts.length + 1;
+
+        int[] newStarts = new int[size];
+        int[] newEnds = new int[size];
+        System.arraycopy(starts, 0, newStarts, 0, position);
+        System.arraycopy(ends, 0, newEnds, 0, position);
+        newStarts[position] = start;
+        newEnds[position] = end;
+        System.arraycopy(starts, position, newStarts, position + 1, starts.length - position);
+        System.arraycopy(ends, position, newEnds, position + 1, ends.length - position);
+
+        return new RoomDayIntervals(newStarts, newEnds, maxEnds(newEnds));
+    }
+
+    RoomDayIntervals without(int start, int end) {
+        for (int i = 0; i < starts.length; i++) {
+            if (starts[i] == start && ends[i] == end) {
+                if (starts.length == 1) {
+                    return EMPTY;
+                }
+                int[] newStarts = remove(starts, i);
+                int[] newEnds = remove(ends, i);
+                return new RoomDayIntervals(newStarts, newEnds, maxEnds(newEnds));
+            }
+        }
+        return this;
+    }
+
+    boolean isEmpty() {
+        return starts.length == 0;
+    }
+
+    private int lastStartingBefore(int time) {
+        int low = 0;
+        int high = starts.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < time) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private static int[] remove(int[] values, int index) {
+        int[] result = Arrays.copyOf(values, values.length - 1);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
+    }
+
+    private static int[] maxEnds(int[] ends) {
+        int[] result = new int[ends.length];
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < ends.length; i++) {
+            max = Math.max(max, ends[i]);
+            result[i] = max;
+        }
+        return result;
+    }
+}
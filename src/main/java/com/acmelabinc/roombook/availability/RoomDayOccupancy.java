@@ -0,0 +1,96 @@
+package com.acmelabinc.roombook.availability;
+
+import com.acmelabinc.roombook.repositories.BookingRepository;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Cache of the {@link HourlyBitmap} of each room-day. Missing room-days are loaded together with a single booking
+ * query, however many rooms and dates are asked for. Writers invalidate the room-days they touch once their
+ * transaction commits; the expiry in {@code roombook.occupancy-cache.spec} bounds how long bookings written by
+ * other instances stay invisible.
+ */
+@Component
+@Profile("!reactive")
+public class RoomDayOccupancy {
+
+    public static final String CACHE_NAME = "room-day-occupancy";
+
+    private final BookingRepository bookingRepository;
+    private final LoadingCache<RoomDay, Integer> bitmaps;
+
+    @Autowired
+    public RoomDayOccupancy(BookingRepository bookingRepository, MeterRegistry meterRegistry,
+                            @Value("${roombook.occupancy-cache.spec:maximumSize=100000,expireAfterWrite=1m}") String spec) {
+        this.bookingRepository = bookingRepository;
+        this.bitmaps = Caffeine.from(spec).recordStats().build(new CacheLoader<>() {
+            @Override
+            public Integer load(RoomDay roomDay) {
+                return loadAll(Set.of(roomDay)).get(roomDay);
+            }
+
+            @Override
+            public Map<RoomDay, Integer> loadAll(Set<? extends RoomDay> roomDays) {
+                return RoomDayOccupancy.this.loadAll(roomDays);
+            }
+        });
+        CaffeineCacheMetrics.monitor(meterRegistry, bitmaps, CACHE_NAME);
+    }
+
+    public int get(Long roomId, LocalDate date) {
+        return bitmaps.get(new RoomDay(roomId, date));
+    }
+
+    public Map<RoomDay, Integer> getAll(Collection<RoomDay> roomDays) {
+        return bitmaps.getAll(roomDays);
+    }
+
+    /**
+     * Drops the cached bitmap once the current transaction commits, or right away outside a transaction.
+     */
+    public void invalidateAfterCommit(Long roomId, LocalDate date) {
+
+        RoomDay roomDay = new RoomDay(roomId, date);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bitmaps.invalidate(roomDay);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bitmaps.invalidate(roomDay);
+            }
+        });
+    }
+
+    private Map<RoomDay, Integer> loadAll(Collection<? extends RoomDay> roomDays) {
+
+        Set<Long> roomIds = roomDays.stream().map(RoomDay::roomId).collect(Collectors.toSet());
+        Set<LocalDate> dates = roomDays.stream().map(RoomDay::date).collect(Collectors.toSet());
+
+        Map<RoomDay, Integer> loaded = new HashMap<>();
+        roomDays.forEach(roomDay -> loaded.put(roomDay, 0));
+        for (BookingSlot slot : bookingRepository.findSlotsIn(roomIds, dates)) {
+            loaded.computeIfPresent(new RoomDay(slot.roomId(), slot.bookingDate()),
+                    (roomDay, bitmap) -> bitmap | HourlyBitmap.of(slot.startTime(), slot.endTime()));
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,89 @@
+package com.acmelabinc.roombook.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the bookings of each room-day, served as the strong ETag of the room-and-date listing so that a poll
+ * whose {@code If-None-Match} still matches is answered without a booking query. Versions are drawn from a single
+ * sequence and a room-day without one gets the next number, so bumping a version is just forgetting it. Writers bump
+ * the room-days they touch once their transaction commits; the expiry in {@code roombook.booking-versions.spec}
+ * bounds how long bookings written by other instances are answered with a 304. Tags start with a random id of this
+ * instance, so tags handed out before a restart or by another instance never match.
+ * <p>
+ * A read replica may not have a write yet when its new version is handed out, and a page read from it would then be
+ * served under that tag for as long as the tag lives. So a room-day stays {@linkplain #isSettling settling} for
+ * {@code roombook.replica.pin-duration} after each bump, and its listing is read from the primary until then.
+ */
+@Component
+@Profile("!reactive")
+public class RoomDayVersions {
+
+    public static final String CACHE_NAME = "room-day-versions";
+
+    private final String instanceId = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<RoomDay, Long> versions;
+    private final Cache<RoomDay, Boolean> settling;
+
+    @Autowired
+    public RoomDayVersions(MeterRegistry meterRegistry,
+                           @Value("${roombook.booking-versions.spec:maximumSize=100000,expireAfterWrite=1m}") String spec,
+                           @Value("${roombook.replica.pin-duration:5s}") Duration settleTime) {
+        this.versions = Caffeine.from(spec).recordStats().build();
+        this.settling = Caffeine.newBuilder().expireAfterWrite(settleTime).build();
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, CACHE_NAME);
+    }
+
+    /**
+     * Has to be read before the bookings it tags: a version read afterwards could already cover a write the
+     * bookings miss.
+     */
+    public String getETag(Long roomId, LocalDate date) {
+        return instanceId + "-" + versions.get(new RoomDay(roomId, date), roomDay -> sequence.incrementAndGet());
+    }
+
+    /**
+     * Whether the room-day was bumped so recently that a read replica may still miss the write.
+     */
+    public boolean isSettling(Long roomId, LocalDate date) {
+        return settling.getIfPresent(new RoomDay(roomId, date)) != null;
+    }
+
+    /**
+     * Bumps the version once the current transaction commits, or right away outside a transaction.
+     */
+    public void bumpAfterCommit(Long roomId, LocalDate date) {
+
+        RoomDay roomDay = new RoomDay(roomId, date);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(roomDay);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump(roomDay);
+            }
+        });
+    }
+
+    private void bump(RoomDay roomDay) {
+        settling.put(roomDay, Boolean.TRUE);
+        versions.invalidate(roomDay);
+    }
+}
@@ -0,0 +1,81 @@
+package com.acmelabinc.roombook.compaction;
+
+import com.acmelabinc.roombook.repositories.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves bookings that no query needs any more from {@code booking} to {@code booking_archive}: cancelled bookings
+ * once {@code roombook.compaction.cancelled-retention} has passed since they were cancelled, and active bookings
+ * whose day lies more than {@code roombook.compaction.past-retention} in the past. Rows move in batches of
+ * {@code roombook.compaction.batch-size}, each in its own transaction, so the job never holds locks for long.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "roombook.compaction.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingCompactionJob {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration cancelledRetention;
+    private final Duration pastRetention;
+    private final int batchSize;
+
+    @Autowired
+    public BookingCompactionJob(BookingRepository bookingRepository, TransactionTemplate transactionTemplate,
+                                @Value("${roombook.compaction.cancelled-retention:1d}") Duration cancelledRetention,
+                                @Value("${roombook.compaction.past-retention:90d}") Duration pastRetention,
+                                @Value("${roombook.compaction.batch-size:1000}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.cancelledRetention = cancelledRetention;
+        this.pastRetention = pastRetention;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return the number of bookings archived
+     */
+    @Scheduled(cron = "${roombook.compaction.cron:0 30 3 * * *}")
+    public int compact() {
+
+        LocalDateTime cancelledBefore = LocalDateTime.now().minus(cancelledRetention);
+        LocalDate bookedBefore = LocalDate.now().minusDays(pastRetention.toDays());
+
+        int archived = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> archiveBatch(cancelledBefore, bookedBefore));
+            archived += batch;
+        } while (batch == batchSize);
+
+        logger.info("Archived {} cancelled or past bookings", archived);
+        return archived;
+    }
+
+    private int archiveBatch(LocalDateTime cancelledBefore, LocalDate bookedBefore) {
+
+        List<Long> ids = bookingRepository.findArchivableIds(cancelledBefore, bookedBefore, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        bookingRepository.copyToArchive(ids);
+        return bookingRepository.deleteAllByIdIn(ids);
+    }
+}
@@ -0,0 +1,96 @@
+package com.acmelabinc.roombook.compaction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of {@code booking} on PostgreSQL: creates the partitions of the next
+ * {@code roombook.partitioning.months-ahead} months and archives every partition whose month ended more than
+ * {@code roombook.compaction.past-retention} ago into {@code booking_archive}, by detaching and dropping it instead of
+ * deleting its rows one by one. Runs before {@link BookingCompactionJob}, which then only has the cancelled rows and
+ * the partly expired month left. Does nothing on databases without partitioning, such as H2.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "roombook.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingPartitionJob {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("booking_y(\\d{4})m(\\d{2})");
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final Duration pastRetention;
+
+    @Autowired
+    public BookingPartitionJob(JdbcTemplate jdbcTemplate,
+                               @Value("${roombook.partitioning.months-ahead:12}") int monthsAhead,
+                               @Value("${roombook.compaction.past-retention:90d}") Duration pastRetention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.pastRetention = pastRetention;
+    }
+
+    /**
+     * @return the number of bookings archived
+     */
+    @Scheduled(cron = "${roombook.partitioning.cron:0 0 3 * * *}")
+    public long maintain() throws MetaDataAccessException {
+
+        if (!POSTGRESQL.equals(JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                DatabaseMetaData::getDatabaseProductName))) {
+            return 0;
+        }
+
+        YearMonth thisMonth = YearMonth.now();
+        int created = 0;
+        for (int month = 0; month <= monthsAhead; month++) {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT booking_create_partition(?)", Boolean.class,
+                    thisMonth.plusMonths(month).atDay(1)))) {
+                created++;
+            }
+        }
+
+        LocalDate archiveBefore = LocalDate.now().minusDays(pastRetention.toDays());
+        List<String> partitions = jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'booking'::regclass ORDER BY c.relname",
+                String.class);
+
+        int detached = 0;
+        long archived = 0;
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.plusMonths(1).atDay(1).isAfter(archiveBefore)) {
+                archived += jdbcTemplate.queryForObject("SELECT booking_archive_partition(?)", Long.class, partition);
+                detached++;
+            }
+        }
+
+        logger.info("Created {} booking partitions, archived {} bookings from {} old ones", created, archived,
+                detached);
+        return archived;
+    }
+}
@@ -0,0 +1,30 @@
+package com.acmelabinc.roombook.compaction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * The window of past days that stays in {@code booking}. {@link BookingCompactionJob} and {@link BookingPartitionJob}
+ * move the days before it to {@code booking_archive}, so queries over {@code booking} cannot answer for them.
+ */
+@Component
+public class BookingRetention {
+
+    private final Duration pastRetention;
+
+    @Autowired
+    public BookingRetention(@Value("${roombook.compaction.past-retention:90d}") Duration pastRetention) {
+        this.pastRetention = pastRetention;
+    }
+
+    /**
+     * @return the earliest booking date that is still guaranteed to be in {@code booking}
+     */
+    public LocalDate getFirstRetainedDate() {
+        return LocalDate.now().minusDays(pastRetention.toDays());
+    }
+}
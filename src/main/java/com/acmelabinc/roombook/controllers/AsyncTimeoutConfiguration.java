@@ -0,0 +1,40 @@
+package com.acmelabinc.roombook.controllers;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Lets a handler give its own async request a timeout other than {@code spring.mvc.async.request-timeout}: a
+ * {@link Duration} set as the request attribute {@link #TIMEOUT_ATTRIBUTE} applies to the callable, such as a
+ * {@code StreamingResponseBody}, that the handler returns.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+public class AsyncTimeoutConfiguration implements WebMvcConfigurer {
+
+    static final String TIMEOUT_ATTRIBUTE = AsyncTimeoutConfiguration.class.getName() + ".timeout";
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+
+            // Called with the async request after it got the default timeout and before it starts.
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                Object timeout = request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+                if (request instanceof AsyncWebRequest asyncWebRequest && timeout instanceof Duration duration) {
+                    asyncWebRequest.setTimeout(duration.toMillis());
+                }
+            }
+        });
+    }
+}
@@ -1,9 +1,17 @@
 package com.acmelabinc.roombook.controllers;
 
+import com.acmelabinc.roombook.converters.BookingExportFormat;
+import com.acmelabinc.roombook.dtos.BookingBulkResultDto;
 import com.acmelabinc.roombook.dtos.BookingRequestDto;
 import com.acmelabinc.roombook.dtos.BookingResponseDto;
+import com.acmelabinc.roombook.dtos.BookingSliceDto;
+import com.acmelabinc.roombook.dtos.RecurringBookingRequestDto;
+import com.acmelabinc.roombook.jdbc.ReplicaRoutingDataSource;
+import com.acmelabinc.roombook.metrics.BookingMetrics;
 import com.acmelabinc.roombook.services.BookingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,18 +27,30 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping(value = "/api/bookings")
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingMetrics bookingMetrics;
+    private final Duration exportTimeout;
 
     @Autowired
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, BookingMetrics bookingMetrics,
+                             @Value("${roombook.export.timeout:10m}") Duration exportTimeout) {
         this.bookingService = bookingService;
+        this.bookingMetrics = bookingMetrics;
+        this.exportTimeout = exportTimeout;
     }
 
     @GetMapping
@@ -39,12 +59,25 @@ public class BookingController {
                                                                 @RequestParam(defaultValue = "0") Integer page,
                                                                 @RequestParam(defaultValue = "10") Integer pageSize,
                                                                 @RequestParam(defaultValue = "bookingDate") String sortBy,
-                                                                @RequestParam(defaultValue = "ASC") String direction) {
+                                                                @RequestParam(defaultValue = "ASC") String direction,
+                                                                WebRequest webRequest) {
+
+        // Room displays poll this; an unchanged room-day is answered before any booking is read.
+        String eTag = bookingService.getETag(roomName, date);
+        boolean notModified = webRequest.checkNotModified(eTag);
+        bookingMetrics.recordListing(notModified);
+        if (notModified) {
+            return null;
+        }
 
         Sort sort = Sort.by(Sort.Direction.fromString(direction), sortBy);
         Pageable pageable = PageRequest.of(page, pageSize, sort);
 
-        return ResponseEntity.status(HttpStatus.OK).body(bookingService.getByRoomAndDate(roomName, date, pageable));
+        // Right after a write the replica may still miss it, and the page would be served under the new tag.
+        Supplier<Page<BookingResponseDto>> bookings = () -> bookingService.getByRoomAndDate(roomName, date, pageable);
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag)
+                .body(bookingService.isSettling(roomName, date) ? ReplicaRoutingDataSource.onPrimary(bookings)
+                        : bookings.get());
     }
 
     @GetMapping(value = "/all")
@@ -59,12 +92,57 @@ public class BookingController {
         return ResponseEntity.status(HttpStatus.OK).body(bookingService.getAll(pageable));
     }
 
+    @GetMapping(value = "/seek")
+    ResponseEntity<BookingSliceDto> getBookingsPerRoomAfter(@RequestParam String roomName,
+                                                            @RequestParam LocalDate date,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "10") Integer pageSize) {
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(bookingService.getByRoomAndDateAfter(roomName, date, cursor, pageSize));
+    }
+
+    @GetMapping(value = "/all/seek")
+    ResponseEntity<BookingSliceDto> getAllAfter(@RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "10") Integer pageSize) {
+
+        return ResponseEntity.status(HttpStatus.OK).body(bookingService.getAllAfter(cursor, pageSize));
+    }
+
+    @GetMapping(value = "/export")
+    ResponseEntity<StreamingResponseBody> exportAll(@RequestParam(defaultValue = "ndjson") String format,
+                                                    WebRequest webRequest) {
+
+        BookingExportFormat exportFormat = BookingExportFormat.from(format);
+        // Only the export streams for minutes; every other async request keeps the default timeout.
+        webRequest.setAttribute(AsyncTimeoutConfiguration.TIMEOUT_ATTRIBUTE, exportTimeout,
+                RequestAttributes.SCOPE_REQUEST);
+        StreamingResponseBody body = outputStream -> bookingService.exportAll(exportFormat, outputStream);
+
+        return ResponseEntity.status(HttpStatus.OK).contentType(exportFormat.getMediaType()).body(body);
+    }
+
     @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
     ResponseEntity<BookingResponseDto> save(@RequestBody BookingRequestDto bookingRequestDto) {
 
         return ResponseEntity.status(HttpStatus.OK).body(bookingService.save(bookingRequestDto));
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE})
+    ResponseEntity<List<BookingBulkResultDto>> saveAll(@RequestBody List<BookingRequestDto> bookingRequestDtos) {
+
+        return ResponseEntity.status(HttpStatus.OK).body(bookingService.saveAll(bookingRequestDtos));
+    }
+
+    @PostMapping(value = "/recurring", consumes = {MediaType.APPLICATION_JSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE})
+    ResponseEntity<List<BookingResponseDto>> saveRecurring(
+            @RequestBody RecurringBookingRequestDto recurringRequestDto) {
+
+        return ResponseEntity.status(HttpStatus.OK).body(bookingService.saveRecurring(recurringRequestDto));
+    }
+
     @DeleteMapping(value = "/cancel/{id}")
     ResponseEntity<String> cancel(@PathVariable Long id) {
 
@@ -0,0 +1,39 @@
+package com.acmelabinc.roombook.controllers;
+
+import com.acmelabinc.roombook.dtos.BookingSliceDto;
+import com.acmelabinc.roombook.services.BookingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping(value = "/api/employees")
+public class EmployeeController {
+
+    private final BookingService bookingService;
+
+    @Autowired
+    public EmployeeController(BookingService bookingService) {
+        this.bookingService = bookingService;
+    }
+
+    @GetMapping(value = "/{email}/bookings")
+    ResponseEntity<BookingSliceDto> getBookings(@PathVariable String email,
+                                                @RequestParam(required = false) LocalDate from,
+                                                @RequestParam(required = false) LocalDate to,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "10") Integer pageSize) {
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(bookingService.getByEmployeeAfter(email, from, to, cursor, pageSize));
+    }
+}
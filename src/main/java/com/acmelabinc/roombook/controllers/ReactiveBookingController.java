@@ -0,0 +1,131 @@
+package com.acmelabinc.roombook.controllers;
+
+import com.acmelabinc.roombook.converters.BookingExportFormat;
+import com.acmelabinc.roombook.dtos.BookingBulkResultDto;
+import com.acmelabinc.roombook.dtos.BookingRequestDto;
+import com.acmelabinc.roombook.dtos.BookingResponseDto;
+import com.acmelabinc.roombook.dtos.BookingSliceDto;
+import com.acmelabinc.roombook.services.ReactiveBookingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Serves the {@link BookingController} endpoints on WebFlux when the {@code reactive} profile is active, with the same
+ * request and response bodies and the same per-room booking and rejection metrics. The following are servlet-only and
+ * not available in this profile:
+ * <ul>
+ *     <li>{@code POST /api/bookings/recurring};</li>
+ *     <li>{@code ETag} and {@code 304 Not Modified} on room-and-date listings, which rely on the servlet-side
+ *     version cache;</li>
+ *     <li>{@code GET /api/employees/{email}/bookings}, the employee booking history;</li>
+ *     <li>the {@code /api/rooms} endpoints: availability, room search and the booking event stream.</li>
+ * </ul>
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping(value = "/api/bookings")
+public class ReactiveBookingController {
+
+    private final ReactiveBookingService bookingService;
+
+    @Autowired
+    public ReactiveBookingController(ReactiveBookingService bookingService) {
+        this.bookingService = bookingService;
+    }
+
+    @GetMapping
+    Mono<ResponseEntity<Page<BookingResponseDto>>> getBookingsPerRoom(@RequestParam String roomName,
+                                                                      @RequestParam LocalDate date,
+                                                                      @RequestParam(defaultValue = "0") Integer page,
+                                                                      @RequestParam(defaultValue = "10") Integer pageSize,
+                                                                      @RequestParam(defaultValue = "bookingDate") String sortBy,
+                                                                      @RequestParam(defaultValue = "ASC") String direction) {
+
+        Sort sort = Sort.by(Sort.Direction.fromString(direction), sortBy);
+        Pageable pageable = PageRequest.of(page, pageSize, sort);
+
+        return bookingService.getByRoomAndDate(roomName, date, pageable)
+                .map(bookings -> ResponseEntity.status(HttpStatus.OK).body(bookings));
+    }
+
+    @GetMapping(value = "/all")
+    Mono<ResponseEntity<Page<BookingResponseDto>>> getAll(@RequestParam(defaultValue = "0") Integer page,
+                                                          @RequestParam(defaultValue = "10") Integer pageSize,
+                                                          @RequestParam(defaultValue = "bookingDate") String sortBy,
+                                                          @RequestParam(defaultValue = "ASC") String direction) {
+
+        Sort sort = Sort.by(Sort.Direction.fromString(direction), sortBy);
+        Pageable pageable = PageRequest.of(page, pageSize, sort);
+
+        return bookingService.getAll(pageable).map(bookings -> ResponseEntity.status(HttpStatus.OK).body(bookings));
+    }
+
+    @GetMapping(value = "/seek")
+    Mono<ResponseEntity<BookingSliceDto>> getBookingsPerRoomAfter(@RequestParam String roomName,
+                                                                  @RequestParam LocalDate date,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "10") Integer pageSize) {
+
+        return bookingService.getByRoomAndDateAfter(roomName, date, cursor, pageSize)
+                .map(slice -> ResponseEntity.status(HttpStatus.OK).body(slice));
+    }
+
+    @GetMapping(value = "/all/seek")
+    Mono<ResponseEntity<BookingSliceDto>> getAllAfter(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "10") Integer pageSize) {
+
+        return bookingService.getAllAfter(cursor, pageSize)
+                .map(slice -> ResponseEntity.status(HttpStatus.OK).body(slice));
+    }
+
+    @GetMapping(value = "/export")
+    ResponseEntity<Flux<String>> exportAll(@RequestParam(defaultValue = "ndjson") String format) {
+
+        BookingExportFormat exportFormat = BookingExportFormat.from(format);
+
+        return ResponseEntity.status(HttpStatus.OK).contentType(exportFormat.getMediaType())
+                .body(bookingService.exportAll(exportFormat));
+    }
+
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    Mono<ResponseEntity<BookingResponseDto>> save(@RequestBody BookingRequestDto bookingRequestDto) {
+
+        return bookingService.save(bookingRequestDto)
+                .map(booking -> ResponseEntity.status(HttpStatus.OK).body(booking));
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE})
+    Mono<ResponseEntity<List<BookingBulkResultDto>>> saveAll(@RequestBody List<BookingRequestDto> bookingRequestDtos) {
+
+        return bookingService.saveAll(bookingRequestDtos)
+                .map(results -> ResponseEntity.status(HttpStatus.OK).body(results));
+    }
+
+    @DeleteMapping(value = "/cancel/{id}")
+    Mono<ResponseEntity<String>> cancel(@PathVariable Long id) {
+
+        return bookingService.cancel(id).map(message -> ResponseEntity.status(HttpStatus.OK).body(message));
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.acmelabinc.roombook.controllers;
+
+import com.acmelabinc.roombook.dtos.FreeRoomsDto;
+import com.acmelabinc.roombook.dtos.RoomAvailabilityDto;
+import com.acmelabinc.roombook.dtos.RoomCandidateDto;
+import com.acmelabinc.roombook.services.RoomService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping(value = "/api/rooms")
+public class RoomController {
+
+    private final RoomService roomService;
+
+    @Autowired
+    public RoomController(RoomService roomService) {
+        this.roomService = roomService;
+    }
+
+    @GetMapping(value = "/{name}/availability")
+    ResponseEntity<RoomAvailabilityDto> getAvailability(@PathVariable String name, @RequestParam LocalDate date) {
+
+        return ResponseEntity.status(HttpStatus.OK).body(roomService.getAvailability(name, date));
+    }
+
+    @GetMapping(value = "/availability")
+    ResponseEntity<List<FreeRoomsDto>> getFreeRooms(@RequestParam List<LocalDate> dates,
+                                                    @RequestParam LocalTime timeFrom,
+                                                    @RequestParam LocalTime timeTo) {
+
+        return ResponseEntity.status(HttpStatus.OK).body(roomService.getFreeRooms(dates, timeFrom, timeTo));
+    }
+
+    @GetMapping(value = "/search")
+    ResponseEntity<List<RoomCandidateDto>> searchRooms(@RequestParam LocalDate dateFrom,
+                                                       @RequestParam(required = false) LocalDate dateTo,
+                                                       @RequestParam LocalTime timeFrom,
+                                                       @RequestParam LocalTime timeTo,
+                                                       @RequestParam int hours,
+                                                       @RequestParam(defaultValue = "20") int limit) {
+
+        return ResponseEntity.status(HttpStatus.OK).body(roomService.searchRooms(dateFrom,
+                dateTo != null ? dateTo : dateFrom, timeFrom, timeTo, hours, limit));
+    }
+
+    @GetMapping(value = "/{name}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamEvents(@PathVariable String name) {
+
+        return roomService.streamEvents(name);
+    }
+
+}
@@ -8,6 +8,11 @@ import com.acmelabinc.roombook.entities.Room;
 
 public class BookingConverter {
 
+    public static final String CSV_HEADER = "id,room,bookedBy,bookingDate,timeFrom,timeTo";
+
+    private static final String CSV_SEPARATOR = ",";
+    private static final String CSV_QUOTE = "\"";
+
     private BookingConverter() {
     }
 
@@ -16,8 +21,26 @@ public class BookingConverter {
                 booking.getBookingDate(), booking.getStartTime(), booking.getEndTime());
     }
 
+    public static BookingResponseDto convert(Booking booking, String roomName, String employeeEmail) {
+        return new BookingResponseDto(booking.getId(), roomName, employeeEmail, booking.getBookingDate(),
+                booking.getStartTime(), booking.getEndTime());
+    }
+
     public static Booking convert(BookingRequestDto bookingRequestDto, Room room, Employee employee) {
         return new Booking(room, employee, bookingRequestDto.getBookingDate(), bookingRequestDto.getStartTime(),
                 bookingRequestDto.getEndTime());
     }
+
+    public static String toCsv(BookingResponseDto booking) {
+        return booking.getId() + CSV_SEPARATOR + escapeCsv(booking.getRoom()) + CSV_SEPARATOR +
+                escapeCsv(booking.getBookedBy()) + CSV_SEPARATOR + booking.getBookingDate() + CSV_SEPARATOR +
+                booking.getTimeFrom() + CSV_SEPARATOR + booking.getTimeTo();
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.contains(CSV_SEPARATOR) || value.contains(CSV_QUOTE) || value.contains("\n") || value.contains("\r")) {
+            return CSV_QUOTE + value.replace(CSV_QUOTE, CSV_QUOTE + CSV_QUOTE) + CSV_QUOTE;
+        }
+        return value;
+    }
 }
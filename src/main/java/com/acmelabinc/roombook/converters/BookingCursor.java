@@ -0,0 +1,59 @@
+package com.acmelabinc.roombook.converters;
+
+import com.acmelabinc.roombook.dtos.BookingResponseDto;
+import com.acmelabinc.roombook.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token of the keyset listings: the (bookingDate, startTime, id) of the last booking returned.
+ */
+public class BookingCursor {
+
+    private static final String SEPARATOR = "|";
+    private static final String INVALID_CURSOR = "The cursor is not valid.";
+
+    private final LocalDate bookingDate;
+    private final LocalTime startTime;
+    private final Long id;
+
+    private BookingCursor(LocalDate bookingDate, LocalTime startTime, Long id) {
+        this.bookingDate = bookingDate;
+        this.startTime = startTime;
+        this.id = id;
+    }
+
+    public static String encode(BookingResponseDto booking) {
+        String value = booking.getBookingDate() + SEPARATOR + booking.getTimeFrom() + SEPARATOR + booking.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookingCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR);
+            if (parts.length != 3) {
+                throw new BadRequestException(INVALID_CURSOR);
+            }
+            return new BookingCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException(INVALID_CURSOR);
+        }
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
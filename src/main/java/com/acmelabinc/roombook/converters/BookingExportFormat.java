@@ -0,0 +1,36 @@
+package com.acmelabinc.roombook.converters;
+
+import com.acmelabinc.roombook.exceptions.BadRequestException;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Line formats of the bookings export: one JSON object per line, or CSV with a header row.
+ */
+public enum BookingExportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+    private static final String INVALID_FORMAT = "Export format should be ndjson or csv.";
+
+    private final MediaType mediaType;
+
+    BookingExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static BookingExportFormat from(String format) {
+        for (BookingExportFormat exportFormat : values()) {
+            if (exportFormat.name().equalsIgnoreCase(format)) {
+                return exportFormat;
+            }
+        }
+        throw new BadRequestException(INVALID_FORMAT);
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
@@ -0,0 +1,53 @@
+package com.acmelabinc.roombook.dtos;
+
+import org.springframework.http.HttpStatus;
+
+public class BookingBulkResultDto {
+
+    private int index;
+    private HttpStatus status;
+    private String message;
+    private BookingResponseDto booking;
+
+    public BookingBulkResultDto() {
+    }
+
+    public BookingBulkResultDto(int index, HttpStatus status, String message, BookingResponseDto booking) {
+        this.index = index;
+        this.status = status;
+        this.message = message;
+        this.booking = booking;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(HttpStatus status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public BookingResponseDto getBooking() {
+        return booking;
+    }
+
+    public void setBooking(BookingResponseDto booking) {
+        this.booking = booking;
+    }
+}
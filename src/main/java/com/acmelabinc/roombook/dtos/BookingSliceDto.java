@@ -0,0 +1,43 @@
+package com.acmelabinc.roombook.dtos;
+
+import java.util.List;
+
+public class BookingSliceDto {
+
+    private List<BookingResponseDto> content;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public BookingSliceDto() {
+    }
+
+    public BookingSliceDto(List<BookingResponseDto> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    public List<BookingResponseDto> getContent() {
+        return content;
+    }
+
+    public void setContent(List<BookingResponseDto> content) {
+        this.content = content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
@@ -0,0 +1,34 @@
+package com.acmelabinc.roombook.dtos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class FreeRoomsDto {
+
+    private LocalDate date;
+    private List<String> rooms;
+
+    public FreeRoomsDto() {
+    }
+
+    public FreeRoomsDto(LocalDate date, List<String> rooms) {
+        this.date = date;
+        this.rooms = rooms;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public List<String> getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(List<String> rooms) {
+        this.rooms = rooms;
+    }
+}
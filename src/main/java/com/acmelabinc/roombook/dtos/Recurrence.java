@@ -0,0 +1,6 @@
+package com.acmelabinc.roombook.dtos;
+
+public enum Recurrence {
+    DAILY,
+    WEEKLY
+}
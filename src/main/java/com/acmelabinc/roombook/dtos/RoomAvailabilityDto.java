@@ -0,0 +1,44 @@
+package com.acmelabinc.roombook.dtos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class RoomAvailabilityDto {
+
+    private String room;
+    private LocalDate date;
+    private List<TimeSlotDto> freeSlots;
+
+    public RoomAvailabilityDto() {
+    }
+
+    public RoomAvailabilityDto(String room, LocalDate date, List<TimeSlotDto> freeSlots) {
+        this.room = room;
+        this.date = date;
+        this.freeSlots = freeSlots;
+    }
+
+    public String getRoom() {
+        return room;
+    }
+
+    public void setRoom(String room) {
+        this.room = room;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public List<TimeSlotDto> getFreeSlots() {
+        return freeSlots;
+    }
+
+    public void setFreeSlots(List<TimeSlotDto> freeSlots) {
+        this.freeSlots = freeSlots;
+    }
+}
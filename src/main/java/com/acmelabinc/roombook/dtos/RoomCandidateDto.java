@@ -0,0 +1,54 @@
+package com.acmelabinc.roombook.dtos;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class RoomCandidateDto {
+
+    private String room;
+    private LocalDate date;
+    private LocalTime timeFrom;
+    private LocalTime timeTo;
+
+    public RoomCandidateDto() {
+    }
+
+    public RoomCandidateDto(String room, LocalDate date, LocalTime timeFrom, LocalTime timeTo) {
+        this.room = room;
+        this.date = date;
+        this.timeFrom = timeFrom;
+        this.timeTo = timeTo;
+    }
+
+    public String getRoom() {
+        return room;
+    }
+
+    public void setRoom(String room) {
+        this.room = room;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public LocalTime getTimeFrom() {
+        return timeFrom;
+    }
+
+    public void setTimeFrom(LocalTime timeFrom) {
+        this.timeFrom = timeFrom;
+    }
+
+    public LocalTime getTimeTo() {
+        return timeTo;
+    }
+
+    public void setTimeTo(LocalTime timeTo) {
+        this.timeTo = timeTo;
+    }
+}
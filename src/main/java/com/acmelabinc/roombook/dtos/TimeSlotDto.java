@@ -0,0 +1,33 @@
+package com.acmelabinc.roombook.dtos;
+
+import java.time.LocalTime;
+
+public class TimeSlotDto {
+
+    private LocalTime timeFrom;
+    private LocalTime timeTo;
+
+    public TimeSlotDto() {
+    }
+
+    public TimeSlotDto(LocalTime timeFrom, LocalTime timeTo) {
+        this.timeFrom = timeFrom;
+        this.timeTo = timeTo;
+    }
+
+    public LocalTime getTimeFrom() {
+        return timeFrom;
+    }
+
+    public void setTimeFrom(LocalTime timeFrom) {
+        this.timeFrom = timeFrom;
+    }
+
+    public LocalTime getTimeTo() {
+        return timeTo;
+    }
+
+    public void setTimeTo(LocalTime timeTo) {
+        this.timeTo = timeTo;
+    }
+}
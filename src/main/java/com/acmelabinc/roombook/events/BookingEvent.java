@@ -0,0 +1,29 @@
+package com.acmelabinc.roombook.events;
+
+import com.acmelabinc.roombook.dtos.BookingResponseDto;
+
+public record BookingEvent(Type type, Long roomId, BookingResponseDto booking) {
+
+    public enum Type {
+        CREATED("booking-created"),
+        CANCELLED("booking-cancelled");
+
+        private final String eventName;
+
+        Type(String eventName) {
+            this.eventName = eventName;
+        }
+
+        public String getEventName() {
+            return eventName;
+        }
+    }
+
+    public static BookingEvent created(Long roomId, BookingResponseDto booking) {
+        return new BookingEvent(Type.CREATED, roomId, booking);
+    }
+
+    public static BookingEvent cancelled(Long roomId, BookingResponseDto booking) {
+        return new BookingEvent(Type.CANCELLED, roomId, booking);
+    }
+}
@@ -0,0 +1,212 @@
+package com.acmelabinc.roombook.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans booking events out to the Server-Sent Event streams of the room they belong to. An event is serialized once,
+ * however many streams it goes to, and publishing never waits for a client: each stream has a buffer of
+ * {@code roombook.events.buffer-size} events, drained by a virtual thread of its own while there is something to
+ * send. A stream whose buffer overflows is closed rather than being sent an incomplete feed; the client reconnects
+ * and reloads the listing. An idle stream holds no thread, and a heartbeat comment every
+ * {@code roombook.events.heartbeat} detects dead clients and keeps proxies from closing the connection. There is no
+ * replay of events missed while disconnected.
+ * <p>
+ * Open streams are published as {@code roombook.events.subscribers} and streams closed for overflowing as
+ * {@code roombook.events.overflows}.
+ */
+@Component
+@Profile("!reactive")
+public class BookingEventBus {
+
+    private static final String SUBSCRIBERS = "roombook.events.subscribers";
+    private static final String OVERFLOWS = "roombook.events.overflows";
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+    private final Counter overflows;
+
+    @Autowired
+    public BookingEventBus(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                           @Value("${roombook.events.buffer-size:64}") int bufferSize,
+                           @Value("${roombook.events.timeout:30m}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        Gauge.builder(SUBSCRIBERS, subscriberCount, AtomicInteger::get)
+                .description("Open booking event streams")
+                .register(meterRegistry);
+        this.overflows = Counter.builder(OVERFLOWS)
+                .description("Booking event streams closed because the client fell a whole buffer behind")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long roomId) {
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(roomId, emitter);
+        emitter.onTimeout(emitter::complete);
+        emitter.onCompletion(subscriber::remove);
+
+        subscribers.compute(roomId, (id, roomSubscribers) -> {
+            Set<Subscriber> added = roomSubscribers != null ? roomSubscribers : ConcurrentHashMap.newKeySet();
+            added.add(subscriber);
+            return added;
+        });
+        subscriberCount.incrementAndGet();
+        return emitter;
+    }
+
+    /**
+     * Publishes the event once the current transaction commits, or right away outside a transaction.
+     */
+    public void publishAfterCommit(BookingEvent event) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(event);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(event);
+            }
+        });
+    }
+
+    public void publish(BookingEvent event) {
+
+        Set<Subscriber> roomSubscribers = subscribers.get(event.roomId());
+        if (roomSubscribers == null) {
+            return;
+        }
+
+        Set<DataWithMediaType> data = SseEmitter.event()
+                .id(Long.toString(eventIds.incrementAndGet()))
+                .name(event.type().getEventName())
+                .data(toJson(event))
+                .build();
+        roomSubscribers.forEach(subscriber -> subscriber.offer(data));
+    }
+
+    @Scheduled(fixedDelayString = "${roombook.events.heartbeat:PT15S}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(roomSubscribers ->
+                roomSubscribers.forEach(subscriber -> subscriber.offer(heartbeat)));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private String toJson(BookingEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event.booking());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final Long roomId;
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile boolean overflowed;
+
+        private Subscriber(Long roomId, SseEmitter emitter) {
+            this.roomId = roomId;
+            this.emitter = emitter;
+        }
+
+        private void offer(Set<DataWithMediaType> data) {
+
+            if (overflowed) {
+                return;
+            }
+            if (!buffer.offer(data)) {
+                overflowed = true;
+                overflows.increment();
+                remove();
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+
+            do {
+                // Completing here rather than in offer keeps the publisher off the emitter's lock.
+                if (overflowed) {
+                    emitter.complete();
+                    return;
+                }
+                Set<DataWithMediaType> data;
+                while (!overflowed && (data = buffer.poll()) != null) {
+                    try {
+                        emitter.send(data);
+                    } catch (IOException | IllegalStateException e) {
+                        // The client went away; the container completes the emitter.
+                        remove();
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!buffer.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void remove() {
+
+            if (!removed.compareAndSet(false, true)) {
+                return;
+            }
+            subscribers.computeIfPresent(roomId, (id, roomSubscribers) -> {
+                roomSubscribers.remove(this);
+                return roomSubscribers.isEmpty() ? null : roomSubscribers;
+            });
+            subscriberCount.decrementAndGet();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.acmelabinc.roombook.exceptions;
 
+import org.apache.catalina.connector.ClientAbortException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -8,6 +9,9 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+
+import java.io.IOException;
 
 @ControllerAdvice
 public class BookRoomExceptionHandler {
@@ -19,7 +23,7 @@ public class BookRoomExceptionHandler {
     @ResponseBody
     public ResponseEntity<ApiExceptionMessage> processValidationError(NotFoundException e) {
 
-        logger.error("API MESSAGE: {}", e.getMessage());
+        logger.debug("API MESSAGE: {}", e.getMessage());
 
         ApiExceptionMessage response = buildApiExceptionMessage(e, HttpStatus.NOT_FOUND);
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
@@ -30,7 +34,7 @@ public class BookRoomExceptionHandler {
     @ResponseBody
     public ResponseEntity<ApiExceptionMessage> processValidationError(BadRequestException e) {
 
-        logger.error("API MESSAGE: {}", e.getMessage());
+        logger.debug("API MESSAGE: {}", e.getMessage());
 
         ApiExceptionMessage response = buildApiExceptionMessage(e, HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
@@ -41,12 +45,20 @@ public class BookRoomExceptionHandler {
     @ResponseBody
     public ResponseEntity<ApiExceptionMessage> processValidationError(AlreadyExistsException e) {
 
-        logger.error("API MESSAGE: {}", e.getMessage());
+        logger.debug("API MESSAGE: {}", e.getMessage());
 
         ApiExceptionMessage response = buildApiExceptionMessage(e, HttpStatus.CONFLICT);
         return new ResponseEntity<>(response, HttpStatus.CONFLICT);
     }
 
+    // A client that closed its connection, typically an event stream; there is no one left to respond to. Any other
+    // IOException is a server-side failure and is left to the default handling.
+    @ExceptionHandler({AsyncRequestNotUsableException.class, ClientAbortException.class})
+    public void processClientGone(IOException e) {
+
+        logger.debug("CLIENT GONE: {}", e.getMessage());
+    }
+
     private ApiExceptionMessage buildApiExceptionMessage(RuntimeException e, HttpStatus status) {
         ApiExceptionMessage response = new ApiExceptionMessage();
         response.setStatus(status);
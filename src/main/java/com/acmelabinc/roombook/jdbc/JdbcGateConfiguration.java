@@ -0,0 +1,88 @@
+package com.acmelabinc.roombook.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Puts a {@link GatedDataSource} sized to the Hikari pool in front of it when {@code spring.threads.virtual.enabled}
+ * is set. The gate wraps the pool itself, before {@link ReplicaRoutingConfiguration} routes between the primary and
+ * the replica, which it gates the same way. The number of requests waiting at each gate is published as
+ * {@code roombook.jdbc.gate.waiting}, tagged with the {@code pool}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class JdbcGateConfiguration {
+
+    static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    // Hikari leaves the pool size unset until the pool starts and then falls back to 10.
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+    private static final String PRIMARY_POOL = "primary";
+
+    @Bean
+    static BeanPostProcessor jdbcGatePostProcessor() {
+        return new GatePostProcessor();
+    }
+
+    @Bean
+    MeterBinder jdbcGateMetrics(DataSource dataSource) {
+        return registry -> gates(dataSource).forEach((pool, gate) ->
+                Gauge.builder("roombook.jdbc.gate.waiting", gate, GatedDataSource::getQueueLength)
+                        .description("Requests waiting for a JDBC connection permit")
+                        .tag("pool", pool)
+                        .register(registry));
+    }
+
+    static GatedDataSource gate(HikariDataSource hikari) {
+        int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+        return new GatedDataSource(hikari, poolSize, hikari.getConnectionTimeout());
+    }
+
+    private static Map<String, GatedDataSource> gates(DataSource dataSource) {
+
+        Map<String, GatedDataSource> gates = new LinkedHashMap<>();
+        try {
+            if (dataSource.isWrapperFor(ReplicaRoutingDataSource.class)) {
+                ReplicaRoutingDataSource routing = dataSource.unwrap(ReplicaRoutingDataSource.class);
+                for (Map.Entry<Object, DataSource> target : routing.getResolvedDataSources().entrySet()) {
+                    if (target.getValue().isWrapperFor(GatedDataSource.class)) {
+                        gates.put(target.getKey().toString().toLowerCase(Locale.ROOT),
+                                target.getValue().unwrap(GatedDataSource.class));
+                    }
+                }
+            } else if (dataSource.isWrapperFor(GatedDataSource.class)) {
+                gates.put(PRIMARY_POOL, dataSource.unwrap(GatedDataSource.class));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not look up the JDBC gates.", e);
+        }
+        return gates;
+    }
+
+    private static final class GatePostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return bean instanceof HikariDataSource hikari ? gate(hikari) : bean;
+        }
+
+        // Runs before the replica routing post-processor, so that it is the pool that is gated and not the router.
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+    }
+}
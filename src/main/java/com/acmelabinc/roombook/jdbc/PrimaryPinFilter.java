@@ -0,0 +1,70 @@
+package com.acmelabinc.roombook.jdbc;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Gives clients read-your-writes on top of {@link ReplicaRoutingDataSource}. Every write request is answered with a
+ * {@value #PRIMARY_UNTIL_HEADER} header holding the epoch millisecond until which the replica may still lag behind
+ * it. A request that sends that header back before then is pinned to the primary. The pin is stateless, so any
+ * instance honours it; a value further ahead than the pin duration is ignored, so a client cannot pin itself for
+ * good.
+ */
+public class PrimaryPinFilter extends OncePerRequestFilter {
+
+    public static final String PRIMARY_UNTIL_HEADER = "Roombook-Primary-Until";
+
+    private static final Set<String> SAFE_METHODS = Set.of(HttpMethod.GET.name(), HttpMethod.HEAD.name(),
+            HttpMethod.OPTIONS.name(), HttpMethod.TRACE.name());
+
+    private final Duration pinDuration;
+
+    public PrimaryPinFilter(Duration pinDuration) {
+        this.pinDuration = pinDuration;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long now = System.currentTimeMillis();
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            // Set before the chain runs: once the body is written the response is committed.
+            response.setHeader(PRIMARY_UNTIL_HEADER, Long.toString(now + pinDuration.toMillis()));
+        }
+
+        if (!isPinned(request.getHeader(PRIMARY_UNTIL_HEADER), now)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ReplicaRoutingDataSource.pinToPrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+
+    private boolean isPinned(String primaryUntil, long now) {
+
+        if (primaryUntil == null) {
+            return false;
+        }
+
+        try {
+            long until = Long.parseLong(primaryUntil.trim());
+            return until > now && until <= now + pinDuration.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.acmelabinc.roombook.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Puts a {@link ReplicaRoutingDataSource} in front of the application's DataSource when
+ * {@code roombook.replica.datasource.url} is set, so that {@code @Transactional(readOnly = true)} service methods read
+ * from the replica. The replica pool is configured like {@code spring.datasource}, under
+ * {@code roombook.replica.datasource} and {@code roombook.replica.datasource.hikari}. It is not a DataSource bean of
+ * its own, which would switch off the DataSource auto-configuration of the primary. The routing post-processor runs
+ * last, after {@link JdbcGateConfiguration} has gated the primary pool.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = ReplicaRoutingConfiguration.REPLICA_PREFIX, name = "url")
+public class ReplicaRoutingConfiguration {
+
+    static final String REPLICA_PREFIX = "roombook.replica.datasource";
+    static final int ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+    private static final String REPLICA_POOL_NAME = "roombook-replica";
+
+    @Bean
+    static BeanPostProcessor replicaRoutingPostProcessor(Environment environment) {
+        return new RoutingPostProcessor(environment);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    PrimaryPinFilter primaryPinFilter(@Value("${roombook.replica.pin-duration:5s}") Duration pinDuration) {
+        return new PrimaryPinFilter(pinDuration);
+    }
+
+    private static HikariDataSource createReplica(Environment environment) {
+
+        Binder binder = Binder.get(environment);
+        DataSourceProperties properties = binder.bind(REPLICA_PREFIX, DataSourceProperties.class)
+                .orElseGet(DataSourceProperties::new);
+
+        HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        replica.setPoolName(REPLICA_POOL_NAME);
+        replica.setReadOnly(true);
+        binder.bind(REPLICA_PREFIX + ".hikari", Bindable.ofInstance(replica));
+        return replica;
+    }
+
+    private static final class RoutingPostProcessor implements DestructionAwareBeanPostProcessor, Ordered {
+
+        private final Environment environment;
+        private DataSource replica;
+
+        private RoutingPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        // With virtual threads the primary pool already sits behind its gate, and the replica pool gets its own.
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource) {
+                HikariDataSource replicaPool = createReplica(environment);
+                replica = Threading.VIRTUAL.isActive(environment) ? JdbcGateConfiguration.gate(replicaPool)
+                        : replicaPool;
+                return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(dataSource, replica));
+            }
+            return bean;
+        }
+
+        // The container destroys the raw primary bean, so its pool is closed by Hikari's own close method. The replica
+        // is not a bean, and it may sit behind its gate.
+        @Override
+        public void postProcessBeforeDestruction(Object bean, String beanName) {
+            if (DATA_SOURCE_BEAN.equals(beanName) && replica != null) {
+                try {
+                    replica.unwrap(HikariDataSource.class).close();
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Could not close the replica DataSource.", e);
+                }
+            }
+        }
+
+        @Override
+        public boolean requiresDestruction(Object bean) {
+            return bean instanceof DataSource;
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.acmelabinc.roombook.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the booking endpoints:
+ * <ul>
+ *     <li>{@code roombook.booking.save.stage}, a timer per {@link Stage} of a single booking save;</li>
+ *     <li>{@code roombook.booking.rejections}, a counter per operation and exception type of a rejected booking;</li>
+ *     <li>{@code roombook.room.bookings}, a counter per room of committed bookings, whose rate is the booking rate;</li>
+ *     <li>{@code roombook.booking.listing.responses}, a counter per status of room-and-date listings, whose
+ *     {@code 304} share is the ETag hit ratio.</li>
+ * </ul>
+ * Percentile histograms and their bucket range are set with {@code management.metrics.distribution.*}.
+ */
+@Component
+public class BookingMetrics {
+
+    public static final String SAVE = "save";
+    public static final String BULK = "bulk";
+    public static final String RECURRING = "recurring";
+
+    private static final String STAGE_TIMER = "roombook.booking.save.stage";
+    private static final String REJECTIONS = "roombook.booking.rejections";
+    private static final String ROOM_BOOKINGS = "roombook.room.bookings";
+    private static final String LISTING_RESPONSES = "roombook.booking.listing.responses";
+
+    public enum Stage {
+        VALIDATION("validation"),
+        ROOM_LOOKUP("room-lookup"),
+        EMPLOYEE_LOOKUP("employee-lookup"),
+        OVERLAP_CHECK("overlap-check"),
+        INSERT("insert");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<String, Counter> roomCounters = new ConcurrentHashMap<>();
+    private final Counter listingsModified;
+    private final Counter listingsNotModified;
+
+    @Autowired
+    public BookingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder(STAGE_TIMER)
+                    .description("Time spent in each stage of saving a booking")
+                    .tag("stage", stage.tag)
+                    .register(meterRegistry));
+        }
+        this.listingsModified = listingCounter(HttpStatus.OK);
+        this.listingsNotModified = listingCounter(HttpStatus.NOT_MODIFIED);
+    }
+
+    public <T> T time(Stage stage, Supplier<T> supplier) {
+        return stageTimers.get(stage).record(supplier);
+    }
+
+    public void time(Stage stage, Runnable runnable) {
+        stageTimers.get(stage).record(runnable);
+    }
+
+    public void recordRejection(String operation, Class<? extends RuntimeException> exceptionType) {
+        Counter.builder(REJECTIONS)
+                .description("Bookings rejected by validation, a missing room or employee, or an overlap")
+                .tag("operation", operation)
+                .tag("exception", exceptionType.getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Counts the booking once the current transaction commits, or right away outside a transaction, so that a save
+     * rolled back late does not count toward the room's booking rate.
+     */
+    public void recordBookingAfterCommit(String roomName) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordBooking(roomName);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordBooking(roomName);
+            }
+        });
+    }
+
+    public void recordListing(boolean notModified) {
+        (notModified ? listingsNotModified : listingsModified).increment();
+    }
+
+    private void recordBooking(String roomName) {
+        roomCounters.computeIfAbsent(roomName, name -> Counter.builder(ROOM_BOOKINGS)
+                        .description("Bookings saved per room")
+                        .tag("room", name)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private Counter listingCounter(HttpStatus status) {
+        return Counter.builder(LISTING_RESPONSES)
+                .description("Room-and-date booking listings, answered in full or with 304 Not Modified")
+                .tag("status", Integer.toString(status.value()))
+                .register(meterRegistry);
+    }
+}
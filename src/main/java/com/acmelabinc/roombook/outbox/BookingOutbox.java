@@ -0,0 +1,63 @@
+package com.acmelabinc.roombook.outbox;
+
+import com.acmelabinc.roombook.entities.OutboxMessage;
+import com.acmelabinc.roombook.events.BookingEvent;
+import com.acmelabinc.roombook.repositories.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Records booking events in the {@code outbox} table within the transaction that writes the booking, so an event is
+ * stored if and only if its booking change commits; {@link OutboxRelay} delivers them afterwards. Saving a booking
+ * only pays for one more row in its flush. Nothing is recorded while {@code roombook.outbox.enabled} is false.
+ */
+@Component
+@Profile("!reactive")
+public class BookingOutbox {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    @Autowired
+    public BookingOutbox(OutboxRepository outboxRepository, ObjectMapper objectMapper,
+                         @Value("${roombook.outbox.enabled:true}") boolean enabled) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(BookingEvent event) {
+
+        if (enabled) {
+            outboxRepository.save(toMessage(event));
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<BookingEvent> events) {
+
+        if (enabled && !events.isEmpty()) {
+            outboxRepository.saveAll(events.stream().map(this::toMessage).toList());
+        }
+    }
+
+    private OutboxMessage toMessage(BookingEvent event) {
+        try {
+            return new OutboxMessage(event.type().getEventName(), event.booking().getId(),
+                    objectMapper.writeValueAsString(event.booking()));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.acmelabinc.roombook.outbox;
+
+import com.acmelabinc.roombook.entities.OutboxMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each batch to {@code roombook.outbox.file} as newline-delimited JSON, one message per line, and forces it
+ * to disk before the relay deletes the rows.
+ */
+@Component
+@ConditionalOnProperty(name = "roombook.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private static final char LINE_SEPARATOR = '\n';
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    @Autowired
+    public FileOutboxSink(ObjectMapper objectMapper, @Value("${roombook.outbox.file:outbox.ndjson}") Path file) {
+        this.objectMapper = objectMapper;
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxMessage> messages) throws IOException {
+
+        StringBuilder lines = new StringBuilder();
+        for (OutboxMessage message : messages) {
+            ObjectNode line = objectMapper.createObjectNode()
+                    .put("id", message.getId())
+                    .put("type", message.getEventType())
+                    .put("bookingId", message.getBookingId())
+                    .put("createdAt", message.getCreatedAt().toString());
+            line.putRawValue("booking", new RawValue(message.getPayload()));
+            lines.append(objectMapper.writeValueAsString(line)).append(LINE_SEPARATOR);
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.acmelabinc.roombook.outbox;
+
+import com.acmelabinc.roombook.entities.OutboxMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps every delivered message in memory, without bound; meant for tests and load tests.
+ */
+@Component
+@ConditionalOnProperty(name = "roombook.outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxMessage> messages = new ArrayList<>();
+
+    @Override
+    public synchronized void deliver(List<OutboxMessage> messages) {
+        this.messages.addAll(messages);
+    }
+
+    public synchronized List<OutboxMessage> getMessages() {
+        return List.copyOf(messages);
+    }
+
+    public synchronized void clear() {
+        messages.clear();
+    }
+}
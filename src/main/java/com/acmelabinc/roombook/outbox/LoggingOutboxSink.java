@@ -0,0 +1,32 @@
+package com.acmelabinc.roombook.outbox;
+
+import com.acmelabinc.roombook.entities.OutboxMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.acmelabinc.roombook.logging.SamplingTurboFilter.SAMPLED;
+
+/**
+ * Logs every delivered message. It is the default sink, so an instance without a configured destination neither
+ * writes files nor keeps messages in memory. Like other per-booking logs, the INFO line is sampled and only names the
+ * message and its booking; payloads carry employee emails and are only logged at DEBUG.
+ */
+@Component
+@ConditionalOnProperty(name = "roombook.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxSink {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Override
+    public void deliver(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            logger.info(SAMPLED, "Outbox message {} {} for booking {}", message.getId(), message.getEventType(),
+                    message.getBookingId());
+            logger.debug("Outbox message {} payload: {}", message.getId(), message.getPayload());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.acmelabinc.roombook.outbox;
+
+import com.acmelabinc.roombook.entities.OutboxMessage;
+import com.acmelabinc.roombook.repositories.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drains the {@code outbox} table into the {@link OutboxSink} every {@code roombook.outbox.poll-interval}, in batches
+ * of {@code roombook.outbox.batch-size}. Each batch is locked with {@code FOR UPDATE SKIP LOCKED}, delivered and
+ * deleted in one transaction, so relays on several instances share the backlog without delivering a message twice
+ * unless a delivery fails halfway. Batches are taken in id order, but ids are allocated in blocks and transactions
+ * commit out of order, so delivery order is only approximate; consumers order by booking id and event type.
+ * <p>
+ * Delivered messages are counted as {@code roombook.outbox.relayed}, and {@code roombook.outbox.lag} times how long
+ * each waited in the table.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "roombook.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final String RELAYED = "roombook.outbox.relayed";
+    private static final String LAG = "roombook.outbox.lag";
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter relayed;
+    private final Timer lag;
+
+    @Autowired
+    public OutboxRelay(OutboxRepository outboxRepository, OutboxSink outboxSink,
+                       TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                       @Value("${roombook.outbox.batch-size:500}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.relayed = Counter.builder(RELAYED)
+                .description("Booking events delivered from the outbox")
+                .register(meterRegistry);
+        this.lag = Timer.builder(LAG)
+                .description("Time from writing a booking event to the outbox to delivering it")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the number of messages delivered
+     */
+    @Scheduled(fixedDelayString = "${roombook.outbox.poll-interval:PT1S}")
+    public int relay() {
+
+        int delivered = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> relayBatch());
+            delivered += batch;
+        } while (batch == batchSize);
+
+        if (delivered > 0) {
+            logger.debug("Relayed {} booking events from the outbox", delivered);
+        }
+        return delivered;
+    }
+
+    private int relayBatch() {
+
+        List<OutboxMessage> messages = outboxRepository.lockNextBatch(batchSize);
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            outboxSink.deliver(messages);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        outboxRepository.deleteAllByIdIn(messages.stream().map(OutboxMessage::getId).toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        messages.forEach(message -> lag.record(Duration.between(message.getCreatedAt(), now)));
+        relayed.increment(messages.size());
+        return messages.size();
+    }
+}
@@ -0,0 +1,17 @@
+package com.acmelabinc.roombook.outbox;
+
+import com.acmelabinc.roombook.entities.OutboxMessage;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Where {@link OutboxRelay} delivers booking events. A batch is delivered inside the transaction that holds its rows
+ * locked, and the rows are deleted only if delivery returns normally; a sink that throws gets the same batch again on
+ * the next run. Delivery is therefore at least once, and downstream systems should ignore message ids they have seen.
+ * The sink is picked with {@code roombook.outbox.sink}: {@code log}, the default, {@code file} or {@code memory}.
+ */
+public interface OutboxSink {
+
+    void deliver(List<OutboxMessage> messages) throws IOException;
+}
@@ -0,0 +1,61 @@
+package com.acmelabinc.roombook.outbox;
+
+import com.acmelabinc.roombook.dtos.BookingResponseDto;
+import com.acmelabinc.roombook.events.BookingEvent;
+import com.acmelabinc.roombook.repositories.ReactiveOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * {@link BookingOutbox} for the {@code reactive} profile. Callers subscribe to the returned {@link Mono} within the
+ * {@code TransactionalOperator} transaction that writes the booking, so the row commits or rolls back with it, and
+ * {@link ReactiveOutboxRelay} delivers it afterwards. Nothing is recorded while {@code roombook.outbox.enabled} is false.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveBookingOutbox {
+
+    private final ReactiveOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    @Autowired
+    public ReactiveBookingOutbox(ReactiveOutboxRepository outboxRepository, ObjectMapper objectMapper,
+                                 @Value("${roombook.outbox.enabled:true}") boolean enabled) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    public Mono<Void> append(BookingEvent.Type type, BookingResponseDto booking) {
+
+        if (!enabled) {
+            return Mono.empty();
+        }
+
+        return Mono.defer(() -> outboxRepository.insert(type.getEventName(), booking.getId(), toPayload(booking),
+                LocalDateTime.now()));
+    }
+
+    public Mono<Void> appendAll(BookingEvent.Type type, List<BookingResponseDto> bookings) {
+        return Flux.fromIterable(bookings).concatMap(booking -> append(type, booking)).then();
+    }
+
+    private String toPayload(BookingResponseDto booking) {
+        try {
+            return objectMapper.writeValueAsString(booking);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
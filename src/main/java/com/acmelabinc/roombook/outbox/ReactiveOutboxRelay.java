@@ -0,0 +1,108 @@
+package com.acmelabinc.roombook.outbox;
+
+import com.acmelabinc.roombook.entities.OutboxMessage;
+import com.acmelabinc.roombook.repositories.ReactiveOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * {@link OutboxRelay} for the {@code reactive} profile, over R2DBC. Batches are locked, delivered and deleted the same
+ * way and count towards the same meters. The relay runs on the scheduler thread and waits for each batch, and sinks
+ * are handed the batch on a thread that may block, never on an event loop.
+ */
+@Component
+@Profile("reactive")
+@ConditionalOnProperty(name = "roombook.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveOutboxRelay {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final String RELAYED = "roombook.outbox.relayed";
+    private static final String LAG = "roombook.outbox.lag";
+
+    private final ReactiveOutboxRepository outboxRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionalOperator transactionalOperator;
+    private final int batchSize;
+    private final Counter relayed;
+    private final Timer lag;
+
+    @Autowired
+    public ReactiveOutboxRelay(ReactiveOutboxRepository outboxRepository, OutboxSink outboxSink,
+                               TransactionalOperator transactionalOperator, MeterRegistry meterRegistry,
+                               @Value("${roombook.outbox.batch-size:500}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.outboxSink = outboxSink;
+        this.transactionalOperator = transactionalOperator;
+        this.batchSize = batchSize;
+        this.relayed = Counter.builder(RELAYED)
+                .description("Booking events delivered from the outbox")
+                .register(meterRegistry);
+        this.lag = Timer.builder(LAG)
+                .description("Time from writing a booking event to the outbox to delivering it")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the number of messages delivered
+     */
+    @Scheduled(fixedDelayString = "${roombook.outbox.poll-interval:PT1S}")
+    public int relay() {
+
+        int delivered = 0;
+        int batch;
+        do {
+            batch = relayBatch().as(transactionalOperator::transactional).blockOptional().orElse(0);
+            delivered += batch;
+        } while (batch == batchSize);
+
+        if (delivered > 0) {
+            logger.debug("Relayed {} booking events from the outbox", delivered);
+        }
+        return delivered;
+    }
+
+    private Mono<Integer> relayBatch() {
+
+        return outboxRepository.lockNextBatch(batchSize)
+                .collectList()
+                .filter(messages -> !messages.isEmpty())
+                .publishOn(Schedulers.boundedElastic())
+                .flatMap(messages -> {
+                    try {
+                        outboxSink.deliver(messages);
+                    } catch (IOException e) {
+                        return Mono.error(new UncheckedIOException(e));
+                    }
+                    return outboxRepository.deleteAllByIdIn(messages.stream().map(OutboxMessage::getId).toList())
+                            .thenReturn(messages);
+                })
+                .map(this::record);
+    }
+
+    private int record(List<OutboxMessage> messages) {
+
+        LocalDateTime now = LocalDateTime.now();
+        messages.forEach(message -> lag.record(Duration.between(message.getCreatedAt(), now)));
+        relayed.increment(messages.size());
+        return messages.size();
+    }
+}
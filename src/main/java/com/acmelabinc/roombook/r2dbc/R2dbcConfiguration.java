@@ -0,0 +1,27 @@
+package com.acmelabinc.roombook.r2dbc;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Wiring for the {@code reactive} profile. Tomcat is on the classpath for the servlet stack and would otherwise be
+ * picked for WebFlux too, so Netty is selected explicitly.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+public class R2dbcConfiguration {
+
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    TransactionalOperator transactionalOperator(ReactiveTransactionManager reactiveTransactionManager) {
+        return TransactionalOperator.create(reactiveTransactionManager);
+    }
+}
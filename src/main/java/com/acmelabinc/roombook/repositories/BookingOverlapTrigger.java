@@ -0,0 +1,84 @@
+package com.acmelabinc.roombook.repositories;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * H2 approximation of the PostgreSQL {@code booking_no_overlap} exclusion constraint. Rejects an active booking row
+ * that overlaps another active booking of the same room on the same day, using the same SQL state and constraint name
+ * as PostgreSQL. Cancelled rows are ignored on both sides, like the constraint's {@code WHERE} clause.
+ * <p>
+ * Unlike the exclusion constraint, this is not race-safe: the trigger's query is an ordinary MVCC read and cannot see
+ * rows that concurrent transactions have inserted but not yet committed, so two overlapping inserts running at the
+ * same time can both commit. On H2, bookings stay free of overlaps under concurrency only because writers are
+ * serialized per room and day by {@code BookingAdmission}; the trigger catches overlaps with committed rows only.
+ */
+public class BookingOverlapTrigger implements Trigger {
+
+    public static final String CONSTRAINT_NAME = "booking_no_overlap";
+
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final String OVERLAP_QUERY = "SELECT 1 FROM booking WHERE room_id = ? AND booking_date = ? " +
+            "AND start_time < ? AND end_time > ? AND cancelled_at IS NULL";
+
+    private int idColumn;
+    private int roomIdColumn;
+    private int bookingDateColumn;
+    private int startTimeColumn;
+    private int endTimeColumn;
+    private int cancelledAtColumn;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName, boolean before,
+                     int type) throws SQLException {
+
+        DatabaseMetaData metaData = conn.getMetaData();
+        try (ResultSet columns = metaData.getColumns(null, schemaName, tableName, null)) {
+            while (columns.next()) {
+                int index = columns.getInt("ORDINAL_POSITION") - 1;
+                switch (columns.getString("COLUMN_NAME").toLowerCase()) {
+                    case "id" -> idColumn = index;
+                    case "room_id" -> roomIdColumn = index;
+                    case "booking_date" -> bookingDateColumn = index;
+                    case "start_time" -> startTimeColumn = index;
+                    case "end_time" -> endTimeColumn = index;
+                    case "cancelled_at" -> cancelledAtColumn = index;
+                    default -> {
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+
+        if (newRow[cancelledAtColumn] != null) {
+            return;
+        }
+
+        Object id = newRow[idColumn];
+        String query = id == null ? OVERLAP_QUERY : OVERLAP_QUERY + " AND id <> ?";
+
+        try (PreparedStatement statement = conn.prepareStatement(query)) {
+            statement.setObject(1, newRow[roomIdColumn]);
+            statement.setObject(2, newRow[bookingDateColumn]);
+            statement.setObject(3, newRow[endTimeColumn]);
+            statement.setObject(4, newRow[startTimeColumn]);
+            if (id != null) {
+                statement.setObject(5, id);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    throw new SQLException("Booking violates exclusion constraint \"" + CONSTRAINT_NAME + "\"",
+                            EXCLUSION_VIOLATION);
+                }
+            }
+        }
+    }
+}
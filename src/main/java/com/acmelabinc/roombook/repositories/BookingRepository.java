@@ -1,18 +1,136 @@
 package com.acmelabinc.roombook.repositories;
 
+import com.acmelabinc.roombook.availability.BookingSlot;
+import com.acmelabinc.roombook.dtos.BookingResponseDto;
 import com.acmelabinc.roombook.entities.Booking;
 import com.acmelabinc.roombook.entities.Room;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * On PostgreSQL {@code booking} is partitioned by month of {@code booking_date}, so every query that only needs some
+ * days states them as a predicate on {@code bookingDate} that the planner can prune partitions with: an equality, an
+ * {@code in} list, or a lower bound leading the keyset cursor.
+ */
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    Page<Booking> findByRoomAndBookingDate(Room room, LocalDate date, Pageable pageable);
-    Boolean existsByRoomAndBookingDateAndStartTimeLessThanAndEndTimeGreaterThan(Room room, LocalDate bookingDate, LocalTime startTime, LocalTime endTime);
+    String SELECT_RESPONSE = "select new com.acmelabinc.roombook.dtos.BookingResponseDto(b.id, r.name, e.email, " +
+            "b.bookingDate, b.startTime, b.endTime) from Booking b join b.room r join b.employee e ";
+    String AFTER_CURSOR = "b.bookingDate >= :date and (b.bookingDate > :date or (b.bookingDate = :date " +
+            "and (b.startTime > :startTime or (b.startTime = :startTime and b.id > :id)))) ";
+    String SEEK_ORDER = "order by b.bookingDate, b.startTime, b.id";
+    String ACTIVE = "b.cancelledAt is null ";
+
+    @Query(value = SELECT_RESPONSE + "where " + ACTIVE, countQuery = "select count(b) from Booking b where " + ACTIVE)
+    Page<BookingResponseDto> findAllResponses(Pageable pageable);
+
+    @Query(value = SELECT_RESPONSE + "where b.room = :room and b.bookingDate = :date and " + ACTIVE,
+            countQuery = "select count(b) from Booking b where b.room = :room and b.bookingDate = :date and " + ACTIVE)
+    Page<BookingResponseDto> findResponsesByRoomAndBookingDate(@Param("room") Room room, @Param("date") LocalDate date,
+                                                               Pageable pageable);
+
+    @Query(SELECT_RESPONSE + "where " + ACTIVE + SEEK_ORDER)
+    List<BookingResponseDto> findFirstResponses(Limit limit);
+
+    @Query(SELECT_RESPONSE + "where " + ACTIVE + "and " + AFTER_CURSOR + SEEK_ORDER)
+    List<BookingResponseDto> findResponsesAfter(@Param("date") LocalDate date, @Param("startTime") LocalTime startTime,
+                                                @Param("id") Long id, Limit limit);
+
+    @Query(SELECT_RESPONSE + "where b.employee.id = :employeeId and b.bookingDate between :from and :to and " +
+            ACTIVE + SEEK_ORDER)
+    List<BookingResponseDto> findFirstResponsesByEmployee(@Param("employeeId") Long employeeId,
+                                                          @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                          Limit limit);
+
+    @Query(SELECT_RESPONSE + "where b.employee.id = :employeeId and b.bookingDate between :from and :to and " +
+            ACTIVE + "and " + AFTER_CURSOR + SEEK_ORDER)
+    List<BookingResponseDto> findResponsesByEmployeeAfter(@Param("employeeId") Long employeeId,
+                                                          @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                          @Param("date") LocalDate date,
+                                                          @Param("startTime") LocalTime startTime,
+                                                          @Param("id") Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_RESPONSE + "where " + ACTIVE + SEEK_ORDER)
+    Stream<BookingResponseDto> streamAllResponses();
+
+    @Query(SELECT_RESPONSE + "where b.room = :room and b.bookingDate = :bookingDate and " + ACTIVE + SEEK_ORDER)
+    List<BookingResponseDto> findFirstResponsesByRoomAndBookingDate(@Param("room") Room room,
+                                                                    @Param("bookingDate") LocalDate bookingDate,
+                                                                    Limit limit);
+
+    @Query(SELECT_RESPONSE + "where b.room = :room and b.bookingDate = :bookingDate and " + ACTIVE + "and " +
+            AFTER_CURSOR + SEEK_ORDER)
+    List<BookingResponseDto> findResponsesByRoomAndBookingDateAfter(@Param("room") Room room,
+                                                                    @Param("bookingDate") LocalDate bookingDate,
+                                                                    @Param("date") LocalDate date,
+                                                                    @Param("startTime") LocalTime startTime,
+                                                                    @Param("id") Long id, Limit limit);
+
+    @Query("select new com.acmelabinc.roombook.availability.BookingSlot(b.room.id, b.bookingDate, b.startTime, b.endTime) " +
+            "from Booking b where b.bookingDate >= :from and " + ACTIVE)
+    List<BookingSlot> findSlotsFrom(@Param("from") LocalDate from);
+
+    @Query("select new com.acmelabinc.roombook.availability.BookingSlot(b.room.id, b.bookingDate, b.startTime, b.endTime) " +
+            "from Booking b where b.room.id in :roomIds and b.bookingDate in :dates and " + ACTIVE)
+    List<BookingSlot> findSlotsIn(@Param("roomIds") Collection<Long> roomIds, @Param("dates") Collection<LocalDate> dates);
+
+    /**
+     * One range scan of the room's active-booking index over all days of a recurring booking, however many dates it
+     * has.
+     */
+    @Query("select new com.acmelabinc.roombook.availability.BookingSlot(b.room.id, b.bookingDate, b.startTime, b.endTime) " +
+            "from Booking b where b.room.id = :roomId and b.bookingDate between :from and :to and " + ACTIVE)
+    List<BookingSlot> findSlotsBetween(@Param("roomId") Long roomId, @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+
+    /**
+     * All rooms' active bookings on the days of a room search, as one range over the booking date.
+     */
+    @Query("select new com.acmelabinc.roombook.availability.BookingSlot(b.room.id, b.bookingDate, b.startTime, b.endTime) " +
+            "from Booking b where b.bookingDate between :from and :to and " + ACTIVE)
+    List<BookingSlot> findAllSlotsBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Marks the booking as cancelled, unless it already is. The booking date only narrows the update to one partition.
+     *
+     * @return the number of bookings cancelled, 0 or 1
+     */
+    @Modifying
+    @Query("update Booking b set b.cancelledAt = :cancelledAt where b.id = :id and b.bookingDate = :bookingDate and " +
+            ACTIVE)
+    int cancel(@Param("id") Long id, @Param("bookingDate") LocalDate bookingDate,
+               @Param("cancelledAt") LocalDateTime cancelledAt);
+
+    @Query("select b.id from Booking b where b.cancelledAt < :cancelledBefore " +
+            "or (" + ACTIVE + "and b.bookingDate < :bookedBefore) order by b.id")
+    List<Long> findArchivableIds(@Param("cancelledBefore") LocalDateTime cancelledBefore,
+                                 @Param("bookedBefore") LocalDate bookedBefore, Limit limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO booking_archive (id, room_id, employee_id, booking_date, start_time, end_time, " +
+            "created_at, updated_at, cancelled_at) SELECT id, room_id, employee_id, booking_date, start_time, " +
+            "end_time, created_at, updated_at, cancelled_at FROM booking WHERE id IN :ids", nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from Booking b where b.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -2,12 +2,21 @@ package com.acmelabinc.roombook.repositories;
 
 import com.acmelabinc.roombook.entities.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     Optional<Employee> findByEmail(String email);
+
+    List<Employee> findByEmailIn(Collection<String> emails);
+
+    @Query("select e.id from Employee e where e.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
 }
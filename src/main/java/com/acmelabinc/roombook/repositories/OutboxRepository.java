@@ -0,0 +1,26 @@
+package com.acmelabinc.roombook.repositories;
+
+import com.acmelabinc.roombook.entities.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Locks the oldest messages no other transaction has locked, so that relays on several instances take disjoint
+     * batches instead of waiting for each other.
+     */
+    @Query(value = "SELECT * FROM outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMessage> lockNextBatch(@Param("limit") int limit);
+
+    @Modifying
+    @Query("delete from OutboxMessage m where m.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,233 @@
+package com.acmelabinc.roombook.repositories;
+
+import com.acmelabinc.roombook.dtos.BookingResponseDto;
+import com.acmelabinc.roombook.exceptions.BadRequestException;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking counterpart of {@link BookingRepository} for the {@code reactive} profile, written against the same
+ * schema with plain SQL so that it runs unchanged on PostgreSQL and H2.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveBookingRepository {
+
+    private static final String SELECT_RESPONSE = "SELECT b.id, r.name, e.email, b.booking_date, b.start_time, " +
+            "b.end_time FROM booking b JOIN room r ON r.id = b.room_id JOIN employee e ON e.id = b.employee_id ";
+    private static final String ACTIVE = "b.cancelled_at IS NULL ";
+    private static final String BY_ROOM_AND_DATE = "b.room_id = :roomId AND b.booking_date = :bookingDate AND " + ACTIVE;
+    private static final String AFTER_CURSOR = "b.booking_date >= :date AND (b.booking_date > :date OR " +
+            "(b.booking_date = :date AND (b.start_time > :startTime OR (b.start_time = :startTime AND b.id > :id)))) ";
+    private static final String SEEK_ORDER = "ORDER BY b.booking_date, b.start_time, b.id ";
+    private static final String INSERT_IF_FREE = "INSERT INTO booking (room_id, employee_id, booking_date, start_time, " +
+            "end_time) SELECT r.id, e.id, :bookingDate, :startTime, :endTime FROM room r, employee e " +
+            "WHERE r.name = :roomName AND e.email = :employeeEmail AND NOT EXISTS (SELECT 1 FROM booking b " +
+            "WHERE b.room_id = r.id AND b.booking_date = :bookingDate AND b.start_time < :endTime " +
+            "AND b.end_time > :startTime AND " + ACTIVE + ")";
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "b.id",
+            "room", "r.name",
+            "bookedBy", "e.email",
+            "bookingDate", "b.booking_date",
+            "startTime", "b.start_time",
+            "endTime", "b.end_time");
+    private static final String INVALID_SORT = "Bookings cannot be sorted by ";
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveBookingRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<BookingResponseDto> findAllResponses(Pageable pageable) {
+        return databaseClient.sql(SELECT_RESPONSE + "WHERE " + ACTIVE + orderBy(pageable.getSort()) + page(pageable))
+                .map(ReactiveBookingRepository::toResponse)
+                .all();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) FROM booking b WHERE " + ACTIVE)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Flux<BookingResponseDto> findResponsesByRoomAndBookingDate(Long roomId, LocalDate bookingDate,
+                                                                      Pageable pageable) {
+        return databaseClient.sql(SELECT_RESPONSE + "WHERE " + BY_ROOM_AND_DATE + orderBy(pageable.getSort()) +
+                        page(pageable))
+                .bind("roomId", roomId)
+                .bind("bookingDate", bookingDate)
+                .map(ReactiveBookingRepository::toResponse)
+                .all();
+    }
+
+    public Mono<Long> countByRoomAndBookingDate(Long roomId, LocalDate bookingDate) {
+        return databaseClient.sql("SELECT COUNT(*) FROM booking b WHERE " + BY_ROOM_AND_DATE)
+                .bind("roomId", roomId)
+                .bind("bookingDate", bookingDate)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Flux<BookingResponseDto> findFirstResponses(int limit) {
+        return databaseClient.sql(SELECT_RESPONSE + "WHERE " + ACTIVE + SEEK_ORDER + "LIMIT :limit")
+                .bind("limit", limit)
+                .map(ReactiveBookingRepository::toResponse)
+                .all();
+    }
+
+    public Flux<BookingResponseDto> findResponsesAfter(LocalDate date, LocalTime startTime, Long id, int limit) {
+        return databaseClient.sql(SELECT_RESPONSE + "WHERE " + ACTIVE + "AND " + AFTER_CURSOR + SEEK_ORDER +
+                        "LIMIT :limit")
+                .bind("date", date)
+                .bind("startTime", startTime)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveBookingRepository::toResponse)
+                .all();
+    }
+
+    public Flux<BookingResponseDto> findFirstResponsesByRoomAndBookingDate(Long roomId, LocalDate bookingDate,
+                                                                           int limit) {
+        return databaseClient.sql(SELECT_RESPONSE + "WHERE " + BY_ROOM_AND_DATE + SEEK_ORDER + "LIMIT :limit")
+                .bind("roomId", roomId)
+                .bind("bookingDate", bookingDate)
+                .bind("limit", limit)
+                .map(ReactiveBookingRepository::toResponse)
+                .all();
+    }
+
+    public Flux<BookingResponseDto> findResponsesByRoomAndBookingDateAfter(Long roomId, LocalDate bookingDate,
+                                                                           LocalDate date, LocalTime startTime,
+                                                                           Long id, int limit) {
+        return databaseClient.sql(SELECT_RESPONSE + "WHERE " + BY_ROOM_AND_DATE + "AND " + AFTER_CURSOR + SEEK_ORDER +
+                        "LIMIT :limit")
+                .bind("roomId", roomId)
+                .bind("bookingDate", bookingDate)
+                .bind("date", date)
+                .bind("startTime", startTime)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveBookingRepository::toResponse)
+                .all();
+    }
+
+    public Flux<BookingResponseDto> streamAllResponses() {
+        return databaseClient.sql(SELECT_RESPONSE + "WHERE " + ACTIVE + SEEK_ORDER)
+                .map(ReactiveBookingRepository::toResponse)
+                .all();
+    }
+
+    public Mono<BookingResponseDto> findResponseById(Long id) {
+        return databaseClient.sql(SELECT_RESPONSE + "WHERE b.id = :id AND " + ACTIVE)
+                .bind("id", id)
+                .map(ReactiveBookingRepository::toResponse)
+                .one();
+    }
+
+    /**
+     * Marks the booking as cancelled, unless it already is. The booking date only narrows the update to one partition.
+     *
+     * @return the number of bookings cancelled, 0 or 1
+     */
+    public Mono<Long> cancel(Long id, LocalDate bookingDate, LocalDateTime cancelledAt) {
+        return databaseClient.sql("UPDATE booking b SET cancelled_at = :cancelledAt WHERE id = :id " +
+                        "AND booking_date = :bookingDate AND " + ACTIVE)
+                .bind("id", id)
+                .bind("bookingDate", bookingDate)
+                .bind("cancelledAt", cancelledAt)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> findRoomId(String name) {
+        return databaseClient.sql("SELECT id FROM room WHERE name = :name")
+                .bind("name", name)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    public Mono<Long> findEmployeeId(String email) {
+        return databaseClient.sql("SELECT id FROM employee WHERE email = :email")
+                .bind("email", email)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    /**
+     * Locks the rows of the named rooms until the current transaction ends, in id order so that two transactions
+     * locking several rooms cannot deadlock. Writers for the same room queue up here, so the overlap check of
+     * {@link #insertIfFree} always sees the bookings committed by the writer before.
+     */
+    public Mono<Void> lockRooms(Collection<String> names) {
+        return databaseClient.sql("SELECT id FROM room WHERE name IN (:names) ORDER BY id FOR UPDATE")
+                .bind("names", names)
+                .map(row -> row.get("id", Long.class))
+                .all()
+                .then();
+    }
+
+    /**
+     * Inserts the booking in one round trip, provided the room and employee exist and the room is free for the whole
+     * interval. The overlap check is a plain read that cannot see uncommitted rows, so callers lock the room with
+     * {@link #lockRooms} in the same transaction first. On PostgreSQL the {@code booking_no_overlap} constraint would
+     * also reject a concurrent overlap; on H2 the lock is all that prevents one.
+     *
+     * @return the id of the new booking, or empty if nothing was inserted
+     */
+    public Mono<Long> insertIfFree(String roomName, String employeeEmail, LocalDate bookingDate, LocalTime startTime,
+                                   LocalTime endTime) {
+        return databaseClient.sql(INSERT_IF_FREE)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("roomName", roomName)
+                .bind("employeeEmail", employeeEmail)
+                .bind("bookingDate", bookingDate)
+                .bind("startTime", startTime)
+                .bind("endTime", endTime)
+                .map(row -> row.get("id", Long.class))
+                .first();
+    }
+
+    private static String orderBy(Sort sort) {
+
+        if (sort.isUnsorted()) {
+            return "";
+        }
+
+        return sort.stream()
+                .map(order -> {
+                    String column = SORT_COLUMNS.get(order.getProperty());
+                    if (column == null) {
+                        throw new BadRequestException(INVALID_SORT + order.getProperty());
+                    }
+                    return column + " " + order.getDirection().name();
+                })
+                .collect(Collectors.joining(", ", "ORDER BY ", " "));
+    }
+
+    private static String page(Pageable pageable) {
+        return pageable.isPaged() ? "LIMIT " + pageable.getPageSize() + " OFFSET " + pageable.getOffset() : "";
+    }
+
+    private static BookingResponseDto toResponse(Readable row) {
+        return new BookingResponseDto(row.get("id", Long.class), row.get("name", String.class),
+                row.get("email", String.class), row.get("booking_date", LocalDate.class),
+                row.get("start_time", LocalTime.class), row.get("end_time", LocalTime.class));
+    }
+}
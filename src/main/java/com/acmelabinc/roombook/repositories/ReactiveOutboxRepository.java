@@ -0,0 +1,64 @@
+package com.acmelabinc.roombook.repositories;
+
+import com.acmelabinc.roombook.entities.OutboxMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Non-blocking counterpart of {@link OutboxRepository} for the {@code reactive} profile. Inserted rows take their id
+ * from the column default, which draws from {@code outbox_seq} like Hibernate does.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveOutboxRepository {
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveOutboxRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Void> insert(String eventType, Long bookingId, String payload, LocalDateTime createdAt) {
+        return databaseClient.sql("INSERT INTO outbox (event_type, booking_id, payload, created_at) " +
+                        "VALUES (:eventType, :bookingId, :payload, :createdAt)")
+                .bind("eventType", eventType)
+                .bind("bookingId", bookingId)
+                .bind("payload", payload)
+                .bind("createdAt", createdAt)
+                .then();
+    }
+
+    /**
+     * See {@link OutboxRepository#lockNextBatch}.
+     */
+    public Flux<OutboxMessage> lockNextBatch(int limit) {
+        return databaseClient.sql("SELECT id, event_type, booking_id, payload, created_at FROM outbox " +
+                        "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED")
+                .bind("limit", limit)
+                .map(row -> new OutboxMessage(row.get("id", Long.class), row.get("event_type", String.class),
+                        row.get("booking_id", Long.class), row.get("payload", String.class),
+                        row.get("created_at", LocalDateTime.class)))
+                .all();
+    }
+
+    public Mono<Long> deleteAllByIdIn(Collection<Long> ids) {
+        return databaseClient.sql("DELETE FROM outbox WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) FROM outbox")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+}
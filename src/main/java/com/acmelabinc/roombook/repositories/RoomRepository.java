@@ -2,12 +2,21 @@ package com.acmelabinc.roombook.repositories;
 
 import com.acmelabinc.roombook.entities.Room;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
     Optional<Room> findByName(String name);
+
+    List<Room> findByNameIn(Collection<String> names);
+
+    @Query("select r.id from Room r where r.name = :name")
+    Optional<Long> findIdByName(@Param("name") String name);
 }
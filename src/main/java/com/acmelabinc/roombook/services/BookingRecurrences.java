@@ -0,0 +1,60 @@
+package com.acmelabinc.roombook.services;
+
+import com.acmelabinc.roombook.dtos.RecurringBookingRequestDto;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Expands a {@link RecurringBookingRequestDto} into the dates of its bookings.
+ */
+final class BookingRecurrences {
+
+    private BookingRecurrences() {
+    }
+
+    /**
+     * @return the booking dates in ascending order, starting with the first booking's date
+     */
+    static List<LocalDate> expand(RecurringBookingRequestDto recurringRequestDto) {
+
+        BookingValidation.validateRecurrence(recurringRequestDto);
+
+        long occurrences = count(recurringRequestDto);
+        List<LocalDate> dates = new ArrayList<>((int) occurrences);
+        for (long occurrence = 0; occurrence < occurrences; occurrence++) {
+            dates.add(dateOf(recurringRequestDto, occurrence));
+        }
+        return dates;
+    }
+
+    /**
+     * @return the number of bookings in the series, without expanding it
+     */
+    static long count(RecurringBookingRequestDto recurringRequestDto) {
+
+        if (recurringRequestDto.getOccurrences() != null) {
+            return recurringRequestDto.getOccurrences();
+        }
+        LocalDate first = recurringRequestDto.getBookingDate();
+        return unit(recurringRequestDto).between(first, recurringRequestDto.getUntil())
+                / recurringRequestDto.getInterval() + 1;
+    }
+
+    /**
+     * @return the date of the booking {@code occurrence} intervals after the first one
+     */
+    static LocalDate dateOf(RecurringBookingRequestDto recurringRequestDto, long occurrence) {
+        return recurringRequestDto.getBookingDate()
+                .plus(occurrence * recurringRequestDto.getInterval(), unit(recurringRequestDto));
+    }
+
+    private static ChronoUnit unit(RecurringBookingRequestDto recurringRequestDto) {
+        return switch (recurringRequestDto.getRecurrence()) {
+            case DAILY -> ChronoUnit.DAYS;
+            case WEEKLY -> ChronoUnit.WEEKS;
+        };
+    }
+}
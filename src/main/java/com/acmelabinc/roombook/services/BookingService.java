@@ -1,18 +1,33 @@
 package com.acmelabinc.roombook.services;
 
+import com.acmelabinc.roombook.converters.BookingExportFormat;
+import com.acmelabinc.roombook.dtos.BookingBulkResultDto;
 import com.acmelabinc.roombook.dtos.BookingRequestDto;
 import com.acmelabinc.roombook.dtos.BookingResponseDto;
+import com.acmelabinc.roombook.dtos.BookingSliceDto;
+import com.acmelabinc.roombook.dtos.RecurringBookingRequestDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.List;
 
 @Service
 public interface BookingService {
 
     Page<BookingResponseDto> getAll(Pageable pageable);
     Page<BookingResponseDto> getByRoomAndDate(String roomName, LocalDate date, Pageable pageable);
+    String getETag(String roomName, LocalDate date);
+    boolean isSettling(String roomName, LocalDate date);
+    BookingSliceDto getAllAfter(String cursor, int pageSize);
+    BookingSliceDto getByRoomAndDateAfter(String roomName, LocalDate date, String cursor, int pageSize);
+    BookingSliceDto getByEmployeeAfter(String employeeEmail, LocalDate from, LocalDate to, String cursor, int pageSize);
+    void exportAll(BookingExportFormat format, OutputStream outputStream) throws IOException;
     BookingResponseDto save(BookingRequestDto bookingRequestDto);
+    List<BookingBulkResultDto> saveAll(List<BookingRequestDto> bookingRequestDtos);
+    List<BookingResponseDto> saveRecurring(RecurringBookingRequestDto recurringRequestDto);
     String cancel(Long id);
 }
@@ -1,171 +1,650 @@
 package com.acmelabinc.roombook.services;
 
+import com.acmelabinc.roombook.availability.BookingAdmission;
+import com.acmelabinc.roombook.availability.BookingIntervalIndex;
+import com.acmelabinc.roombook.availability.BookingSlot;
+import com.acmelabinc.roombook.availability.RoomDay;
+import com.acmelabinc.roombook.availability.RoomDayOccupancy;
+import com.acmelabinc.roombook.availability.RoomDayVersions;
+import com.acmelabinc.roombook.compaction.BookingRetention;
 import com.acmelabinc.roombook.converters.BookingConverter;
+import com.acmelabinc.roombook.converters.BookingCursor;
+import com.acmelabinc.roombook.converters.BookingExportFormat;
+import com.acmelabinc.roombook.dtos.BookingBulkResultDto;
 import com.acmelabinc.roombook.dtos.BookingRequestDto;
 import com.acmelabinc.roombook.dtos.BookingResponseDto;
+import com.acmelabinc.roombook.dtos.BookingSliceDto;
+import com.acmelabinc.roombook.dtos.RecurringBookingRequestDto;
 import com.acmelabinc.roombook.entities.Booking;
 import com.acmelabinc.roombook.entities.Employee;
 import com.acmelabinc.roombook.entities.Room;
+import com.acmelabinc.roombook.events.BookingEvent;
+import com.acmelabinc.roombook.events.BookingEventBus;
 import com.acmelabinc.roombook.exceptions.AlreadyExistsException;
 import com.acmelabinc.roombook.exceptions.BadRequestException;
 import com.acmelabinc.roombook.exceptions.NotFoundException;
+import com.acmelabinc.roombook.metrics.BookingMetrics;
+import com.acmelabinc.roombook.metrics.BookingMetrics.Stage;
+import com.acmelabinc.roombook.outbox.BookingOutbox;
 import com.acmelabinc.roombook.repositories.BookingRepository;
 import com.acmelabinc.roombook.repositories.EmployeeRepository;
 import com.acmelabinc.roombook.repositories.RoomRepository;
-import jakarta.transaction.Transactional;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-
-import java.time.Duration;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.acmelabinc.roombook.logging.SamplingTurboFilter.SAMPLED;
 
 @Service
+@Profile("!reactive")
 public class BookingServiceImpl implements BookingService {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    private static final int HOUR_MINUTES = 60;
+    private static final char LINE_SEPARATOR = '\n';
+    // Open end of the history's date range; a bound keeps the range prunable by partition.
+    private static final LocalDate LAST_HISTORY_DATE = LocalDate.of(9999, 12, 31);
     private static final String BOOKING_CANCELLATION_MSG = "Booking was cancelled successfully.";
     private static final String ROOM_NOT_FOUND = "Room not found: ";
     private static final String EMPLOYEE_NOT_FOUND = "Employee not found: ";
     private static final String BOOKING_NOT_FOUND = "Booking was not found.";
+    private static final String INVALID_DATE_RANGE = "The date range cannot end before it starts.";
+    private static final String HISTORY_NOT_RETAINED = "Booking history only goes back to ";
     private static final String BOOKING_OVERLAP = "This room is already booked for the selected hours or overlaps another booking.";
+    private static final String RECURRING_OVERLAP = "This room is already booked for the selected hours on: ";
     private static final String BOOKING_CANNOT_BE_CANCELED = "This is not a future booking so it cannot be canceled.";
-    private static final String END_BEFORE_START_WARNING = "This booking can only take place in a time machine!";
-    private static final String BOOKING_VALID_DURATION = "Bookings should last at least 1 hour or consecutive multiples of 1 hour (2, 3, 4, ...).";
-    private static final String PAST_DAY_WARNING = "This day is gone forever.";
+    private static final String BOOKING_OVERLAP_CONSTRAINT = "booking_no_overlap";
 
     private final BookingRepository bookingRepository;
     private final RoomRepository roomRepository;
     private final EmployeeRepository employeeRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingAdmission bookingAdmission;
+    private final ObjectMapper objectMapper;
+    private final ReferenceResolver referenceResolver;
+    private final RoomDayOccupancy roomDayOccupancy;
+    private final RoomDayVersions roomDayVersions;
+    private final BookingEventBus bookingEventBus;
+    private final BookingOutbox bookingOutbox;
+    private final BookingMetrics bookingMetrics;
+    private final BookingRetention bookingRetention;
 
     @Autowired
     public BookingServiceImpl(BookingRepository bookingRepository, RoomRepository roomRepository,
-                              EmployeeRepository employeeRepository) {
+                              EmployeeRepository employeeRepository, BookingIntervalIndex bookingIntervalIndex,
+                              BookingAdmission bookingAdmission, ObjectMapper objectMapper,
+                              ReferenceResolver referenceResolver, RoomDayOccupancy roomDayOccupancy,
+                              RoomDayVersions roomDayVersions, BookingEventBus bookingEventBus,
+                              BookingOutbox bookingOutbox, BookingMetrics bookingMetrics,
+                              BookingRetention bookingRetention) {
         this.bookingRepository = bookingRepository;
         this.roomRepository = roomRepository;
         this.employeeRepository = employeeRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.bookingAdmission = bookingAdmission;
+        this.objectMapper = objectMapper;
+        this.referenceResolver = referenceResolver;
+        this.roomDayOccupancy = roomDayOccupancy;
+        this.roomDayVersions = roomDayVersions;
+        this.bookingEventBus = bookingEventBus;
+        this.bookingOutbox = bookingOutbox;
+        this.bookingMetrics = bookingMetrics;
+        this.bookingRetention = bookingRetention;
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<BookingResponseDto> getAll(Pageable pageable) {
 
-        logger.info("Finding all bookings");
+        logger.debug("Finding all bookings");
 
-        Page<Booking> bookingsFromDb = bookingRepository.findAll(pageable);
+        Page<BookingResponseDto> bookingsFromDb = bookingRepository.findAllResponses(pageable);
 
         if (bookingsFromDb.isEmpty()) {
-            logger.info("There are no bookings.");
+            logger.debug("There are no bookings.");
             return new PageImpl<>(Collections.emptyList());
         }
 
-        return buildResponseListPaged(bookingsFromDb, pageable);
+        return bookingsFromDb;
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<BookingResponseDto> getByRoomAndDate(String roomName, LocalDate date, Pageable pageable) {
 
-        logger.info("Searching for bookings in room {} on date {}", roomName, date);
+        logger.debug("Searching for bookings in room {} on date {}", roomName, date);
 
-        Room room = roomRepository.findByName(roomName)
-                .orElseThrow(() -> new NotFoundException(ROOM_NOT_FOUND + roomName));
+        Room room = roomRepository.getReferenceById(referenceResolver.findRoomId(roomName)
+                .orElseThrow(() -> new NotFoundException(ROOM_NOT_FOUND + roomName)));
 
-        Page<Booking> bookingsFromDb = bookingRepository.findByRoomAndBookingDate(room, date, pageable);
+        Page<BookingResponseDto> bookingsFromDb = bookingRepository.findResponsesByRoomAndBookingDate(room, date,
+                pageable);
 
         if (bookingsFromDb.isEmpty()) {
-            logger.info("There are no bookings for room {} on date {}", roomName, date);
+            logger.debug("There are no bookings for room {} on date {}", roomName, date);
             return new PageImpl<>(Collections.emptyList());
         }
 
-        logger.info("Successfully found bookings in room {} on date {}", roomName, date);
-        return buildResponseListPaged(bookingsFromDb, pageable);
+        logger.info(SAMPLED, "Successfully found bookings in room {} on date {}", roomName, date);
+        return bookingsFromDb;
+    }
+
+    @Override
+    public String getETag(String roomName, LocalDate date) {
+
+        Long roomId = referenceResolver.findRoomId(roomName)
+                .orElseThrow(() -> new NotFoundException(ROOM_NOT_FOUND + roomName));
+
+        return roomDayVersions.getETag(roomId, date);
+    }
+
+    @Override
+    public boolean isSettling(String roomName, LocalDate date) {
+
+        Long roomId = referenceResolver.findRoomId(roomName)
+                .orElseThrow(() -> new NotFoundException(ROOM_NOT_FOUND + roomName));
+
+        return roomDayVersions.isSettling(roomId, date);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BookingSliceDto getAllAfter(String cursor, int pageSize) {
+
+        logger.debug("Finding all bookings after cursor {}", cursor);
+
+        BookingValidation.validatePageSize(pageSize);
+
+        Limit limit = Limit.of(pageSize + 1);
+        List<BookingResponseDto> bookingsFromDb;
+        if (cursor == null) {
+            bookingsFromDb = bookingRepository.findFirstResponses(limit);
+        } else {
+            BookingCursor after = BookingCursor.decode(cursor);
+            bookingsFromDb = bookingRepository.findResponsesAfter(after.getBookingDate(), after.getStartTime(),
+                    after.getId(), limit);
+        }
+
+        return buildResponseSlice(bookingsFromDb, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BookingSliceDto getByRoomAndDateAfter(String roomName, LocalDate date, String cursor, int pageSize) {
+
+        logger.debug("Searching for bookings in room {} on date {} after cursor {}", roomName, date, cursor);
+
+        BookingValidation.validatePageSize(pageSize);
+
+        Room room = roomRepository.getReferenceById(referenceResolver.findRoomId(roomName)
+                .orElseThrow(() -> new NotFoundException(ROOM_NOT_FOUND + roomName)));
+
+        Limit limit = Limit.of(pageSize + 1);
+        List<BookingResponseDto> bookingsFromDb;
+        if (cursor == null) {
+            bookingsFromDb = bookingRepository.findFirstResponsesByRoomAndBookingDate(room, date, limit);
+        } else {
+            BookingCursor after = BookingCursor.decode(cursor);
+            bookingsFromDb = bookingRepository.findResponsesByRoomAndBookingDateAfter(room, date,
+                    after.getBookingDate(), after.getStartTime(), after.getId(), limit);
+        }
+
+        return buildResponseSlice(bookingsFromDb, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BookingSliceDto getByEmployeeAfter(String employeeEmail, LocalDate from, LocalDate to, String cursor,
+                                              int pageSize) {
+
+        logger.debug("Searching for bookings of employee {} from {} to {} after cursor {}", employeeEmail, from, to,
+                cursor);
+
+        BookingValidation.validatePageSize(pageSize);
+
+        // Days before the retention window have been moved to booking_archive, which this query does not read.
+        LocalDate firstRetained = bookingRetention.getFirstRetainedDate();
+        if (from != null && from.isBefore(firstRetained) || to != null && to.isBefore(firstRetained)) {
+            throw new BadRequestException(HISTORY_NOT_RETAINED + firstRetained + ".");
+        }
+
+        LocalDate first = from != null ? from : firstRetained;
+        LocalDate last = to != null ? to : LAST_HISTORY_DATE;
+        if (last.isBefore(first)) {
+            throw new BadRequestException(INVALID_DATE_RANGE);
+        }
+
+        Long employeeId = referenceResolver.findEmployeeId(employeeEmail)
+                .orElseThrow(() -> new NotFoundException(EMPLOYEE_NOT_FOUND + employeeEmail));
+
+        Limit limit = Limit.of(pageSize + 1);
+        List<BookingResponseDto> bookingsFromDb;
+        if (cursor == null) {
+            bookingsFromDb = bookingRepository.findFirstResponsesByEmployee(employeeId, first, last, limit);
+        } else {
+            BookingCursor after = BookingCursor.decode(cursor);
+            bookingsFromDb = bookingRepository.findResponsesByEmployeeAfter(employeeId, first, last,
+                    after.getBookingDate(), after.getStartTime(), after.getId(), limit);
+        }
+
+        return buildResponseSlice(bookingsFromDb, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportAll(BookingExportFormat format, OutputStream outputStream) throws IOException {
+
+        logger.info("Exporting all bookings as {}", format);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == BookingExportFormat.CSV) {
+            writer.write(BookingConverter.CSV_HEADER);
+            writer.write(LINE_SEPARATOR);
+        }
+
+        long exported = 0;
+        try (Stream<BookingResponseDto> bookings = bookingRepository.streamAllResponses()) {
+            Iterator<BookingResponseDto> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                BookingResponseDto booking = iterator.next();
+                writer.write(format == BookingExportFormat.CSV ? BookingConverter.toCsv(booking)
+                        : objectMapper.writeValueAsString(booking));
+                writer.write(LINE_SEPARATOR);
+                exported++;
+            }
+        }
+        writer.flush();
+
+        logger.info("Exported {} bookings.", exported);
     }
 
     @Transactional
     @Override
     public BookingResponseDto save(BookingRequestDto bookingRequestDto) {
 
-        logger.info("Saving a new booking in room {} on date {}",
+        logger.debug("Saving a new booking in room {} on date {}",
                 bookingRequestDto.getRoomName(), bookingRequestDto.getBookingDate());
 
-        validateDuration(bookingRequestDto.getBookingDate(), bookingRequestDto.getStartTime(),
-                bookingRequestDto.getEndTime());
+        try {
+            return saveBooking(bookingRequestDto);
+        } catch (AlreadyExistsException | BadRequestException | NotFoundException e) {
+            bookingMetrics.recordRejection(BookingMetrics.SAVE, e.getClass());
+            throw e;
+        }
+    }
 
-        Room room = roomRepository.findByName(bookingRequestDto.getRoomName())
-                .orElseThrow(() -> new NotFoundException(ROOM_NOT_FOUND + bookingRequestDto.getRoomName()));
+    @Transactional
+    @Override
+    public List<BookingBulkResultDto> saveAll(List<BookingRequestDto> bookingRequestDtos) {
+
+        BookingValidation.validateBulkSize(bookingRequestDtos);
+
+        logger.info("Saving {} bookings in bulk", bookingRequestDtos.size());
+
+        Map<String, Room> rooms = roomRepository.findByNameIn(bookingRequestDtos.stream()
+                        .filter(Objects::nonNull)
+                        .map(BookingRequestDto::getRoomName)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Room::getName, Function.identity()));
+
+        Map<String, Employee> employees = employeeRepository.findByEmailIn(bookingRequestDtos.stream()
+                        .filter(Objects::nonNull)
+                        .map(BookingRequestDto::getEmployeeEmail)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Employee::getEmail, Function.identity()));
+
+        BookingBulkResultDto[] results = new BookingBulkResultDto[bookingRequestDtos.size()];
+        Booking[] bookings = new Booking[bookingRequestDtos.size()];
+        for (int i = 0; i < bookingRequestDtos.size(); i++) {
+            try {
+                bookings[i] = resolve(bookingRequestDtos.get(i), rooms, employees);
+            } catch (NotFoundException e) {
+                bookingMetrics.recordRejection(BookingMetrics.BULK, NotFoundException.class);
+                results[i] = new BookingBulkResultDto(i, HttpStatus.NOT_FOUND, e.getMessage(), null);
+            } catch (BadRequestException e) {
+                bookingMetrics.recordRejection(BookingMetrics.BULK, BadRequestException.class);
+                results[i] = new BookingBulkResultDto(i, HttpStatus.BAD_REQUEST, e.getMessage(), null);
+            }
+        }
 
-        Employee employee = employeeRepository.findByEmail(bookingRequestDto.getEmployeeEmail())
-                .orElseThrow(() -> new NotFoundException(EMPLOYEE_NOT_FOUND + bookingRequestDto.getEmployeeEmail()));
+        Set<RoomDay> roomDays = Arrays.stream(bookings)
+                .filter(Objects::nonNull)
+                .map(booking -> new RoomDay(booking.getRoom().getId(), booking.getBookingDate()))
+                .collect(Collectors.toSet());
+        bookingAdmission.admitAll(roomDays);
+        Map<RoomDay, List<BookingSlot>> takenSlots = findTakenSlots(roomDays);
+
+        List<Booking> bookingsToBeSaved = new ArrayList<>();
+        for (int i = 0; i < bookings.length; i++) {
+            if (bookings[i] == null) {
+                continue;
+            }
+            if (reserve(bookings[i], takenSlots)) {
+                bookingsToBeSaved.add(bookings[i]);
+            } else {
+                bookingMetrics.recordRejection(BookingMetrics.BULK, AlreadyExistsException.class);
+                results[i] = new BookingBulkResultDto(i, HttpStatus.CONFLICT, BOOKING_OVERLAP, null);
+                bookings[i] = null;
+            }
+        }
 
-        validateNoOverlap(bookingRequestDto, room);
+        insertAll(bookingsToBeSaved);
+        bookingsToBeSaved.stream()
+                .map(booking -> new RoomDay(booking.getRoom().getId(), booking.getBookingDate()))
+                .distinct()
+                .forEach(roomDay -> invalidateAfterCommit(roomDay.roomId(), roomDay.date()));
+        bookingsToBeSaved.forEach(booking -> bookingMetrics.recordBookingAfterCommit(booking.getRoom().getName()));
+
+        List<BookingEvent> events = new ArrayList<>();
+        for (int i = 0; i < bookings.length; i++) {
+            if (bookings[i] != null) {
+                BookingResponseDto saved = BookingConverter.convert(bookings[i]);
+                BookingEvent event = BookingEvent.created(bookings[i].getRoom().getId(), saved);
+                bookingEventBus.publishAfterCommit(event);
+                events.add(event);
+                results[i] = new BookingBulkResultDto(i, HttpStatus.OK, null, saved);
+            }
+        }
+        bookingOutbox.appendAll(events);
 
-        Booking bookingToBeSaved = BookingConverter.convert(bookingRequestDto, room, employee);
-        Booking booking = bookingRepository.save(bookingToBeSaved);
+        logger.info("Saved {} of {} bookings in bulk", bookingsToBeSaved.size(), bookingRequestDtos.size());
+        return Arrays.asList(results);
+    }
+
+    @Transactional
+    @Override
+    public List<BookingResponseDto> saveRecurring(RecurringBookingRequestDto recurringRequestDto) {
 
-        logger.info("Booking saved successfully with ID {}", booking.getId());
-        return BookingConverter.convert(booking);
+        logger.debug("Saving a {} recurring booking in room {} from {}", recurringRequestDto.getRecurrence(),
+                recurringRequestDto.getRoomName(), recurringRequestDto.getBookingDate());
+
+        try {
+            return saveRecurringBookings(recurringRequestDto);
+        } catch (AlreadyExistsException | BadRequestException | NotFoundException e) {
+            bookingMetrics.recordRejection(BookingMetrics.RECURRING, e.getClass());
+            throw e;
+        }
     }
 
     @Override
+    @Transactional
     public String cancel(Long id) {
 
-        logger.info("Cancelling booking with ID {}", id);
+        logger.debug("Cancelling booking with ID {}", id);
 
-        Booking booking = bookingRepository.findById(id).orElseThrow(() -> new NotFoundException(BOOKING_NOT_FOUND));
+        Booking booking = bookingRepository.findById(id)
+                .filter(found -> found.getCancelledAt() == null)
+                .orElseThrow(() -> new NotFoundException(BOOKING_NOT_FOUND));
 
-        if (isPastBooking(booking.getBookingDate(), booking.getStartTime())) {
+        if (BookingValidation.isPastBooking(booking.getBookingDate(), booking.getStartTime())) {
             throw new BadRequestException(BOOKING_CANNOT_BE_CANCELED);
         }
 
-        logger.info("Booking with ID {} was cancelled successfully.", id);
+        // Zero rows means a concurrent request cancelled it since it was read.
+        if (bookingRepository.cancel(id, booking.getBookingDate(), LocalDateTime.now()) == 0) {
+            throw new NotFoundException(BOOKING_NOT_FOUND);
+        }
+
+        Long roomId = booking.getRoom().getId();
+        bookingIntervalIndex.releaseAfterCommit(roomId, booking.getBookingDate(), booking.getStartTime(),
+                booking.getEndTime());
+        invalidateAfterCommit(roomId, booking.getBookingDate());
+        BookingEvent event = BookingEvent.cancelled(roomId, BookingConverter.convert(booking));
+        bookingOutbox.append(event);
+        bookingEventBus.publishAfterCommit(event);
+
+        logger.info(SAMPLED, "Booking with ID {} was cancelled successfully.", id);
         return BOOKING_CANCELLATION_MSG;
     }
 
-    private void validateDuration(LocalDate bookingDate, LocalTime startTime, LocalTime endTime) {
+    private BookingResponseDto saveBooking(BookingRequestDto bookingRequestDto) {
+
+        bookingMetrics.time(Stage.VALIDATION, () -> BookingValidation.validateDuration(
+                bookingRequestDto.getBookingDate(), bookingRequestDto.getStartTime(), bookingRequestDto.getEndTime()));
+
+        Room room = roomRepository.getReferenceById(bookingMetrics.time(Stage.ROOM_LOOKUP,
+                () -> referenceResolver.findRoomId(bookingRequestDto.getRoomName()))
+                .orElseThrow(() -> new NotFoundException(ROOM_NOT_FOUND + bookingRequestDto.getRoomName())));
+
+        Employee employee = employeeRepository.getReferenceById(bookingMetrics.time(Stage.EMPLOYEE_LOOKUP,
+                () -> referenceResolver.findEmployeeId(bookingRequestDto.getEmployeeEmail()))
+                .orElseThrow(() -> new NotFoundException(EMPLOYEE_NOT_FOUND + bookingRequestDto.getEmployeeEmail())));
+
+        bookingMetrics.time(Stage.OVERLAP_CHECK, () -> {
+            bookingAdmission.admit(room.getId(), bookingRequestDto.getBookingDate());
+            validateNoOverlap(bookingRequestDto, room);
+        });
+
+        Booking bookingToBeSaved = BookingConverter.convert(bookingRequestDto, room, employee);
+        Booking booking = bookingMetrics.time(Stage.INSERT, () -> insert(bookingToBeSaved));
+        invalidateAfterCommit(room.getId(), booking.getBookingDate());
+        bookingMetrics.recordBookingAfterCommit(bookingRequestDto.getRoomName());
+
+        BookingResponseDto saved = BookingConverter.convert(booking, bookingRequestDto.getRoomName(),
+                bookingRequestDto.getEmployeeEmail());
+        BookingEvent event = BookingEvent.created(room.getId(), saved);
+        bookingOutbox.append(event);
+        bookingEventBus.publishAfterCommit(event);
+
+        logger.info(SAMPLED, "Booking saved successfully with ID {}", booking.getId());
+        return saved;
+    }
+
+    private List<BookingResponseDto> saveRecurringBookings(RecurringBookingRequestDto recurringRequestDto) {
+
+        List<LocalDate> dates = BookingRecurrences.expand(recurringRequestDto);
+        LocalTime startTime = recurringRequestDto.getStartTime();
+        LocalTime endTime = recurringRequestDto.getEndTime();
+        BookingValidation.validateDuration(dates.get(0), startTime, endTime);
+
+        Room room = roomRepository.getReferenceById(referenceResolver.findRoomId(recurringRequestDto.getRoomName())
+                .orElseThrow(() -> new NotFoundException(ROOM_NOT_FOUND + recurringRequestDto.getRoomName())));
+
+        Employee employee = employeeRepository.getReferenceById(
+                referenceResolver.findEmployeeId(recurringRequestDto.getEmployeeEmail())
+                        .orElseThrow(() -> new NotFoundException(EMPLOYEE_NOT_FOUND +
+                                recurringRequestDto.getEmployeeEmail())));
+
+        bookingAdmission.admitAll(dates.stream().map(date -> new RoomDay(room.getId(), date)).toList());
+        List<LocalDate> conflicts = findConflicts(room.getId(), dates, startTime, endTime);
+        if (!conflicts.isEmpty()) {
+            throw new AlreadyExistsException(RECURRING_OVERLAP + conflicts.stream()
+                    .map(LocalDate::toString)
+                    .collect(Collectors.joining(", ")));
+        }
+
+        List<Booking> bookings = dates.stream()
+                .map(date -> new Booking(room, employee, date, startTime, endTime))
+                .toList();
+        insertAll(bookings);
+
+        List<BookingResponseDto> saved = new ArrayList<>(bookings.size());
+        List<BookingEvent> events = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            invalidateAfterCommit(room.getId(), booking.getBookingDate());
+            bookingMetrics.recordBookingAfterCommit(recurringRequestDto.getRoomName());
+            BookingResponseDto response = BookingConverter.convert(booking, recurringRequestDto.getRoomName(),
+                    recurringRequestDto.getEmployeeEmail());
+            BookingEvent event = BookingEvent.created(room.getId(), response);
+            bookingEventBus.publishAfterCommit(event);
+            events.add(event);
+            saved.add(response);
+        }
+        bookingOutbox.appendAll(events);
+
+        logger.info(SAMPLED, "Saved {} recurring bookings in room {} from {} to {}", bookings.size(),
+                recurringRequestDto.getRoomName(), dates.get(0), dates.get(dates.size() - 1));
+        return saved;
+    }
+
+    /**
+     * Checks every date of a recurring booking at once: against the interval index, which reserves the free dates
+     * until the transaction completes, or with a single range query when the index is disabled.
+     *
+     * @return the dates on which the interval overlaps an existing booking
+     */
+    private List<LocalDate> findConflicts(Long roomId, List<LocalDate> dates, LocalTime startTime, LocalTime endTime) {
+
+        List<LocalDate> conflicts = new ArrayList<>();
+        if (bookingIntervalIndex.isEnabled()) {
+            for (LocalDate date : dates) {
+                if (!bookingIntervalIndex.tryReserve(roomId, date, startTime, endTime)) {
+                    conflicts.add(date);
+                }
+            }
+            return conflicts;
+        }
+
+        Set<LocalDate> taken = bookingRepository.findSlotsBetween(roomId, dates.get(0), dates.get(dates.size() - 1))
+                .stream()
+                .filter(slot -> slot.overlaps(startTime, endTime))
+                .map(BookingSlot::bookingDate)
+                .collect(Collectors.toSet());
+        for (LocalDate date : dates) {
+            if (taken.contains(date)) {
+                conflicts.add(date);
+            }
+        }
+        return conflicts;
+    }
+
+    private Booking resolve(BookingRequestDto bookingRequestDto, Map<String, Room> rooms,
+                            Map<String, Employee> employees) {
 
-        if (bookingDate.isBefore(LocalDate.now())) {
-            throw new BadRequestException(PAST_DAY_WARNING);
+        BookingValidation.validateRequest(bookingRequestDto);
+
+        Room room = rooms.get(bookingRequestDto.getRoomName());
+        if (room == null) {
+            throw new NotFoundException(ROOM_NOT_FOUND + bookingRequestDto.getRoomName());
+        }
+
+        Employee employee = employees.get(bookingRequestDto.getEmployeeEmail());
+        if (employee == null) {
+            throw new NotFoundException(EMPLOYEE_NOT_FOUND + bookingRequestDto.getEmployeeEmail());
         }
 
-        if (endTime.isBefore(startTime)) {
-            throw new BadRequestException(END_BEFORE_START_WARNING);
+        return BookingConverter.convert(bookingRequestDto, room, employee);
+    }
+
+    private Map<RoomDay, List<BookingSlot>> findTakenSlots(Set<RoomDay> roomDays) {
+
+        if (bookingIntervalIndex.isEnabled() || roomDays.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Set<Long> roomIds = roomDays.stream().map(RoomDay::roomId).collect(Collectors.toSet());
+        Set<LocalDate> dates = roomDays.stream().map(RoomDay::date).collect(Collectors.toSet());
+
+        return bookingRepository.findSlotsIn(roomIds, dates).stream()
+                .collect(Collectors.groupingBy(slot -> new RoomDay(slot.roomId(), slot.bookingDate()),
+                        Collectors.toCollection(ArrayList::new)));
+    }
+
+    private boolean reserve(Booking booking, Map<RoomDay, List<BookingSlot>> takenSlots) {
+
+        if (bookingIntervalIndex.isEnabled()) {
+            return bookingIntervalIndex.tryReserve(booking.getRoom().getId(), booking.getBookingDate(),
+                    booking.getStartTime(), booking.getEndTime());
         }
 
-        long minutes = Duration.between(startTime, endTime).toMinutes();
-        if (minutes < HOUR_MINUTES || minutes % HOUR_MINUTES != 0) {
-            throw new BadRequestException(BOOKING_VALID_DURATION);
+        List<BookingSlot> slots = takenSlots.computeIfAbsent(
+                new RoomDay(booking.getRoom().getId(), booking.getBookingDate()), roomDay -> new ArrayList<>());
+        if (slots.stream().anyMatch(slot -> slot.overlaps(booking.getStartTime(), booking.getEndTime()))) {
+            return false;
         }
+
+        slots.add(new BookingSlot(booking.getRoom().getId(), booking.getBookingDate(), booking.getStartTime(),
+                booking.getEndTime()));
+        return true;
     }
 
     private void validateNoOverlap(BookingRequestDto bookingRequestDto, Room room) {
 
-        if (bookingRepository.existsByRoomAndBookingDateAndStartTimeLessThanAndEndTimeGreaterThan(room,
-                bookingRequestDto.getBookingDate(), bookingRequestDto.getEndTime(), bookingRequestDto.getStartTime())) {
+        if (bookingIntervalIndex.isEnabled() && !bookingIntervalIndex.tryReserve(room.getId(),
+                bookingRequestDto.getBookingDate(), bookingRequestDto.getStartTime(), bookingRequestDto.getEndTime())) {
             throw new AlreadyExistsException(BOOKING_OVERLAP);
         }
     }
 
-    private boolean isPastBooking(LocalDate bookingDate, LocalTime bookingStartTime) {
-        return bookingDate.isBefore(LocalDate.now()) || (bookingDate.isEqual(LocalDate.now()) &&
-                bookingStartTime.isBefore(LocalTime.now()));
+    private Booking insert(Booking booking) {
+
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new AlreadyExistsException(BOOKING_OVERLAP);
+            }
+            throw e;
+        }
     }
 
-    private Page<BookingResponseDto> buildResponseListPaged(Page<Booking> bookingsFromDb, Pageable pageable) {
+    private void insertAll(List<Booking> bookings) {
 
-        long total = bookingsFromDb.getTotalElements();
+        if (bookings.isEmpty()) {
+            return;
+        }
 
-        List<BookingResponseDto> bookings = bookingsFromDb.stream()
-                .map(BookingConverter::convert)
-                .toList();
+        try {
+            bookingRepository.saveAllAndFlush(bookings);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new AlreadyExistsException(BOOKING_OVERLAP);
+            }
+            throw e;
+        }
+    }
+
+    private void invalidateAfterCommit(Long roomId, LocalDate date) {
+        roomDayOccupancy.invalidateAfterCommit(roomId, date);
+        roomDayVersions.bumpAfterCommit(roomId, date);
+    }
+
+    private boolean isOverlapViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(BOOKING_OVERLAP_CONSTRAINT);
+    }
+
+    private BookingSliceDto buildResponseSlice(List<BookingResponseDto> bookingsFromDb, int pageSize) {
+
+        if (bookingsFromDb.size() <= pageSize) {
+            return new BookingSliceDto(bookingsFromDb, null, false);
+        }
 
-        return new PageImpl<>(bookings, pageable, total);
+        List<BookingResponseDto> bookings = bookingsFromDb.subList(0, pageSize);
+        return new BookingSliceDto(bookings, BookingCursor.encode(bookings.getLast()), true);
     }
 }
@@ -0,0 +1,131 @@
+package com.acmelabinc.roombook.services;
+
+import com.acmelabinc.roombook.dtos.BookingRequestDto;
+import com.acmelabinc.roombook.dtos.RecurringBookingRequestDto;
+import com.acmelabinc.roombook.exceptions.BadRequestException;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Request checks shared by the servlet and the reactive {@code BookingService} implementations.
+ */
+final class BookingValidation {
+
+    static final int MAX_BULK_SIZE = 500;
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_OCCURRENCES = 366;
+    static final int MAX_INTERVAL = 365;
+
+    private static final int HOUR_MINUTES = 60;
+    private static final String END_BEFORE_START_WARNING = "This booking can only take place in a time machine!";
+    private static final String BOOKING_VALID_DURATION = "Bookings should last at least 1 hour or consecutive multiples of 1 hour (2, 3, 4, ...).";
+    private static final String PAST_DAY_WARNING = "This day is gone forever.";
+    private static final String INVALID_PAGE_SIZE = "Page size should be between 1 and " + MAX_PAGE_SIZE + ".";
+    private static final String MISSING_BOOKING = "A booking request cannot be empty.";
+    private static final String MISSING_BOOKING_DATE_OR_TIME = "A booking needs a booking date, a start time and an end time.";
+    private static final String INVALID_BULK_SIZE = "A bulk request should contain between 1 and " + MAX_BULK_SIZE + " bookings.";
+    private static final String MISSING_DATE_OR_TIME = "A recurring booking needs a booking date, a start time and an end time.";
+    private static final String MISSING_RECURRENCE = "A recurring booking needs a recurrence (DAILY or WEEKLY).";
+    private static final String INVALID_INTERVAL = "The recurrence interval should be between 1 and " + MAX_INTERVAL + ".";
+    private static final String UNTIL_OR_OCCURRENCES = "A recurring booking should end either at a date or after a number of occurrences.";
+    private static final String UNTIL_BEFORE_START = "A recurring booking cannot end before its first booking.";
+    private static final String TOO_MANY_OCCURRENCES = "A recurring booking should have between 1 and " + MAX_OCCURRENCES + " occurrences.";
+    private static final String BEYOND_CALENDAR = "A recurring booking cannot run past the end of the calendar.";
+
+    private BookingValidation() {
+    }
+
+    static void validateDuration(LocalDate bookingDate, LocalTime startTime, LocalTime endTime) {
+
+        if (bookingDate == null || startTime == null || endTime == null) {
+            throw new BadRequestException(MISSING_BOOKING_DATE_OR_TIME);
+        }
+
+        validateNotPast(bookingDate);
+
+        if (endTime.isBefore(startTime)) {
+            throw new BadRequestException(END_BEFORE_START_WARNING);
+        }
+
+        long minutes = Duration.between(startTime, endTime).toMinutes();
+        if (minutes < HOUR_MINUTES || minutes % HOUR_MINUTES != 0) {
+            throw new BadRequestException(BOOKING_VALID_DURATION);
+        }
+    }
+
+    static void validateNotPast(LocalDate date) {
+
+        if (date.isBefore(LocalDate.now())) {
+            throw new BadRequestException(PAST_DAY_WARNING);
+        }
+    }
+
+    static void validatePageSize(int pageSize) {
+
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException(INVALID_PAGE_SIZE);
+        }
+    }
+
+    static void validateBulkSize(List<BookingRequestDto> bookingRequestDtos) {
+
+        if (bookingRequestDtos == null || bookingRequestDtos.isEmpty() || bookingRequestDtos.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException(INVALID_BULK_SIZE);
+        }
+    }
+
+    static void validateRequest(BookingRequestDto bookingRequestDto) {
+
+        if (bookingRequestDto == null) {
+            throw new BadRequestException(MISSING_BOOKING);
+        }
+
+        validateDuration(bookingRequestDto.getBookingDate(), bookingRequestDto.getStartTime(),
+                bookingRequestDto.getEndTime());
+    }
+
+    /**
+     * Checks a series before it is expanded, so that neither a missing field nor the calendar's end surfaces as an
+     * exception of the date arithmetic.
+     */
+    static void validateRecurrence(RecurringBookingRequestDto recurringRequestDto) {
+
+        if (recurringRequestDto.getBookingDate() == null || recurringRequestDto.getStartTime() == null
+                || recurringRequestDto.getEndTime() == null) {
+            throw new BadRequestException(MISSING_DATE_OR_TIME);
+        }
+        if (recurringRequestDto.getRecurrence() == null) {
+            throw new BadRequestException(MISSING_RECURRENCE);
+        }
+        if (recurringRequestDto.getInterval() < 1 || recurringRequestDto.getInterval() > MAX_INTERVAL) {
+            throw new BadRequestException(INVALID_INTERVAL);
+        }
+        if ((recurringRequestDto.getUntil() == null) == (recurringRequestDto.getOccurrences() == null)) {
+            throw new BadRequestException(UNTIL_OR_OCCURRENCES);
+        }
+        if (recurringRequestDto.getUntil() != null
+                && recurringRequestDto.getUntil().isBefore(recurringRequestDto.getBookingDate())) {
+            throw new BadRequestException(UNTIL_BEFORE_START);
+        }
+
+        long occurrences = BookingRecurrences.count(recurringRequestDto);
+        if (occurrences < 1 || occurrences > MAX_OCCURRENCES) {
+            throw new BadRequestException(TOO_MANY_OCCURRENCES);
+        }
+
+        try {
+            BookingRecurrences.dateOf(recurringRequestDto, occurrences - 1);
+        } catch (DateTimeException e) {
+            throw new BadRequestException(BEYOND_CALENDAR);
+        }
+    }
+
+    static boolean isPastBooking(LocalDate bookingDate, LocalTime bookingStartTime) {
+        return bookingDate.isBefore(LocalDate.now()) || (bookingDate.isEqual(LocalDate.now()) &&
+                bookingStartTime.isBefore(LocalTime.now()));
+    }
+}
@@ -0,0 +1,30 @@
+package com.acmelabinc.roombook.services;
+
+import com.acmelabinc.roombook.converters.BookingExportFormat;
+import com.acmelabinc.roombook.dtos.BookingBulkResultDto;
+import com.acmelabinc.roombook.dtos.BookingRequestDto;
+import com.acmelabinc.roombook.dtos.BookingResponseDto;
+import com.acmelabinc.roombook.dtos.BookingSliceDto;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@Profile("reactive")
+public interface ReactiveBookingService {
+
+    Mono<Page<BookingResponseDto>> getAll(Pageable pageable);
+    Mono<Page<BookingResponseDto>> getByRoomAndDate(String roomName, LocalDate date, Pageable pageable);
+    Mono<BookingSliceDto> getAllAfter(String cursor, int pageSize);
+    Mono<BookingSliceDto> getByRoomAndDateAfter(String roomName, LocalDate date, String cursor, int pageSize);
+    Flux<String> exportAll(BookingExportFormat format);
+    Mono<BookingResponseDto> save(BookingRequestDto bookingRequestDto);
+    Mono<List<BookingBulkResultDto>> saveAll(List<BookingRequestDto> bookingRequestDtos);
+    Mono<String> cancel(Long id);
+}
@@ -0,0 +1,329 @@
+package com.acmelabinc.roombook.services;
+
+import com.acmelabinc.roombook.converters.BookingConverter;
+import com.acmelabinc.roombook.converters.BookingCursor;
+import com.acmelabinc.roombook.converters.BookingExportFormat;
+import com.acmelabinc.roombook.dtos.BookingBulkResultDto;
+import com.acmelabinc.roombook.dtos.BookingRequestDto;
+import com.acmelabinc.roombook.dtos.BookingResponseDto;
+import com.acmelabinc.roombook.dtos.BookingSliceDto;
+import com.acmelabinc.roombook.events.BookingEvent;
+import com.acmelabinc.roombook.exceptions.AlreadyExistsException;
+import com.acmelabinc.roombook.exceptions.BadRequestException;
+import com.acmelabinc.roombook.exceptions.NotFoundException;
+import com.acmelabinc.roombook.metrics.BookingMetrics;
+import com.acmelabinc.roombook.outbox.ReactiveBookingOutbox;
+import com.acmelabinc.roombook.repositories.ReactiveBookingRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.acmelabinc.roombook.logging.SamplingTurboFilter.SAMPLED;
+
+/**
+ * {@link BookingService} semantics on WebFlux and R2DBC. Overlaps are not checked under an in-process lock or against
+ * the interval index: each save locks the rows of its rooms in the database and then inserts with its own overlap
+ * check, in one transaction. The lock is what keeps concurrent saves for the same room apart on H2, whose overlap
+ * trigger cannot see uncommitted rows; on PostgreSQL the {@code booking_no_overlap} constraint would catch them too.
+ * Saves and cancellations write their outbox rows in the same transaction, like the servlet implementation.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveBookingServiceImpl implements ReactiveBookingService {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final String LINE_SEPARATOR = "\n";
+    private static final String BOOKING_CANCELLATION_MSG = "Booking was cancelled successfully.";
+    private static final String ROOM_NOT_FOUND = "Room not found: ";
+    private static final String EMPLOYEE_NOT_FOUND = "Employee not found: ";
+    private static final String BOOKING_NOT_FOUND = "Booking was not found.";
+    private static final String BOOKING_OVERLAP = "This room is already booked for the selected hours or overlaps another booking.";
+    private static final String BOOKING_CANNOT_BE_CANCELED = "This is not a future booking so it cannot be canceled.";
+    private static final String BOOKING_OVERLAP_CONSTRAINT = "booking_no_overlap";
+
+    private final ReactiveBookingRepository bookingRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final ObjectMapper objectMapper;
+    private final BookingMetrics bookingMetrics;
+    private final ReactiveBookingOutbox bookingOutbox;
+
+    @Autowired
+    public ReactiveBookingServiceImpl(ReactiveBookingRepository bookingRepository,
+                                      TransactionalOperator transactionalOperator, ObjectMapper objectMapper,
+                                      BookingMetrics bookingMetrics, ReactiveBookingOutbox bookingOutbox) {
+        this.bookingRepository = bookingRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.objectMapper = objectMapper;
+        this.bookingMetrics = bookingMetrics;
+        this.bookingOutbox = bookingOutbox;
+    }
+
+    @Override
+    public Mono<Page<BookingResponseDto>> getAll(Pageable pageable) {
+
+        logger.debug("Finding all bookings");
+
+        return Mono.zip(bookingRepository.findAllResponses(pageable).collectList(), bookingRepository.count())
+                .map(page -> buildResponsePage(page.getT1(), pageable, page.getT2()));
+    }
+
+    @Override
+    public Mono<Page<BookingResponseDto>> getByRoomAndDate(String roomName, LocalDate date, Pageable pageable) {
+
+        logger.debug("Searching for bookings in room {} on date {}", roomName, date);
+
+        return findRoomId(roomName)
+                .flatMap(roomId -> Mono.zip(
+                        bookingRepository.findResponsesByRoomAndBookingDate(roomId, date, pageable).collectList(),
+                        bookingRepository.countByRoomAndBookingDate(roomId, date)))
+                .map(page -> buildResponsePage(page.getT1(), pageable, page.getT2()));
+    }
+
+    @Override
+    public Mono<BookingSliceDto> getAllAfter(String cursor, int pageSize) {
+
+        logger.debug("Finding all bookings after cursor {}", cursor);
+
+        return Mono.defer(() -> {
+            BookingValidation.validatePageSize(pageSize);
+
+            Flux<BookingResponseDto> bookingsFromDb;
+            if (cursor == null) {
+                bookingsFromDb = bookingRepository.findFirstResponses(pageSize + 1);
+            } else {
+                BookingCursor after = BookingCursor.decode(cursor);
+                bookingsFromDb = bookingRepository.findResponsesAfter(after.getBookingDate(), after.getStartTime(),
+                        after.getId(), pageSize + 1);
+            }
+
+            return bookingsFromDb.collectList().map(bookings -> buildResponseSlice(bookings, pageSize));
+        });
+    }
+
+    @Override
+    public Mono<BookingSliceDto> getByRoomAndDateAfter(String roomName, LocalDate date, String cursor, int pageSize) {
+
+        logger.debug("Searching for bookings in room {} on date {} after cursor {}", roomName, date, cursor);
+
+        return Mono.defer(() -> {
+            BookingValidation.validatePageSize(pageSize);
+            BookingCursor after = cursor == null ? null : BookingCursor.decode(cursor);
+
+            return findRoomId(roomName)
+                    .flatMapMany(roomId -> after == null
+                            ? bookingRepository.findFirstResponsesByRoomAndBookingDate(roomId, date, pageSize + 1)
+                            : bookingRepository.findResponsesByRoomAndBookingDateAfter(roomId, date,
+                            after.getBookingDate(), after.getStartTime(), after.getId(), pageSize + 1))
+                    .collectList()
+                    .map(bookings -> buildResponseSlice(bookings, pageSize));
+        });
+    }
+
+    @Override
+    public Flux<String> exportAll(BookingExportFormat format) {
+
+        logger.info("Exporting all bookings as {}", format);
+
+        Flux<String> lines = bookingRepository.streamAllResponses()
+                .map(booking -> format == BookingExportFormat.CSV ? BookingConverter.toCsv(booking) : toJson(booking))
+                .map(line -> line + LINE_SEPARATOR);
+
+        return format == BookingExportFormat.CSV
+                ? Flux.concat(Mono.just(BookingConverter.CSV_HEADER + LINE_SEPARATOR), lines) : lines;
+    }
+
+    @Override
+    public Mono<BookingResponseDto> save(BookingRequestDto bookingRequestDto) {
+
+        logger.debug("Saving a new booking in room {} on date {}",
+                bookingRequestDto.getRoomName(), bookingRequestDto.getBookingDate());
+
+        return lockRooms(List.of(bookingRequestDto))
+                .then(insert(bookingRequestDto))
+                .flatMap(booking -> bookingOutbox.append(BookingEvent.Type.CREATED, booking).thenReturn(booking))
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DataIntegrityViolationException.class, this::translateOverlap)
+                .doOnError(ReactiveBookingServiceImpl::isRejection,
+                        e -> bookingMetrics.recordRejection(BookingMetrics.SAVE, ((RuntimeException) e).getClass()))
+                .doOnNext(booking -> {
+                    bookingMetrics.recordBookingAfterCommit(booking.getRoom());
+                    logger.info(SAMPLED, "Booking saved successfully with ID {}", booking.getId());
+                });
+    }
+
+    @Override
+    public Mono<List<BookingBulkResultDto>> saveAll(List<BookingRequestDto> bookingRequestDtos) {
+
+        return Mono.defer(() -> {
+            BookingValidation.validateBulkSize(bookingRequestDtos);
+
+            logger.info("Saving {} bookings in bulk", bookingRequestDtos.size());
+
+            return lockRooms(bookingRequestDtos).thenMany(Flux.range(0, bookingRequestDtos.size()))
+                    .concatMap(i -> insert(bookingRequestDtos.get(i))
+                            .map(booking -> new BookingBulkResultDto(i, HttpStatus.OK, null, booking))
+                            .onErrorResume(NotFoundException.class, e ->
+                                    Mono.just(new BookingBulkResultDto(i, HttpStatus.NOT_FOUND, e.getMessage(), null)))
+                            .onErrorResume(BadRequestException.class, e ->
+                                    Mono.just(new BookingBulkResultDto(i, HttpStatus.BAD_REQUEST, e.getMessage(), null)))
+                            .onErrorResume(AlreadyExistsException.class, e ->
+                                    Mono.just(new BookingBulkResultDto(i, HttpStatus.CONFLICT, e.getMessage(), null))))
+                    .collectList()
+                    .flatMap(results -> bookingOutbox.appendAll(BookingEvent.Type.CREATED, results.stream()
+                            .filter(result -> result.getStatus() == HttpStatus.OK)
+                            .map(BookingBulkResultDto::getBooking)
+                            .toList()).thenReturn(results))
+                    .as(transactionalOperator::transactional)
+                    .onErrorMap(DataIntegrityViolationException.class, this::translateOverlap)
+                    .doOnNext(this::recordBulkResults);
+        });
+    }
+
+    @Override
+    public Mono<String> cancel(Long id) {
+
+        logger.debug("Cancelling booking with ID {}", id);
+
+        return bookingRepository.findResponseById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException(BOOKING_NOT_FOUND)))
+                .flatMap(booking -> {
+                    if (BookingValidation.isPastBooking(booking.getBookingDate(), booking.getTimeFrom())) {
+                        return Mono.error(new BadRequestException(BOOKING_CANNOT_BE_CANCELED));
+                    }
+                    return bookingRepository.cancel(id, booking.getBookingDate(), LocalDateTime.now())
+                            // Zero rows means a concurrent request cancelled it since it was read.
+                            .filter(cancelled -> cancelled > 0)
+                            .switchIfEmpty(Mono.error(() -> new NotFoundException(BOOKING_NOT_FOUND)))
+                            .then(bookingOutbox.append(BookingEvent.Type.CANCELLED, booking));
+                })
+                .as(transactionalOperator::transactional)
+                .then(Mono.fromCallable(() -> {
+                    logger.info(SAMPLED, "Booking with ID {} was cancelled successfully.", id);
+                    return BOOKING_CANCELLATION_MSG;
+                }));
+    }
+
+    /**
+     * Takes the database lock of every room named in the requests; see {@link ReactiveBookingRepository#lockRooms}.
+     * Requests without a room name are left to fail validation or the room lookup.
+     */
+    private Mono<Void> lockRooms(List<BookingRequestDto> bookingRequestDtos) {
+
+        Set<String> roomNames = bookingRequestDtos.stream()
+                .filter(Objects::nonNull)
+                .map(BookingRequestDto::getRoomName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return roomNames.isEmpty() ? Mono.empty() : bookingRepository.lockRooms(roomNames);
+    }
+
+    /**
+     * Counts the bookings of a bulk request once its transaction has committed, like the servlet implementation.
+     */
+    private void recordBulkResults(List<BookingBulkResultDto> results) {
+
+        for (BookingBulkResultDto result : results) {
+            switch (result.getStatus()) {
+                case OK -> bookingMetrics.recordBookingAfterCommit(result.getBooking().getRoom());
+                case NOT_FOUND -> bookingMetrics.recordRejection(BookingMetrics.BULK, NotFoundException.class);
+                case BAD_REQUEST -> bookingMetrics.recordRejection(BookingMetrics.BULK, BadRequestException.class);
+                case CONFLICT -> bookingMetrics.recordRejection(BookingMetrics.BULK, AlreadyExistsException.class);
+                default -> {
+                }
+            }
+        }
+    }
+
+    /**
+     * Tries the insert first and only looks up the room and employee when nothing was inserted, to tell an unknown
+     * name from an overlap.
+     */
+    private Mono<BookingResponseDto> insert(BookingRequestDto bookingRequestDto) {
+
+        return Mono.defer(() -> {
+            BookingValidation.validateRequest(bookingRequestDto);
+
+            return bookingRepository.insertIfFree(bookingRequestDto.getRoomName(),
+                            bookingRequestDto.getEmployeeEmail(), bookingRequestDto.getBookingDate(),
+                            bookingRequestDto.getStartTime(), bookingRequestDto.getEndTime())
+                    .switchIfEmpty(Mono.defer(() -> explainRejection(bookingRequestDto)))
+                    .map(id -> new BookingResponseDto(id, bookingRequestDto.getRoomName(),
+                            bookingRequestDto.getEmployeeEmail(), bookingRequestDto.getBookingDate(),
+                            bookingRequestDto.getStartTime(), bookingRequestDto.getEndTime()));
+        });
+    }
+
+    private Mono<Long> explainRejection(BookingRequestDto bookingRequestDto) {
+
+        return findRoomId(bookingRequestDto.getRoomName())
+                .then(bookingRepository.findEmployeeId(bookingRequestDto.getEmployeeEmail()))
+                .switchIfEmpty(Mono.error(() ->
+                        new NotFoundException(EMPLOYEE_NOT_FOUND + bookingRequestDto.getEmployeeEmail())))
+                .then(Mono.error(() -> new AlreadyExistsException(BOOKING_OVERLAP)));
+    }
+
+    private String toJson(BookingResponseDto booking) {
+        try {
+            return objectMapper.writeValueAsString(booking);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Mono<Long> findRoomId(String roomName) {
+        return bookingRepository.findRoomId(roomName)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException(ROOM_NOT_FOUND + roomName)));
+    }
+
+    private static boolean isRejection(Throwable e) {
+        return e instanceof AlreadyExistsException || e instanceof BadRequestException || e instanceof NotFoundException;
+    }
+
+    private Throwable translateOverlap(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(BOOKING_OVERLAP_CONSTRAINT)
+                ? new AlreadyExistsException(BOOKING_OVERLAP) : e;
+    }
+
+    private Page<BookingResponseDto> buildResponsePage(List<BookingResponseDto> bookings, Pageable pageable,
+                                                       long total) {
+
+        if (bookings.isEmpty()) {
+            logger.debug("There are no bookings.");
+            return new PageImpl<>(Collections.emptyList());
+        }
+
+        return new PageImpl<>(bookings, pageable, total);
+    }
+
+    private BookingSliceDto buildResponseSlice(List<BookingResponseDto> bookingsFromDb, int pageSize) {
+
+        if (bookingsFromDb.size() <= pageSize) {
+            return new BookingSliceDto(bookingsFromDb, null, false);
+        }
+
+        List<BookingResponseDto> bookings = bookingsFromDb.subList(0, pageSize);
+        return new BookingSliceDto(bookings, BookingCursor.encode(bookings.getLast()), true);
+    }
+}
@@ -0,0 +1,42 @@
+package com.acmelabinc.roombook.services;
+
+import com.acmelabinc.roombook.repositories.EmployeeRepository;
+import com.acmelabinc.roombook.repositories.RoomRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Resolves room names and employee emails to ids through bounded, expiring caches (see {@code spring.cache.*}), so
+ * the booking paths do not query these small tables on every request. Unknown names are not cached. Entries can be
+ * evicted through the {@code caches} actuator endpoint, and hit and miss counts are published as {@code cache.gets}.
+ */
+@Component
+@Profile("!reactive")
+public class ReferenceResolver {
+
+    public static final String ROOM_IDS = "room-ids";
+    public static final String EMPLOYEE_IDS = "employee-ids";
+
+    private final RoomRepository roomRepository;
+    private final EmployeeRepository employeeRepository;
+
+    @Autowired
+    public ReferenceResolver(RoomRepository roomRepository, EmployeeRepository employeeRepository) {
+        this.roomRepository = roomRepository;
+        this.employeeRepository = employeeRepository;
+    }
+
+    @Cacheable(cacheNames = ROOM_IDS, unless = "#result == null")
+    public Optional<Long> findRoomId(String name) {
+        return roomRepository.findIdByName(name);
+    }
+
+    @Cacheable(cacheNames = EMPLOYEE_IDS, unless = "#result == null")
+    public Optional<Long> findEmployeeId(String email) {
+        return employeeRepository.findIdByEmail(email);
+    }
+}
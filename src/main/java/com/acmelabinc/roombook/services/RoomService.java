@@ -0,0 +1,21 @@
+package com.acmelabinc.roombook.services;
+
+import com.acmelabinc.roombook.dtos.FreeRoomsDto;
+import com.acmelabinc.roombook.dtos.RoomAvailabilityDto;
+import com.acmelabinc.roombook.dtos.RoomCandidateDto;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Service
+public interface RoomService {
+
+    RoomAvailabilityDto getAvailability(String roomName, LocalDate date);
+    List<FreeRoomsDto> getFreeRooms(List<LocalDate> dates, LocalTime timeFrom, LocalTime timeTo);
+    List<RoomCandidateDto> searchRooms(LocalDate dateFrom, LocalDate dateTo, LocalTime timeFrom, LocalTime timeTo,
+                                       int hours, int limit);
+    SseEmitter streamEvents(String roomName);
+}
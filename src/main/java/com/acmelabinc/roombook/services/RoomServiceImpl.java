@@ -0,0 +1,188 @@
+package com.acmelabinc.roombook.services;
+
+import com.acmelabinc.roombook.availability.FreeSlotSearch;
+import com.acmelabinc.roombook.availability.HourlyBitmap;
+import com.acmelabinc.roombook.availability.RoomDay;
+import com.acmelabinc.roombook.availability.RoomDayOccupancy;
+import com.acmelabinc.roombook.dtos.FreeRoomsDto;
+import com.acmelabinc.roombook.dtos.RoomAvailabilityDto;
+import com.acmelabinc.roombook.dtos.RoomCandidateDto;
+import com.acmelabinc.roombook.dtos.TimeSlotDto;
+import com.acmelabinc.roombook.entities.Room;
+import com.acmelabinc.roombook.events.BookingEventBus;
+import com.acmelabinc.roombook.exceptions.BadRequestException;
+import com.acmelabinc.roombook.exceptions.NotFoundException;
+import com.acmelabinc.roombook.repositories.BookingRepository;
+import com.acmelabinc.roombook.repositories.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+@Service
+@Profile("!reactive")
+public class RoomServiceImpl implements RoomService {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final int MAX_DATES = 31;
+    private static final String ROOM_NOT_FOUND = "Room not found: ";
+    private static final String INVALID_DATES = "Between 1 and " + MAX_DATES + " dates should be given.";
+    private static final String END_BEFORE_START_WARNING = "This booking can only take place in a time machine!";
+    private static final String WHOLE_HOURS_ONLY = "Availability can only be checked for whole hours (e.g. 14:00).";
+    private static final int MAX_CANDIDATES = 100;
+    private static final String INVALID_DATE_RANGE = "A search can span between 1 and " + MAX_DATES + " days.";
+    private static final String INVALID_HOURS = "The booking should last at least 1 hour and fit in the time window.";
+    private static final String INVALID_LIMIT = "Between 1 and " + MAX_CANDIDATES + " rooms can be asked for.";
+
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final RoomDayOccupancy roomDayOccupancy;
+    private final ReferenceResolver referenceResolver;
+    private final BookingEventBus bookingEventBus;
+
+    @Autowired
+    public RoomServiceImpl(RoomRepository roomRepository, BookingRepository bookingRepository,
+                           RoomDayOccupancy roomDayOccupancy, ReferenceResolver referenceResolver,
+                           BookingEventBus bookingEventBus) {
+        this.roomRepository = roomRepository;
+        this.bookingRepository = bookingRepository;
+        this.roomDayOccupancy = roomDayOccupancy;
+        this.referenceResolver = referenceResolver;
+        this.bookingEventBus = bookingEventBus;
+    }
+
+    @Override
+    public RoomAvailabilityDto getAvailability(String roomName, LocalDate date) {
+
+        logger.debug("Finding free slots in room {} on date {}", roomName, date);
+
+        Long roomId = referenceResolver.findRoomId(roomName)
+                .orElseThrow(() -> new NotFoundException(ROOM_NOT_FOUND + roomName));
+
+        List<TimeSlotDto> freeSlots = HourlyBitmap.freeHours(roomDayOccupancy.get(roomId, date)).stream()
+                .map(hour -> new TimeSlotDto(LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0)))
+                .toList();
+
+        return new RoomAvailabilityDto(roomName, date, freeSlots);
+    }
+
+    @Override
+    public List<FreeRoomsDto> getFreeRooms(List<LocalDate> dates, LocalTime timeFrom, LocalTime timeTo) {
+
+        logger.debug("Finding rooms free from {} to {} on dates {}", timeFrom, timeTo, dates);
+
+        validateDates(dates);
+        validateHours(timeFrom, timeTo);
+
+        SortedSet<LocalDate> distinctDates = new TreeSet<>(dates);
+        List<Room> rooms = roomRepository.findAll(Sort.by("name"));
+
+        List<RoomDay> roomDays = new ArrayList<>();
+        for (LocalDate date : distinctDates) {
+            rooms.forEach(room -> roomDays.add(new RoomDay(room.getId(), date)));
+        }
+        Map<RoomDay, Integer> bitmaps = roomDayOccupancy.getAll(roomDays);
+
+        List<FreeRoomsDto> freeRooms = new ArrayList<>();
+        for (LocalDate date : distinctDates) {
+            freeRooms.add(new FreeRoomsDto(date, rooms.stream()
+                    .filter(room -> HourlyBitmap.isFree(bitmaps.get(new RoomDay(room.getId(), date)), timeFrom, timeTo))
+                    .map(Room::getName)
+                    .toList()));
+        }
+
+        return freeRooms;
+    }
+
+    /**
+     * Reads the bookings of every room on every day of the range with one query rather than through the occupancy
+     * cache, which a search over a large estate would flush.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<RoomCandidateDto> searchRooms(LocalDate dateFrom, LocalDate dateTo, LocalTime timeFrom,
+                                              LocalTime timeTo, int hours, int limit) {
+
+        logger.debug("Searching rooms free for {} hours from {} to {} between {} and {}", hours, timeFrom, timeTo,
+                dateFrom, dateTo);
+
+        validateHours(timeFrom, timeTo);
+        BookingValidation.validateNotPast(dateFrom);
+        long days = ChronoUnit.DAYS.between(dateFrom, dateTo) + 1;
+        if (days < 1 || days > MAX_DATES) {
+            throw new BadRequestException(INVALID_DATE_RANGE);
+        }
+        if (hours < 1 || hours > timeTo.getHour() - timeFrom.getHour()) {
+            throw new BadRequestException(INVALID_HOURS);
+        }
+        if (limit < 1 || limit > MAX_CANDIDATES) {
+            throw new BadRequestException(INVALID_LIMIT);
+        }
+
+        List<Room> rooms = roomRepository.findAll(Sort.by("name"));
+        int[] bitmaps = FreeSlotSearch.occupancy(rooms.stream().map(Room::getId).toList(), dateFrom, (int) days,
+                bookingRepository.findAllSlotsBetween(dateFrom, dateTo));
+        if (dateFrom.isEqual(LocalDate.now())) {
+            // Hours that have started can no longer be booked today, so they count as taken.
+            LocalTime now = LocalTime.now();
+            int firstHour = now.equals(LocalTime.of(now.getHour(), 0)) ? now.getHour() : now.getHour() + 1;
+            int startedHours = (1 << firstHour) - 1;
+            for (int room = 0; room < rooms.size(); room++) {
+                bitmaps[room * (int) days] |= startedHours;
+            }
+        }
+
+        return FreeSlotSearch.search(bitmaps, (int) days, timeFrom.getHour(), timeTo.getHour(), hours, limit).stream()
+                .map(candidate -> new RoomCandidateDto(rooms.get(candidate.room()).getName(),
+                        dateFrom.plusDays(candidate.day()), LocalTime.of(candidate.startHour(), 0),
+                        LocalTime.of(candidate.startHour() + hours, 0)))
+                .toList();
+    }
+
+    @Override
+    public SseEmitter streamEvents(String roomName) {
+
+        logger.debug("Streaming booking events of room {}", roomName);
+
+        Long roomId = referenceResolver.findRoomId(roomName)
+                .orElseThrow(() -> new NotFoundException(ROOM_NOT_FOUND + roomName));
+
+        return bookingEventBus.subscribe(roomId);
+    }
+
+    private void validateDates(List<LocalDate> dates) {
+
+        if (dates == null || dates.isEmpty() || dates.size() > MAX_DATES) {
+            throw new BadRequestException(INVALID_DATES);
+        }
+    }
+
+    private void validateHours(LocalTime timeFrom, LocalTime timeTo) {
+
+        if (!timeTo.isAfter(timeFrom)) {
+            throw new BadRequestException(END_BEFORE_START_WARNING);
+        }
+
+        if (!isWholeHour(timeFrom) || !isWholeHour(timeTo)) {
+            throw new BadRequestException(WHOLE_HOURS_ONLY);
+        }
+    }
+
+    private boolean isWholeHour(LocalTime time) {
+        return time.equals(LocalTime.of(time.getHour(), 0));
+    }
+}
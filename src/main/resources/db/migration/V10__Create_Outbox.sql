@@ -0,0 +1,11 @@
+-- Booking events waiting for OutboxRelay, inserted in the transaction that writes the booking. Rows are deleted once
+-- delivered, so the table only holds the backlog. Ids come 50 at a time from outbox_seq to keep inserts batchable.
+CREATE SEQUENCE outbox_seq INCREMENT BY 50;
+
+CREATE TABLE outbox (
+    id BIGINT PRIMARY KEY,
+    event_type VARCHAR(32) NOT NULL,
+    booking_id BIGINT NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,4 @@
+-- Equality columns first, then the time range, so room/day listings and the overlap check are a single index range.
+CREATE INDEX idx_booking_room_date_time ON booking (room_id, booking_date, start_time, end_time);
+
+CREATE INDEX idx_booking_employee_id ON booking (employee_id);
@@ -0,0 +1,2 @@
+-- Matches the (booking_date, start_time, id) ordering of the keyset listing, so a page is an index range scan.
+CREATE INDEX idx_booking_date_time_id ON booking (booking_date, start_time, id);
@@ -0,0 +1,15 @@
+-- Cancelled bookings keep their row until compaction moves it to booking_archive; active rows have no cancelled_at.
+ALTER TABLE booking ADD COLUMN cancelled_at TIMESTAMP;
+
+CREATE TABLE booking_archive (
+    id BIGINT PRIMARY KEY,
+    room_id BIGINT NOT NULL,
+    employee_id BIGINT NOT NULL,
+    booking_date DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    cancelled_at TIMESTAMP,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,112 @@
+package com.acmelabinc.roombook.availability;
+
+import com.acmelabinc.roombook.dtos.BookingRequestDto;
+import com.acmelabinc.roombook.entities.Booking;
+import com.acmelabinc.roombook.repositories.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fires conflicting bookings in parallel with the interval index disabled, so the overlap check goes to the database
+ * and only the admission lock keeps check and insert from interleaving.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "roombook.booking-index.enabled=false")
+@DirtiesContext
+public class BookingAdmissionStressTest {
+
+    private static final int REQUESTS = 2000;
+    private static final int CLIENTS = 64;
+    private static final List<String> ROOMS = List.of("Earth", "Jupyter", "Mars", "Venus");
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void testParallelConflictingBookings_NoDoubleBookings() throws Exception {
+
+        LocalDate date = LocalDate.now().plusDays(1L);
+        Random random = new Random(42);
+        List<BookingRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            int startHour = 8 + random.nextInt(10);
+            requests.add(buildBookingRequestDto(ROOMS.get(random.nextInt(ROOMS.size())), date,
+                    LocalTime.of(startHour, 0), LocalTime.of(startHour + 1 + random.nextInt(3), 0)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<HttpStatus>> responses = new ArrayList<>();
+        long started = System.nanoTime();
+        for (BookingRequestDto request : requests) {
+            responses.add(executor.submit(() -> HttpStatus.valueOf(
+                    restTemplate.postForEntity("/api/bookings", request, String.class).getStatusCode().value())));
+        }
+
+        int created = 0;
+        for (Future<HttpStatus> response : responses) {
+            HttpStatus status = response.get();
+            assertTrue(status == HttpStatus.OK || status == HttpStatus.CONFLICT, "Unexpected status " + status);
+            if (status == HttpStatus.OK) {
+                created++;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        logger.info("{} booking requests, {} created, {} requests/s", REQUESTS, created,
+                REQUESTS * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+
+        List<Booking> bookings = bookingRepository.findAll();
+        assertEquals(created, bookings.size());
+
+        Map<Long, List<Booking>> bookingsPerRoom = bookings.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getRoom().getId()));
+        for (List<Booking> roomBookings : bookingsPerRoom.values()) {
+            roomBookings.sort(Comparator.comparing(Booking::getStartTime));
+            for (int i = 1; i < roomBookings.size(); i++) {
+                assertTrue(!roomBookings.get(i).getStartTime().isBefore(roomBookings.get(i - 1).getEndTime()),
+                        "Double booking for room " + roomBookings.get(i).getRoom().getId());
+            }
+        }
+    }
+
+    private static BookingRequestDto buildBookingRequestDto(String roomName, LocalDate date, LocalTime startTime,
+                                                            LocalTime endTime) {
+        BookingRequestDto requestDto = new BookingRequestDto();
+        requestDto.setRoomName(roomName);
+        requestDto.setEmployeeEmail("pluto@acme.com");
+        requestDto.setBookingDate(date);
+        requestDto.setStartTime(startTime);
+        requestDto.setEndTime(endTime);
+        return requestDto;
+    }
+}
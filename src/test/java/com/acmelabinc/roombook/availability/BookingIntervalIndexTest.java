@@ -0,0 +1,147 @@
+package com.acmelabinc.roombook.availability;
+
+import com.acmelabinc.roombook.repositories.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class BookingIntervalIndexTest {
+
+    private static final Long ROOM_ID = 1L;
+    private static final LocalDate DATE = LocalDate.now().plusDays(1L);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, true);
+    }
+
+    @Test
+    void testEvictPastDays() {
+
+        LocalDate yesterday = LocalDate.now().minusDays(1L);
+        bookingIntervalIndex.add(ROOM_ID, yesterday, LocalTime.of(10, 0), LocalTime.of(11, 0));
+        bookingIntervalIndex.add(2L, yesterday.minusDays(30L), LocalTime.of(10, 0), LocalTime.of(11, 0));
+        bookingIntervalIndex.add(ROOM_ID, LocalDate.now(), LocalTime.of(10, 0), LocalTime.of(11, 0));
+        bookingIntervalIndex.add(ROOM_ID, DATE, LocalTime.of(10, 0), LocalTime.of(11, 0));
+
+        assertEquals(2, bookingIntervalIndex.evictPastDays());
+
+        assertFalse(bookingIntervalIndex.overlaps(ROOM_ID, yesterday, LocalTime.of(10, 0), LocalTime.of(11, 0)));
+        assertTrue(bookingIntervalIndex.overlaps(ROOM_ID, LocalDate.now(), LocalTime.of(10, 0), LocalTime.of(11, 0)));
+        assertTrue(bookingIntervalIndex.overlaps(ROOM_ID, DATE, LocalTime.of(10, 0), LocalTime.of(11, 0)));
+        assertEquals(0, bookingIntervalIndex.evictPastDays());
+    }
+
+    @Test
+    void testOverlaps_EmptyIndex() {
+        assertFalse(bookingIntervalIndex.overlaps(ROOM_ID, DATE, LocalTime.of(10, 0), LocalTime.of(11, 0)));
+    }
+
+    @Test
+    void testOverlaps_AdjacentAndOverlappingIntervals() {
+
+        bookingIntervalIndex.add(ROOM_ID, DATE, LocalTime.of(10, 0), LocalTime.of(12, 0));
+        bookingIntervalIndex.add(ROOM_ID, DATE, LocalTime.of(14, 0), LocalTime.of(15, 0));
+
+        assertFalse(bookingIntervalIndex.overlaps(ROOM_ID, DATE, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        assertFalse(bookingIntervalIndex.overlaps(ROOM_ID, DATE, LocalTime.of(12, 0), LocalTime.of(14, 0)));
+        assertFalse(bookingIntervalIndex.overlaps(ROOM_ID, DATE, LocalTime.of(15, 0), LocalTime.of(16, 0)));
+        assertTrue(bookingIntervalIndex.overlaps(ROOM_ID, DATE, LocalTime.of(11, 0), LocalTime.of(12, 0)));
+        assertTrue(bookingIntervalIndex.overlaps(ROOM_ID, DATE, LocalTime.of(9, 0), LocalTime.of(16, 0)));
+        assertTrue(bookingIntervalIndex.overlaps(ROOM_ID, DATE, LocalTime.of(13, 30), LocalTime.of(14, 30)));
+    }
+
+    @Test
+    void testOverlaps_OtherRoomOrDate() {
+
+        bookingIntervalIndex.add(ROOM_ID, DATE, LocalTime.of(10, 0), LocalTime.of(12, 0));
+
+        assertFalse(bookingIntervalIndex.overlaps(2L, DATE, LocalTime.of(10, 0), LocalTime.of(12, 0)));
+        assertFalse(bookingIntervalIndex.overlaps(ROOM_ID, DATE.plusDays(1L), LocalTime.of(10, 0), LocalTime.of(12, 0)));
+    }
+
+    @Test
+    void testOverlaps_LongerEarlierBooking() {
+
+        bookingIntervalIndex.add(ROOM_ID, DATE, LocalTime.of(8, 0), LocalTime.of(18, 0));
+        bookingIntervalIndex.add(ROOM_ID, DATE, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        assertTrue(bookingIntervalIndex.overlaps(ROOM_ID, DATE, LocalTime.of(15, 0), LocalTime.of(16, 0)));
+    }
+
+    @Test
+    void testTryReserve() {
+
+        assertTrue(bookingIntervalIndex.tryReserve(ROOM_ID, DATE, LocalTime.of(10, 0), LocalTime.of(12, 0)));
+        assertFalse(bookingIntervalIndex.tryReserve(ROOM_ID, DATE, LocalTime.of(11, 0), LocalTime.of(13, 0)));
+        assertTrue(bookingIntervalIndex.tryReserve(ROOM_ID, DATE, LocalTime.of(12, 0), LocalTime.of(13, 0)));
+    }
+
+    @Test
+    void testRemove() {
+
+        bookingIntervalIndex.add(ROOM_ID, DATE, LocalTime.of(10, 0), LocalTime.of(12, 0));
+        bookingIntervalIndex.remove(ROOM_ID, DATE, LocalTime.of(10, 0), LocalTime.of(12, 0));
+
+        assertFalse(bookingIntervalIndex.overlaps(ROOM_ID, DATE, LocalTime.of(10, 0), LocalTime.of(12, 0)));
+    }
+
+    @Test
+    void testReleaseAfterCommit() {
+
+        bookingIntervalIndex.add(ROOM_ID, DATE, LocalTime.of(10, 0), LocalTime.of(12, 0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookingIntervalIndex.releaseAfterCommit(ROOM_ID, DATE, LocalTime.of(10, 0), LocalTime.of(12, 0));
+            assertTrue(bookingIntervalIndex.overlaps(ROOM_ID, DATE, LocalTime.of(10, 0), LocalTime.of(12, 0)));
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(bookingIntervalIndex.overlaps(ROOM_ID, DATE, LocalTime.of(10, 0), LocalTime.of(12, 0)));
+    }
+
+    @Test
+    void testWarmUp() {
+
+        when(bookingRepository.findSlotsFrom(LocalDate.now())).thenReturn(
+                List.of(new BookingSlot(ROOM_ID, DATE, LocalTime.of(10, 0), LocalTime.of(12, 0))));
+
+        bookingIntervalIndex.warmUp();
+
+        assertTrue(bookingIntervalIndex.overlaps(ROOM_ID, DATE, LocalTime.of(11, 0), LocalTime.of(12, 0)));
+    }
+
+    @Test
+    void testWarmUp_Disabled() {
+
+        BookingIntervalIndex disabledIndex = new BookingIntervalIndex(bookingRepository, false);
+
+        disabledIndex.warmUp();
+
+        assertFalse(disabledIndex.isEnabled());
+        verifyNoInteractions(bookingRepository);
+    }
+}
@@ -0,0 +1,55 @@
+package com.acmelabinc.roombook.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FreeSlotSearchTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(1L);
+
+    @Test
+    void testRunStarts_OnlyWhereTheWholeRunIsFreeInsideTheWindow() {
+
+        int bitmap = HourlyBitmap.of(LocalTime.of(11, 0), LocalTime.of(12, 0));
+        int window = HourlyBitmap.of(LocalTime.of(9, 0), LocalTime.of(15, 0));
+
+        // 9-11 fits, 10-12 and 11-13 hit the booking, 12-14 fits, 13-15 fits, 14-16 leaves the window.
+        assertEquals((1 << 9) | (1 << 12) | (1 << 13), FreeSlotSearch.runStarts(bitmap, window, 2));
+        assertEquals(0, FreeSlotSearch.runStarts(bitmap, window, 4));
+    }
+
+    @Test
+    void testOccupancy_IgnoresSlotsOutsideTheRange() {
+
+        int[] bitmaps = FreeSlotSearch.occupancy(List.of(7L, 3L), DATE, 2, List.of(
+                new BookingSlot(3L, DATE.plusDays(1L), LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                new BookingSlot(3L, DATE.plusDays(2L), LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                new BookingSlot(5L, DATE, LocalTime.of(9, 0), LocalTime.of(10, 0))));
+
+        assertEquals(List.of(0, 0, 0, 1 << 9), List.of(bitmaps[0], bitmaps[1], bitmaps[2], bitmaps[3]));
+    }
+
+    @Test
+    void testSearch_ForkJoinMatchesSequential() {
+
+        int days = 30;
+        int[] bitmaps = new int[2000 * days];
+        Random random = new Random(42L);
+        for (int i = 0; i < bitmaps.length; i++) {
+            bitmaps[i] = random.nextInt() & random.nextInt();
+        }
+
+        List<FreeSlotSearch.Candidate> sequential = FreeSlotSearch.search(bitmaps, days, 12, 18, 2, 50,
+                Integer.MAX_VALUE);
+        List<FreeSlotSearch.Candidate> parallel = FreeSlotSearch.search(bitmaps, days, 12, 18, 2, 50, 64);
+
+        assertEquals(50, sequential.size());
+        assertEquals(sequential, parallel);
+    }
+}
@@ -0,0 +1,92 @@
+package com.acmelabinc.roombook.availability;
+
+import com.acmelabinc.roombook.repositories.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RoomDayOccupancyTest {
+
+    private static final Long ROOM_ID = 1L;
+    private static final LocalDate DATE = LocalDate.now().plusDays(1L);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private RoomDayOccupancy roomDayOccupancy;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        roomDayOccupancy = new RoomDayOccupancy(bookingRepository, new SimpleMeterRegistry(), "maximumSize=100");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testGet_BuildsBitmapAndCachesIt() {
+
+        when(bookingRepository.findSlotsIn(anyCollection(), anyCollection())).thenReturn(List.of(
+                new BookingSlot(ROOM_ID, DATE, LocalTime.of(9, 0), LocalTime.of(11, 0)),
+                new BookingSlot(ROOM_ID, DATE, LocalTime.of(14, 30), LocalTime.of(15, 30))));
+
+        int expected = HourlyBitmap.of(LocalTime.of(9, 0), LocalTime.of(11, 0)) |
+                HourlyBitmap.of(LocalTime.of(14, 0), LocalTime.of(16, 0));
+        assertEquals(expected, roomDayOccupancy.get(ROOM_ID, DATE));
+        assertEquals(expected, roomDayOccupancy.get(ROOM_ID, DATE));
+
+        verify(bookingRepository, times(1)).findSlotsIn(anyCollection(), anyCollection());
+    }
+
+    @Test
+    void testGetAll_LoadsRoomDaysWithOneQuery() {
+
+        when(bookingRepository.findSlotsIn(anyCollection(), anyCollection())).thenReturn(List.of(
+                new BookingSlot(2L, DATE.plusDays(1L), LocalTime.of(14, 0), LocalTime.of(15, 0))));
+
+        List<RoomDay> roomDays = List.of(new RoomDay(ROOM_ID, DATE), new RoomDay(ROOM_ID, DATE.plusDays(1L)),
+                new RoomDay(2L, DATE), new RoomDay(2L, DATE.plusDays(1L)));
+        Map<RoomDay, Integer> bitmaps = roomDayOccupancy.getAll(roomDays);
+
+        assertEquals(4, bitmaps.size());
+        assertEquals(0, bitmaps.get(new RoomDay(ROOM_ID, DATE.plusDays(1L))));
+        assertEquals(1 << 14, bitmaps.get(new RoomDay(2L, DATE.plusDays(1L))));
+        verify(bookingRepository, times(1)).findSlotsIn(anyCollection(), anyCollection());
+    }
+
+    @Test
+    void testInvalidateAfterCommit_ReloadsOnlyAfterCommit() {
+
+        when(bookingRepository.findSlotsIn(anyCollection(), anyCollection())).thenReturn(List.of())
+                .thenReturn(List.of(new BookingSlot(ROOM_ID, DATE, LocalTime.of(10, 0), LocalTime.of(11, 0))));
+        assertEquals(0, roomDayOccupancy.get(ROOM_ID, DATE));
+
+        TransactionSynchronizationManager.initSynchronization();
+        roomDayOccupancy.invalidateAfterCommit(ROOM_ID, DATE);
+        assertEquals(0, roomDayOccupancy.get(ROOM_ID, DATE));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1 << 10, roomDayOccupancy.get(ROOM_ID, DATE));
+    }
+}
@@ -0,0 +1,88 @@
+package com.acmelabinc.roombook.availability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RoomDayVersionsTest {
+
+    private static final Long ROOM_ID = 1L;
+    private static final LocalDate DATE = LocalDate.now().plusDays(1L);
+    private static final Duration SETTLE_TIME = Duration.ofMinutes(1L);
+
+    private RoomDayVersions roomDayVersions;
+
+    @BeforeEach
+    void setUp() {
+        roomDayVersions = new RoomDayVersions(new SimpleMeterRegistry(), "maximumSize=100", SETTLE_TIME);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testGetETag_StableUntilBumped() {
+
+        String eTag = roomDayVersions.getETag(ROOM_ID, DATE);
+        assertEquals(eTag, roomDayVersions.getETag(ROOM_ID, DATE));
+        assertNotEquals(eTag, roomDayVersions.getETag(ROOM_ID, DATE.plusDays(1L)));
+
+        roomDayVersions.bumpAfterCommit(ROOM_ID, DATE.plusDays(1L));
+        assertEquals(eTag, roomDayVersions.getETag(ROOM_ID, DATE));
+
+        roomDayVersions.bumpAfterCommit(ROOM_ID, DATE);
+        assertNotEquals(eTag, roomDayVersions.getETag(ROOM_ID, DATE));
+    }
+
+    @Test
+    void testBumpAfterCommit_ChangesETagOnlyAfterCommit() {
+
+        String eTag = roomDayVersions.getETag(ROOM_ID, DATE);
+
+        TransactionSynchronizationManager.initSynchronization();
+        roomDayVersions.bumpAfterCommit(ROOM_ID, DATE);
+        assertEquals(eTag, roomDayVersions.getETag(ROOM_ID, DATE));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNotEquals(eTag, roomDayVersions.getETag(ROOM_ID, DATE));
+    }
+
+    @Test
+    void testIsSettling_OnlyAfterABump() {
+
+        assertFalse(roomDayVersions.isSettling(ROOM_ID, DATE));
+
+        roomDayVersions.bumpAfterCommit(ROOM_ID, DATE);
+
+        assertTrue(roomDayVersions.isSettling(ROOM_ID, DATE));
+        assertFalse(roomDayVersions.isSettling(ROOM_ID, DATE.plusDays(1L)));
+
+        RoomDayVersions withoutReplica = new RoomDayVersions(new SimpleMeterRegistry(), "maximumSize=100",
+                Duration.ZERO);
+        withoutReplica.bumpAfterCommit(ROOM_ID, DATE);
+        assertFalse(withoutReplica.isSettling(ROOM_ID, DATE));
+    }
+
+    @Test
+    void testGetETag_DiffersBetweenInstances() {
+
+        RoomDayVersions restarted = new RoomDayVersions(new SimpleMeterRegistry(), "maximumSize=100", SETTLE_TIME);
+
+        assertNotEquals(roomDayVersions.getETag(ROOM_ID, DATE), restarted.getETag(ROOM_ID, DATE));
+    }
+}
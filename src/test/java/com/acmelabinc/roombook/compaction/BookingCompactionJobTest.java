@@ -0,0 +1,56 @@
+package com.acmelabinc.roombook.compaction;
+
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Transactional
+@TestPropertySource(properties = "roombook.compaction.batch-size=2")
+public class BookingCompactionJobTest {
+
+    private static final String INSERT = "INSERT INTO booking (room_id, employee_id, booking_date, start_time, " +
+            "end_time, cancelled_at) VALUES ((SELECT id FROM room WHERE name = 'Earth'), " +
+            "(SELECT id FROM employee WHERE email = 'pluto@acme.com'), ?, ?, ?, ?)";
+
+    @Autowired
+    private BookingCompactionJob bookingCompactionJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testCompact_ArchivesOldCancelledAndPastBookings() {
+
+        LocalDate tomorrow = LocalDate.now().plusDays(1L);
+        LocalDate longAgo = LocalDate.now().minusDays(365L);
+
+        insert(tomorrow, 8, LocalDateTime.now().minusDays(2L));
+        insert(tomorrow, 9, LocalDateTime.now());
+        insert(tomorrow, 10, null);
+        insert(longAgo, 8, null);
+        insert(longAgo, 9, null);
+        insert(LocalDate.now().minusDays(1L), 8, null);
+
+        assertEquals(3, bookingCompactionJob.compact());
+
+        assertEquals(List.of(8, 8, 9), jdbcTemplate.queryForList(
+                "SELECT EXTRACT(HOUR FROM start_time) FROM booking_archive ORDER BY booking_date DESC, start_time",
+                Integer.class));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM booking", Integer.class));
+    }
+
+    private void insert(LocalDate date, int hour, LocalDateTime cancelledAt) {
+        jdbcTemplate.update(INSERT, date, String.format("%02d:00", hour), String.format("%02d:00", hour + 1),
+                cancelledAt);
+    }
+}
@@ -0,0 +1,93 @@
+package com.acmelabinc.roombook.compaction;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the PostgreSQL migrations on an embedded PostgreSQL and checks the monthly partitions of {@code booking}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class BookingPartitionJobTest {
+
+    private static final String INSERT = "INSERT INTO booking (room_id, employee_id, booking_date, start_time, " +
+            "end_time) VALUES ((SELECT MIN(id) FROM room), (SELECT MIN(id) FROM employee), ?, ?::TIME, ?::TIME) " +
+            "RETURNING tableoid::regclass::TEXT";
+
+    private EmbeddedPostgres postgres;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration", "classpath:db/vendor/postgresql")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterAll
+    void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void testMaintain_CreatesPartitionsAheadAndArchivesOldOnes() throws MetaDataAccessException {
+
+        YearMonth beyondHorizon = YearMonth.now().plusMonths(13);
+        YearMonth longAgo = YearMonth.now().minusMonths(24);
+
+        assertEquals("booking_default", insert(beyondHorizon.atDay(1), "10:00", "11:00"));
+        assertEquals("booking_default", insert(longAgo.atDay(10), "10:00", "11:00"));
+        assertTrue(jdbcTemplate.queryForObject("SELECT booking_create_partition(?)", Boolean.class, longAgo.atDay(1)));
+
+        assertEquals(1, new BookingPartitionJob(jdbcTemplate, 13, Duration.ofDays(90)).maintain());
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM booking_default", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition(beyondHorizon),
+                Integer.class));
+        assertNull(jdbcTemplate.queryForObject("SELECT to_regclass(?)::TEXT", String.class, partition(longAgo)));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM booking_archive WHERE booking_date = ?",
+                Integer.class, longAgo.atDay(10)));
+    }
+
+    @Test
+    void testOverlap_RejectedWithinPartitionUnlessCancelled() {
+
+        LocalDate tomorrow = LocalDate.now().plusDays(1L);
+        assertEquals(partition(YearMonth.from(tomorrow)), insert(tomorrow, "10:00", "12:00"));
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> insert(tomorrow, "11:00", "12:00"));
+        assertTrue(exception.getMostSpecificCause().getMessage().contains("booking_no_overlap"));
+
+        jdbcTemplate.update("UPDATE booking SET cancelled_at = now() WHERE booking_date = ?", tomorrow);
+        insert(tomorrow, "11:00", "12:00");
+    }
+
+    private String insert(LocalDate date, String startTime, String endTime) {
+        return jdbcTemplate.queryForObject(INSERT, String.class, date, startTime, endTime);
+    }
+
+    private static String partition(YearMonth month) {
+        return String.format("booking_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+}
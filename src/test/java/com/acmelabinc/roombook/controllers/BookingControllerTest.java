@@ -1,25 +1,43 @@
 package com.acmelabinc.roombook.controllers;
 
 import com.acmelabinc.roombook.dtos.BookingRequestDto;
+import com.acmelabinc.roombook.dtos.Recurrence;
+import com.acmelabinc.roombook.dtos.RecurringBookingRequestDto;
+import com.acmelabinc.roombook.repositories.BookingRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -31,6 +49,12 @@ public class BookingControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SpyBean
+    private BookingRepository bookingRepository;
+
     @Test
     public void testGetBookingsPerRoom() throws Exception {
 
@@ -46,6 +70,33 @@ public class BookingControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    public void testGetBookingsPerRoom_NotModifiedWhileETagMatches() throws Exception {
+
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/api/bookings?roomName=Earth&date=2024-11-17"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        clearInvocations(bookingRepository);
+        double notModified = meterRegistry.counter("roombook.booking.listing.responses", "status", "304").count();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/bookings?roomName=Earth&date=2024-11-17")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""))
+                .andDo(print());
+
+        verifyNoInteractions(bookingRepository);
+        assertEquals(notModified + 1,
+                meterRegistry.counter("roombook.booking.listing.responses", "status", "304").count());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/bookings?roomName=Earth&date=2024-11-18")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andDo(print());
+    }
+
     @Test
     public void testGetAll() throws Exception {
 
@@ -61,6 +112,55 @@ public class BookingControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    public void testGetAllAfter() throws Exception {
+
+        MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders.post("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(builidValidBookingRequestDto()));
+
+        mockMvc.perform(mockRequest);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/bookings/all/seek?pageSize=5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andDo(print());
+    }
+
+    @Test
+    public void testGetAllAfter_InvalidCursor() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/bookings/all/seek?cursor=invalid")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @Test
+    public void testExportAll_Csv() throws Exception {
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/bookings/export?format=csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(Duration.ofMinutes(10L).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string("id,room,bookedBy,bookingDate,timeFrom,timeTo\n"))
+                .andDo(print());
+    }
+
+    @Test
+    public void testExportAll_InvalidFormat() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/bookings/export?format=xml"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
     @Test
     public void testSave() throws Exception {
 
@@ -133,6 +233,52 @@ public class BookingControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    public void testSaveAll() throws Exception {
+
+        BookingRequestDto overlapping = builidValidBookingRequestDto();
+        overlapping.setStartTime(LocalTime.of(11, 0));
+
+        MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders.post("/api/bookings/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(List.of(builidValidBookingRequestDto(), overlapping)));
+
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("OK"))
+                .andExpect(jsonPath("$[0].booking.room").value("Earth"))
+                .andExpect(jsonPath("$[1].status").value("CONFLICT"))
+                .andDo(print());
+    }
+
+    @Test
+    public void testSaveRecurring_WeeklyForAYearThenOverlap() throws Exception {
+
+        RecurringBookingRequestDto requestDto = new RecurringBookingRequestDto();
+        requestDto.setRoomName("Earth");
+        requestDto.setEmployeeEmail("pluto@acme.com");
+        requestDto.setBookingDate(LocalDate.now().plusDays(1L));
+        requestDto.setStartTime(LocalTime.of(10, 0));
+        requestDto.setEndTime(LocalTime.of(11, 0));
+        requestDto.setRecurrence(Recurrence.WEEKLY);
+        requestDto.setOccurrences(52);
+
+        MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders.post("/api/bookings/recurring")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(requestDto));
+
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(52))
+                .andExpect(jsonPath("$[51].bookingDate").value(LocalDate.now().plusDays(1L).plusWeeks(51L)
+                        .toString()))
+                .andDo(print());
+
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isConflict())
+                .andDo(print());
+    }
+
     @Test
     public void testCancel() throws Exception {
 
@@ -149,6 +295,28 @@ public class BookingControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    public void testCancel_HidesBookingAndRejectsSecondCancel() throws Exception {
+
+        MvcResult saved = mockMvc.perform(MockMvcRequestBuilders.post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(builidValidBookingRequestDto())))
+                .andExpect(status().isOk())
+                .andReturn();
+        Number id = JsonPath.read(saved.getResponse().getContentAsString(), "$.id");
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/bookings/cancel/" + id))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/bookings?roomName=Earth&date=" +
+                        LocalDate.now().plusDays(1L)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/bookings/cancel/" + id))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     public void testCancel_ForPastBooking() throws Exception {
 
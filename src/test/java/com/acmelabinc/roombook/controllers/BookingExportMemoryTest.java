@@ -0,0 +1,129 @@
+package com.acmelabinc.roombook.controllers;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports 1,000,000 bookings as NDJSON over HTTP and samples the heap after a GC while the response is read, to check
+ * that the export is streamed rather than collected (the test JVM runs with a 512 MB heap). The bookings live in a
+ * file-backed H2 database, as they would in an external database, so that only the export itself is on the heap. The
+ * row count can be set with {@code -Droombook.export-test.rows}. It is tagged {@code memory} and runs with
+ * {@code gradle memoryTest} rather than with the default test task.
+ */
+@Tag("memory")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:file:./build/export-test/roombook-${random.uuid}")
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class BookingExportMemoryTest {
+
+    private static final int ROOMS = 500;
+    private static final int SLOTS_PER_DAY = 8;
+    private static final int DAYS_PER_INSERT = 25;
+    private static final int SAMPLE_EVERY_LINES = 100_000;
+    private static final long MAX_HEAP_GROWTH_BYTES = 64L * 1024 * 1024;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int rows;
+
+    @BeforeAll
+    void setUp() {
+        int days = Math.max(1, Integer.getInteger("roombook.export-test.rows", 1_000_000) / (ROOMS * SLOTS_PER_DAY));
+        rows = days * ROOMS * SLOTS_PER_DAY;
+
+        jdbcTemplate.update("INSERT INTO room (name) SELECT 'Export ' || X FROM SYSTEM_RANGE(1, " + ROOMS + ")");
+        for (int firstDay = 0; firstDay < days; firstDay += DAYS_PER_INSERT) {
+            int lastDay = Math.min(days, firstDay + DAYS_PER_INSERT) - 1;
+            jdbcTemplate.update("INSERT INTO booking (room_id, employee_id, booking_date, start_time, end_time) " +
+                    "SELECT r.id, (SELECT MIN(id) FROM employee), " +
+                    "DATEADD(DAY, X / " + SLOTS_PER_DAY + ", DATE '" + FIRST_DAY + "'), " +
+                    "DATEADD(HOUR, MOD(X, " + SLOTS_PER_DAY + "), TIME '09:00:00'), " +
+                    "DATEADD(HOUR, MOD(X, " + SLOTS_PER_DAY + ") + 1, TIME '09:00:00') " +
+                    "FROM room r CROSS JOIN SYSTEM_RANGE(" + firstDay * SLOTS_PER_DAY + ", " +
+                    ((lastDay + 1) * SLOTS_PER_DAY - 1) + ") WHERE r.name LIKE 'Export %'");
+        }
+    }
+
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS DELETE FILES");
+    }
+
+    @Test
+    void testExportAll_HeapStaysFlat() throws Exception {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/bookings/export"))
+                .GET()
+                .build();
+
+        long baseline = usedHeapAfterGc();
+        long peak = baseline;
+        long lines = 0;
+        String firstLine = null;
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            assertEquals(200, response.statusCode());
+
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (firstLine == null) {
+                        firstLine = line;
+                    }
+                    if (++lines % SAMPLE_EVERY_LINES == 0) {
+                        peak = Math.max(peak, usedHeapAfterGc());
+                    }
+                }
+            }
+        }
+
+        logger.info("Exported {} lines, heap after GC {} MB at start and {} MB at peak", lines,
+                baseline / (1024 * 1024), peak / (1024 * 1024));
+
+        assertEquals(rows, lines);
+        assertTrue(firstLine.startsWith("{\"id\":") && firstLine.contains("\"bookingDate\":\"" + FIRST_DAY + "\""),
+                firstLine);
+        assertTrue(peak - baseline < MAX_HEAP_GROWTH_BYTES,
+                "Heap grew by " + (peak - baseline) / (1024 * 1024) + " MB during the export");
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
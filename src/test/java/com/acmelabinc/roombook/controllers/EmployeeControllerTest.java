@@ -0,0 +1,91 @@
+package com.acmelabinc.roombook.controllers;
+
+import com.acmelabinc.roombook.dtos.BookingRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class EmployeeControllerTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(1L);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testGetBookings_PagesThroughTheRange() throws Exception {
+
+        save("pluto@acme.com", DATE, 9);
+        save("pluto@acme.com", DATE.plusDays(1L), 9);
+        save("pluto@acme.com", DATE.plusDays(1L), 14);
+        save("pluto@acme.com", DATE.plusDays(2L), 9);
+        save("ceres@acme.com", DATE.plusDays(1L), 11);
+
+        String body = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/pluto@acme.com/bookings?from=" +
+                        DATE.plusDays(1L) + "&to=" + DATE.plusDays(2L) + "&pageSize=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].bookingDate").value(DATE.plusDays(1L).toString()))
+                .andExpect(jsonPath("$.content[1].timeFrom").value("14:00:00"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = new ObjectMapper().readTree(body).get("nextCursor").asText();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/pluto@acme.com/bookings?from=" +
+                        DATE.plusDays(1L) + "&to=" + DATE.plusDays(2L) + "&pageSize=2&cursor=" + cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].bookingDate").value(DATE.plusDays(2L).toString()))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    public void testGetBookings_EmployeeNotFound() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/nobody@acme.com/bookings"))
+                .andExpect(status().isNotFound());
+    }
+
+    private void save(String employeeEmail, LocalDate date, int startHour) throws Exception {
+
+        BookingRequestDto requestDto = new BookingRequestDto();
+        requestDto.setRoomName("Earth");
+        requestDto.setEmployeeEmail(employeeEmail);
+        requestDto.setBookingDate(date);
+        requestDto.setStartTime(LocalTime.of(startHour, 0));
+        requestDto.setEndTime(LocalTime.of(startHour + 1, 0));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(requestDto)))
+                .andExpect(status().isOk());
+    }
+
+    private String asJsonString(Object o) throws JsonProcessingException {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .modules(new JavaTimeModule())
+                .build();
+
+        return mapper.writeValueAsString(o);
+    }
+}
@@ -0,0 +1,258 @@
+package com.acmelabinc.roombook.controllers;
+
+import com.acmelabinc.roombook.dtos.BookingRequestDto;
+import com.acmelabinc.roombook.dtos.BookingResponseDto;
+import com.acmelabinc.roombook.dtos.BookingSliceDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+@DirtiesContext
+public class ReactiveBookingControllerTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(1L);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @AfterEach
+    void tearDown() {
+        databaseClient.sql("DELETE FROM booking").then().block();
+    }
+
+    @Test
+    public void testSave() {
+
+        webTestClient.post().uri("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildBookingRequestDto("Earth", "pluto@acme.com", 10, 12))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isNumber()
+                .jsonPath("$.room").isEqualTo("Earth")
+                .jsonPath("$.timeTo").isEqualTo("12:00:00");
+
+        webTestClient.get().uri("/api/bookings?roomName=Earth&date=" + DATE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(1)
+                .jsonPath("$.content[0].bookedBy").isEqualTo("pluto@acme.com");
+    }
+
+    @Test
+    public void testSave_Overlap() {
+
+        webTestClient.post().uri("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildBookingRequestDto("Earth", "pluto@acme.com", 10, 12))
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.post().uri("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildBookingRequestDto("Earth", "ceres@acme.com", 11, 13))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    public void testSave_ConcurrentOverlapsAdmitOnlyOne() {
+
+        WebClient webClient = WebClient.create("http://localhost:" + port);
+
+        List<Integer> statuses = Flux.range(0, 8)
+                .flatMap(i -> webClient.post().uri("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(buildBookingRequestDto("Jupyter", "orcus@acme.com", 9 + i % 2, 11))
+                        .exchangeToMono(response -> Mono.just(response.statusCode().value())))
+                .collectList()
+                .block();
+
+        assertEquals(1, statuses.stream().filter(status -> status == 200).count(), statuses.toString());
+        assertEquals(7, statuses.stream().filter(status -> status == 409).count(), statuses.toString());
+    }
+
+    @Test
+    public void testSave_UnknownRoomAndEmployee() {
+
+        webTestClient.post().uri("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildBookingRequestDto("Pluto", "pluto@acme.com", 10, 12))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Room not found: Pluto");
+
+        webTestClient.post().uri("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildBookingRequestDto("Earth", "nobody@acme.com", 10, 12))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Employee not found: nobody@acme.com");
+    }
+
+    @Test
+    public void testCancel_FreesSlot() {
+
+        Long id = webTestClient.post().uri("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildBookingRequestDto("Earth", "pluto@acme.com", 10, 12))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(BookingResponseDto.class)
+                .getResponseBody()
+                .blockFirst()
+                .getId();
+
+        webTestClient.delete().uri("/api/bookings/cancel/" + id)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.delete().uri("/api/bookings/cancel/" + id)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient.post().uri("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildBookingRequestDto("Earth", "ceres@acme.com", 11, 12))
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/api/bookings?roomName=Earth&date=" + DATE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(1)
+                .jsonPath("$.content[0].bookedBy").isEqualTo("ceres@acme.com");
+    }
+
+    @Test
+    public void testSaveAll_ReportsResultPerItem() {
+
+        webTestClient.post().uri("/api/bookings/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(buildBookingRequestDto("Earth", "pluto@acme.com", 10, 12),
+                        buildBookingRequestDto("Earth", "ceres@acme.com", 11, 12),
+                        buildBookingRequestDto("Mars", "ceres@acme.com", 11, 12)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].status").isEqualTo("OK")
+                .jsonPath("$[1].status").isEqualTo("CONFLICT")
+                .jsonPath("$[2].status").isEqualTo("OK");
+    }
+
+    @Test
+    public void testGetAllAfter_WalksWithCursor() {
+
+        for (int hour = 8; hour < 13; hour++) {
+            webTestClient.post().uri("/api/bookings")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(buildBookingRequestDto("Venus", "sedna@acme.com", hour, hour + 1))
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        String cursor = webTestClient.get().uri("/api/bookings/all/seek?pageSize=3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(3)
+                .jsonPath("$.hasNext").isEqualTo(true)
+                .returnResult()
+                .getResponseBody() == null ? null : nextCursor();
+
+        webTestClient.get().uri("/api/bookings/all/seek?pageSize=3&cursor=" + cursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(2)
+                .jsonPath("$.content[0].timeFrom").isEqualTo("11:00:00")
+                .jsonPath("$.hasNext").isEqualTo(false);
+    }
+
+    @Test
+    public void testExportAll_Csv() {
+
+        webTestClient.post().uri("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildBookingRequestDto("Earth", "pluto@acme.com", 10, 12))
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/api/bookings/export?format=csv")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith("text/csv")
+                .expectBody(String.class)
+                .value(body -> assertTrue(body.startsWith(
+                        "id,room,bookedBy,bookingDate,timeFrom,timeTo\n") && body.contains(",Earth,pluto@acme.com," +
+                        DATE + ",10:00,12:00\n"), body));
+    }
+
+    @Test
+    public void testExportAll_Ndjson() {
+
+        webTestClient.post().uri("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildBookingRequestDto("Earth", "pluto@acme.com", 10, 12))
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/api/bookings/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .value(body -> assertTrue(body.startsWith("{\"id\":") && body.endsWith("\"timeTo\":\"12:00:00\"}\n"),
+                        body));
+    }
+
+    private String nextCursor() {
+        return webTestClient.get().uri("/api/bookings/all/seek?pageSize=3")
+                .exchange()
+                .returnResult(BookingSliceDto.class)
+                .getResponseBody()
+                .blockFirst()
+                .getNextCursor();
+    }
+
+    private static BookingRequestDto buildBookingRequestDto(String roomName, String employeeEmail, int startHour,
+                                                            int endHour) {
+        BookingRequestDto requestDto = new BookingRequestDto();
+        requestDto.setRoomName(roomName);
+        requestDto.setEmployeeEmail(employeeEmail);
+        requestDto.setBookingDate(DATE);
+        requestDto.setStartTime(LocalTime.of(startHour, 0));
+        requestDto.setEndTime(LocalTime.of(endHour, 0));
+        return requestDto;
+    }
+}
@@ -0,0 +1,129 @@
+package com.acmelabinc.roombook.controllers;
+
+import com.acmelabinc.roombook.dtos.BookingRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class RoomControllerTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(1L);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testGetAvailability() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(buildBookingRequestDto("Earth", 14, 16))));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/rooms/Earth/availability?date=" + DATE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.room").value("Earth"))
+                .andExpect(jsonPath("$.freeSlots.length()").value(21))
+                .andExpect(jsonPath("$.freeSlots[*].timeFrom", not(hasItem("14:00:00"))))
+                .andExpect(jsonPath("$.freeSlots[14].timeFrom").value("16:00:00"));
+    }
+
+    @Test
+    public void testGetAvailability_RoomNotFound() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/rooms/Pluto/availability?date=" + DATE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testGetFreeRooms() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(buildBookingRequestDto("Mars", 15, 16))));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/rooms/availability?dates=" + DATE + "," + DATE.plusDays(1L) +
+                        "&timeFrom=14:00&timeTo=16:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].rooms.length()").value(4))
+                .andExpect(jsonPath("$[0].rooms", not(hasItem("Mars"))))
+                .andExpect(jsonPath("$[1].rooms.length()").value(5));
+    }
+
+    @Test
+    public void testGetFreeRooms_EndBeforeStart() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/rooms/availability?dates=" + DATE +
+                        "&timeFrom=16:00&timeTo=14:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testSearchRooms_SnugFitFirst() throws Exception {
+
+        for (BookingRequestDto requestDto : new BookingRequestDto[]{buildBookingRequestDto("Earth", 13, 15),
+                buildBookingRequestDto("Mars", 15, 16)}) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/api/bookings")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(asJsonString(requestDto)));
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/rooms/search?dateFrom=" + DATE +
+                        "&timeFrom=13:00&timeTo=17:00&hours=2&limit=3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].room").value("Mars"))
+                .andExpect(jsonPath("$[0].timeFrom").value("13:00:00"))
+                .andExpect(jsonPath("$[0].timeTo").value("15:00:00"))
+                .andExpect(jsonPath("$[1].room").value("Jupyter"))
+                .andExpect(jsonPath("$[*].room", not(hasItem("Earth"))));
+    }
+
+    @Test
+    public void testSearchRooms_LongerThanWindow() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/rooms/search?dateFrom=" + DATE +
+                        "&timeFrom=13:00&timeTo=15:00&hours=3"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static BookingRequestDto buildBookingRequestDto(String roomName, int startHour, int endHour) {
+        BookingRequestDto requestDto = new BookingRequestDto();
+        requestDto.setRoomName(roomName);
+        requestDto.setEmployeeEmail("pluto@acme.com");
+        requestDto.setBookingDate(DATE);
+        requestDto.setStartTime(LocalTime.of(startHour, 0));
+        requestDto.setEndTime(LocalTime.of(endHour, 0));
+        return requestDto;
+    }
+
+    private String asJsonString(Object o) throws JsonProcessingException {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .modules(new JavaTimeModule())
+                .build();
+
+        return mapper.writeValueAsString(o);
+    }
+}
@@ -0,0 +1,110 @@
+package com.acmelabinc.roombook.events;
+
+import com.acmelabinc.roombook.dtos.BookingRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional: events are only published once the booking's transaction commits.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+public class BookingEventBusTest {
+
+    private static final Duration EVENT_TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingEventBus bookingEventBus;
+
+    @Test
+    void testSaveAndCancel_StreamedToTheRoomsSubscribersOnly() throws Exception {
+
+        MvcResult earth = subscribe("Earth");
+        MvcResult mars = subscribe("Mars");
+        assertEquals(2, bookingEventBus.getSubscriberCount());
+
+        MvcResult saved = mockMvc.perform(MockMvcRequestBuilders.post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildBookingRequestDto())))
+                .andExpect(status().isOk())
+                .andReturn();
+        Number id = JsonPath.read(saved.getResponse().getContentAsString(), "$.id");
+
+        awaitContent(earth, "event:booking-created\ndata:{\"id\":" + id + ",\"room\":\"Earth\"");
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/bookings/cancel/" + id))
+                .andExpect(status().isOk());
+
+        awaitContent(earth, "event:booking-cancelled\ndata:{\"id\":" + id + ",");
+        assertFalse(mars.getResponse().getContentAsString().contains("event:"));
+    }
+
+    @Test
+    void testSubscribe_RoomNotFound() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/rooms/Pluto/events"))
+                .andExpect(status().isNotFound());
+    }
+
+    private MvcResult subscribe(String roomName) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/api/rooms/" + roomName + "/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    // Events are sent from another thread, so the stream is polled until they show up.
+    private static void awaitContent(MvcResult stream, String expected) throws Exception {
+
+        long deadline = System.nanoTime() + EVENT_TIMEOUT.toNanos();
+        while (!stream.getResponse().getContentAsString().contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertTrue(stream.getResponse().getContentAsString().contains(expected),
+                () -> "Expected " + expected + " in " + contentOf(stream));
+    }
+
+    private static String contentOf(MvcResult stream) {
+        try {
+            return stream.getResponse().getContentAsString();
+        } catch (Exception e) {
+            return e.toString();
+        }
+    }
+
+    private static BookingRequestDto buildBookingRequestDto() {
+        BookingRequestDto requestDto = new BookingRequestDto();
+        requestDto.setRoomName("Earth");
+        requestDto.setEmployeeEmail("pluto@acme.com");
+        requestDto.setBookingDate(LocalDate.now().plusDays(5L));
+        requestDto.setStartTime(LocalTime.of(10, 0));
+        requestDto.setEndTime(LocalTime.of(11, 0));
+        return requestDto;
+    }
+}
@@ -0,0 +1,59 @@
+package com.acmelabinc.roombook.exceptions;
+
+import org.apache.catalina.connector.ClientAbortException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+
+public class BookRoomExceptionHandlerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new FailingController())
+                .setControllerAdvice(new BookRoomExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void testClientAbort_IsSwallowed() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/client-abort"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testServerSideIOException_IsNotSwallowed() {
+
+        // Left unhandled, it reaches the container, which answers with a 500.
+        IOException exception = assertThrows(IOException.class,
+                () -> mockMvc.perform(MockMvcRequestBuilders.get("/disk-full")));
+
+        assertEquals("No space left on device", exception.getMessage());
+    }
+
+    @RestController
+    static class FailingController {
+
+        @GetMapping("/client-abort")
+        String clientAbort() throws IOException {
+            throw new ClientAbortException("Broken pipe");
+        }
+
+        @GetMapping("/disk-full")
+        String diskFull() throws IOException {
+            throw new IOException("No space left on device");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.acmelabinc.roombook.jdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GatedDataSourceTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    private GatedDataSource gatedDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(dataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        gatedDataSource = new GatedDataSource(dataSource, 2, 50);
+    }
+
+    @Test
+    void testGetConnection_WaitsForPermitThenTimesOut() throws SQLException {
+
+        gatedDataSource.getConnection();
+        gatedDataSource.getConnection();
+
+        assertEquals(0, gatedDataSource.getAvailablePermits());
+        assertThrows(SQLTransientConnectionException.class, () -> gatedDataSource.getConnection());
+        verify(dataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void testClose_ReleasesPermitOnce() throws SQLException {
+
+        Connection connection = gatedDataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        assertEquals(2, gatedDataSource.getAvailablePermits());
+    }
+
+    @Test
+    void testGetConnection_ReleasesPermitWhenPoolFails() throws SQLException {
+
+        when(dataSource.getConnection()).thenThrow(new SQLException("Pool exhausted"));
+
+        assertThrows(SQLException.class, () -> gatedDataSource.getConnection());
+        assertEquals(2, gatedDataSource.getAvailablePermits());
+    }
+}
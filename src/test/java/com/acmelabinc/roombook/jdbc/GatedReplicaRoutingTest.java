@@ -0,0 +1,73 @@
+package com.acmelabinc.roombook.jdbc;
+
+import com.acmelabinc.roombook.RoombookApplication;
+import com.acmelabinc.roombook.repositories.RoomRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Enables the JDBC gate and the replica routing together: each pool has to be gated behind the router, and both
+ * pools have to be closed with the context, which the test starts itself so that it can close it.
+ */
+public class GatedReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:gated-replica-routing-test;DB_CLOSE_DELAY=-1";
+
+    static {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void testBothPoolsAreGatedPublishedAndClosed() throws Exception {
+
+        HikariDataSource primaryPool;
+        HikariDataSource replicaPool;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(RoombookApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.threads.virtual.enabled=true", "--spring.datasource.hikari.maximum-pool-size=4",
+                        "--roombook.replica.datasource.url=" + REPLICA_URL, "--roombook.replica.datasource.username=sa",
+                        "--roombook.replica.datasource.hikari.maximum-pool-size=3")) {
+
+            ReplicaRoutingDataSource routing = context.getBean(DataSource.class)
+                    .unwrap(ReplicaRoutingDataSource.class);
+            Map<Object, DataSource> targets = routing.getResolvedDataSources();
+            GatedDataSource primary = assertInstanceOf(GatedDataSource.class,
+                    targets.get(ReplicaRoutingDataSource.Target.PRIMARY));
+            GatedDataSource replica = assertInstanceOf(GatedDataSource.class,
+                    targets.get(ReplicaRoutingDataSource.Target.REPLICA));
+
+            assertEquals(5, context.getBean(RoomRepository.class).count());
+            assertEquals(4, primary.getAvailablePermits());
+            assertEquals(3, replica.getAvailablePermits());
+
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            assertNotNull(meterRegistry.find("roombook.jdbc.gate.waiting").tag("pool", "primary").gauge());
+            assertNotNull(meterRegistry.find("roombook.jdbc.gate.waiting").tag("pool", "replica").gauge());
+
+            primaryPool = primary.unwrap(HikariDataSource.class);
+            replicaPool = replica.unwrap(HikariDataSource.class);
+            assertFalse(replicaPool.isClosed());
+        }
+
+        assertTrue(primaryPool.isClosed());
+        assertTrue(replicaPool.isClosed());
+    }
+}
@@ -0,0 +1,32 @@
+package com.acmelabinc.roombook.jdbc;
+
+import com.acmelabinc.roombook.repositories.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest(properties = {"spring.threads.virtual.enabled=true", "spring.datasource.hikari.maximum-pool-size=4"})
+@DirtiesContext
+public class JdbcGateConfigurationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Test
+    void testDataSourceIsGatedToPoolSize() {
+
+        GatedDataSource gate = assertInstanceOf(GatedDataSource.class, dataSource);
+
+        assertEquals(5, roomRepository.count());
+        assertEquals(4, gate.getAvailablePermits());
+    }
+}
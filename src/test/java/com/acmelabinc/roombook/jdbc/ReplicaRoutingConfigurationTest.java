@@ -0,0 +1,116 @@
+package com.acmelabinc.roombook.jdbc;
+
+import com.acmelabinc.roombook.dtos.BookingRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against two H2 databases with the same migrations. Nothing replicates between them, so a booking saved through
+ * the API is only visible to reads that go to the primary.
+ */
+@SpringBootTest(properties = {"roombook.replica.datasource.url=" + ReplicaRoutingConfigurationTest.REPLICA_URL,
+        "roombook.replica.datasource.username=sa", "roombook.replica.pin-duration=1m"})
+@AutoConfigureMockMvc
+@DirtiesContext
+public class ReplicaRoutingConfigurationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-routing-test;DB_CLOSE_DELAY=-1";
+
+    static {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testReadOnlyListingReadsReplicaUnlessPinned() throws Exception {
+
+        LocalDate bookingDate = LocalDate.now().plusDays(3L);
+        String primaryUntil = save(bookingDate);
+
+        assertNotNull(primaryUntil);
+        assertTrue(Long.parseLong(primaryUntil) > System.currentTimeMillis());
+
+        mockMvc.perform(getBookings(bookingDate))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+
+        mockMvc.perform(getBookings(bookingDate).header(PrimaryPinFilter.PRIMARY_UNTIL_HEADER, primaryUntil))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1));
+    }
+
+    @Test
+    void testETagListingReadsPrimaryWhileRoomDaySettles() throws Exception {
+
+        LocalDate bookingDate = LocalDate.now().plusDays(5L);
+        save(bookingDate);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/bookings?roomName=Earth&date=" + bookingDate))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.content.length()").value(1));
+    }
+
+    @Test
+    void testPinBeyondPinDurationIsIgnored() throws Exception {
+
+        LocalDate bookingDate = LocalDate.now().plusDays(4L);
+        save(bookingDate);
+        String tooFarAhead = Long.toString(System.currentTimeMillis() + Duration.ofHours(1L).toMillis());
+
+        mockMvc.perform(getBookings(bookingDate).header(PrimaryPinFilter.PRIMARY_UNTIL_HEADER, tooFarAhead))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+    private String save(LocalDate bookingDate) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildBookingRequestDto(bookingDate))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(PrimaryPinFilter.PRIMARY_UNTIL_HEADER);
+    }
+
+    private static MockHttpServletRequestBuilder getBookings(LocalDate bookingDate) {
+        return MockMvcRequestBuilders.get("/api/bookings/seek?roomName=Earth&date=" + bookingDate);
+    }
+
+    private static BookingRequestDto buildBookingRequestDto(LocalDate bookingDate) {
+        BookingRequestDto requestDto = new BookingRequestDto();
+        requestDto.setRoomName("Earth");
+        requestDto.setEmployeeEmail("pluto@acme.com");
+        requestDto.setBookingDate(bookingDate);
+        requestDto.setStartTime(LocalTime.of(10, 0));
+        requestDto.setEndTime(LocalTime.of(11, 0));
+        return requestDto;
+    }
+}
@@ -0,0 +1,57 @@
+package com.acmelabinc.roombook.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SamplingTurboFilterTest {
+
+    private Logger logger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        LoggerContext context = new LoggerContext();
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setRate(10);
+        filter.start();
+        context.addTurboFilter(filter);
+
+        appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+
+        logger = context.getLogger(SamplingTurboFilterTest.class);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    @Test
+    void testDecide_LogsOneInRateOfSampledStatements() {
+
+        for (int i = 0; i < 100; i++) {
+            logger.info(SamplingTurboFilter.SAMPLED, "Booking saved successfully with ID {}", i);
+        }
+
+        assertEquals(10, appender.list.size());
+        assertEquals("Booking saved successfully with ID 10", appender.list.get(1).getFormattedMessage());
+    }
+
+    @Test
+    void testDecide_LeavesUnmarkedAndDisabledStatementsAlone() {
+
+        for (int i = 0; i < 100; i++) {
+            logger.info("Exported {} bookings.", i);
+            logger.debug(SamplingTurboFilter.SAMPLED, "Booking saved successfully with ID {}", i);
+        }
+        logger.info(SamplingTurboFilter.SAMPLED, "Booking saved successfully with ID {}", 0);
+
+        assertEquals(101, appender.list.size());
+    }
+}
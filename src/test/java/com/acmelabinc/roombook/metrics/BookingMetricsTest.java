@@ -0,0 +1,53 @@
+package com.acmelabinc.roombook.metrics;
+
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@Transactional
+@DirtiesContext
+public class BookingMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testPrometheusEndpoint_PublishesStageHistogramsAndRejections() throws Exception {
+
+        String booking = "{\"roomName\":\"Earth\",\"employeeEmail\":\"pluto@acme.com\",\"bookingDate\":\"" +
+                LocalDate.now().plusDays(1L) + "\",\"startTime\":\"10:00\",\"endTime\":\"11:00\"}";
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(booking))
+                .andExpect(status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(booking))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "roombook_booking_save_stage_seconds_bucket{stage=\"insert\",le=\"5.0\"} 1")))
+                .andExpect(content().string(containsString(
+                        "roombook_booking_rejections_total{exception=\"AlreadyExistsException\",operation=\"save\"} 1.0")))
+                .andExpect(content().string(containsString("roombook_room_bookings_total{room=\"Earth\"} 1.0")));
+    }
+}
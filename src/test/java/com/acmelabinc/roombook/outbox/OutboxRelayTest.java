@@ -0,0 +1,133 @@
+package com.acmelabinc.roombook.outbox;
+
+import com.acmelabinc.roombook.dtos.BookingRequestDto;
+import com.acmelabinc.roombook.dtos.BookingResponseDto;
+import com.acmelabinc.roombook.entities.OutboxMessage;
+import com.acmelabinc.roombook.repositories.OutboxRepository;
+import com.acmelabinc.roombook.services.BookingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Not transactional: the relay only sees outbox rows of committed bookings. The scheduled relay runs once at
+ * startup and then waits an hour, so the tests relay by hand.
+ */
+@SpringBootTest(properties = {"roombook.outbox.sink=memory", "roombook.outbox.poll-interval=PT1H",
+        "roombook.outbox.batch-size=2"})
+@DirtiesContext
+public class OutboxRelayTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @SpyBean
+    private InMemoryOutboxSink outboxSink;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay.relay();
+        outboxSink.clear();
+    }
+
+    @Test
+    void testSaveAndCancel_RelayedAndDeleted() {
+
+        BookingResponseDto first = bookingService.save(buildBookingRequestDto(10));
+        BookingResponseDto second = bookingService.save(buildBookingRequestDto(11));
+        bookingService.cancel(first.getId());
+
+        assertEquals(3, outboxRepository.count());
+        assertEquals(3, outboxRelay.relay());
+
+        List<OutboxMessage> messages = outboxSink.getMessages();
+        assertEquals(List.of("booking-created", "booking-created", "booking-cancelled"),
+                messages.stream().map(OutboxMessage::getEventType).toList());
+        assertEquals(List.of(first.getId(), second.getId(), first.getId()),
+                messages.stream().map(OutboxMessage::getBookingId).toList());
+        assertTrue(messages.get(0).getPayload().startsWith("{\"id\":" + first.getId() + ",\"room\":\"Earth\""));
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void testFailedDelivery_KeepsTheBatchForTheNextRun() throws IOException {
+
+        bookingService.save(buildBookingRequestDto(12));
+        doThrow(new IOException("Sink is down")).when(outboxSink).deliver(anyList());
+
+        assertThrows(UncheckedIOException.class, () -> outboxRelay.relay());
+        assertEquals(1, outboxRepository.count());
+
+        reset(outboxSink);
+        assertEquals(1, outboxRelay.relay());
+        assertEquals(1, outboxSink.getMessages().size());
+    }
+
+    @Test
+    void testRowsLockedByAnotherRelayAreSkipped() throws Exception {
+
+        bookingService.save(buildBookingRequestDto(13));
+        bookingService.save(buildBookingRequestDto(14));
+        bookingService.save(buildBookingRequestDto(15));
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> otherRelay = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    int lockedRows = outboxRepository.lockNextBatch(2).size();
+                    locked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return lockedRows;
+                }));
+
+        locked.await();
+        assertEquals(1, outboxRelay.relay());
+        release.countDown();
+
+        assertEquals(2, otherRelay.get());
+        assertEquals(2, outboxRelay.relay());
+        assertEquals(3, outboxSink.getMessages().size());
+    }
+
+    private static BookingRequestDto buildBookingRequestDto(int hour) {
+        BookingRequestDto requestDto = new BookingRequestDto();
+        requestDto.setRoomName("Earth");
+        requestDto.setEmployeeEmail("pluto@acme.com");
+        requestDto.setBookingDate(LocalDate.now().plusDays(6L));
+        requestDto.setStartTime(LocalTime.of(hour, 0));
+        requestDto.setEndTime(LocalTime.of(hour + 1, 0));
+        return requestDto;
+    }
+}
@@ -0,0 +1,118 @@
+package com.acmelabinc.roombook.outbox;
+
+import com.acmelabinc.roombook.dtos.BookingRequestDto;
+import com.acmelabinc.roombook.dtos.BookingResponseDto;
+import com.acmelabinc.roombook.entities.OutboxMessage;
+import com.acmelabinc.roombook.repositories.ReactiveOutboxRepository;
+import com.acmelabinc.roombook.services.ReactiveBookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+/**
+ * See {@link OutboxRelayTest}; the same checks against the {@code reactive} profile.
+ */
+@SpringBootTest(properties = {"roombook.outbox.sink=memory", "roombook.outbox.poll-interval=PT1H",
+        "roombook.outbox.batch-size=2"})
+@ActiveProfiles("reactive")
+@DirtiesContext
+public class ReactiveOutboxRelayTest {
+
+    @Autowired
+    private ReactiveBookingService bookingService;
+
+    @Autowired
+    private ReactiveOutboxRelay outboxRelay;
+
+    @Autowired
+    private ReactiveOutboxRepository outboxRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @SpyBean
+    private InMemoryOutboxSink outboxSink;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay.relay();
+        outboxSink.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        databaseClient.sql("DELETE FROM booking").then().block();
+    }
+
+    @Test
+    void testSaveBulkSaveAndCancel_RelayedAndDeleted() {
+
+        BookingResponseDto first = bookingService.save(buildBookingRequestDto(10)).block();
+        BookingResponseDto second = bookingService.saveAll(List.of(buildBookingRequestDto(11),
+                buildBookingRequestDto(11))).block().get(0).getBooking();
+        bookingService.cancel(first.getId()).block();
+
+        assertEquals(3, outboxRepository.count().block());
+        assertEquals(3, outboxRelay.relay());
+
+        List<OutboxMessage> messages = outboxSink.getMessages();
+        assertEquals(List.of("booking-created", "booking-created", "booking-cancelled"),
+                messages.stream().map(OutboxMessage::getEventType).toList());
+        assertEquals(List.of(first.getId(), second.getId(), first.getId()),
+                messages.stream().map(OutboxMessage::getBookingId).toList());
+        assertTrue(messages.get(0).getPayload().startsWith("{\"id\":" + first.getId() + ",\"room\":\"Earth\""));
+        assertEquals(0, outboxRepository.count().block());
+    }
+
+    @Test
+    void testRejectedSave_WritesNoOutboxRow() {
+
+        bookingService.save(buildBookingRequestDto(12)).block();
+        assertThrows(RuntimeException.class, () -> bookingService.save(buildBookingRequestDto(12)).block());
+
+        assertEquals(1, outboxRepository.count().block());
+    }
+
+    @Test
+    void testFailedDelivery_KeepsTheBatchForTheNextRun() throws IOException {
+
+        bookingService.save(buildBookingRequestDto(13)).block();
+        doThrow(new IOException("Sink is down")).when(outboxSink).deliver(anyList());
+
+        assertThrows(UncheckedIOException.class, () -> outboxRelay.relay());
+        assertEquals(1, outboxRepository.count().block());
+
+        reset(outboxSink);
+        assertEquals(1, outboxRelay.relay());
+        assertEquals(1, outboxSink.getMessages().size());
+    }
+
+    private static BookingRequestDto buildBookingRequestDto(int hour) {
+        BookingRequestDto requestDto = new BookingRequestDto();
+        requestDto.setRoomName("Earth");
+        requestDto.setEmployeeEmail("pluto@acme.com");
+        requestDto.setBookingDate(LocalDate.now().plusDays(7L));
+        requestDto.setStartTime(LocalTime.of(hour, 0));
+        requestDto.setEndTime(LocalTime.of(hour + 1, 0));
+        return requestDto;
+    }
+}
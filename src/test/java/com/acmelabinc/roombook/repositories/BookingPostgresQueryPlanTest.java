@@ -0,0 +1,173 @@
+package com.acmelabinc.roombook.repositories;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the PostgreSQL migrations on an embedded PostgreSQL, loads synthetic bookings into monthly partitions and
+ * checks via EXPLAIN that the hot booking queries are pruned to the partitions of their days and answered from the
+ * partial indexes of active bookings, and that a page of the employee history is an index-only scan that never reads
+ * the heap. Partitions carry their own copy of each index, named after the partition, so plans are matched against
+ * the copy of the parent index on the expected partition. The row count defaults to
+ * 100,000; run with {@code -Droombook.plan-test.rows=3000000} for a production-sized table.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class BookingPostgresQueryPlanTest {
+
+    private static final int ROOMS = 200;
+    private static final int EMPLOYEES = 1000;
+    private static final int SLOTS_PER_DAY = 8;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+    private static final LocalDate FEBRUARY_DAY = LocalDate.of(2030, 2, 10);
+    private static final String JANUARY = "booking_y2030m01";
+    private static final String FEBRUARY = "booking_y2030m02";
+    private static final String PARTITION_INDEX_QUERY = "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_index x ON x.indexrelid = c.oid " +
+            "WHERE i.inhparent = ?::regclass AND x.indrelid = ?::regclass";
+    private static final Pattern HEAP_FETCHES = Pattern.compile("Heap Fetches: [1-9]");
+
+    private EmbeddedPostgres postgres;
+    private JdbcTemplate jdbcTemplate;
+    private long roomId;
+    private long employeeId;
+
+    @BeforeAll
+    void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration", "classpath:db/vendor/postgresql")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+
+        int rows = Integer.getInteger("roombook.plan-test.rows", 100_000);
+        int days = Math.max(60, rows / (ROOMS * SLOTS_PER_DAY));
+        YearMonth lastMonth = YearMonth.from(FIRST_DAY.plusDays(days - 1L));
+        for (YearMonth month = YearMonth.from(FIRST_DAY); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            jdbcTemplate.queryForObject("SELECT booking_create_partition(?)", Boolean.class, month.atDay(1));
+        }
+
+        jdbcTemplate.update("INSERT INTO room (name) SELECT 'Plan ' || x FROM generate_series(1, " + ROOMS + ") x");
+        jdbcTemplate.update("INSERT INTO employee (email) SELECT 'plan' || x || '@acme.com' " +
+                "FROM generate_series(1, " + EMPLOYEES + ") x");
+        roomId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM room WHERE name LIKE 'Plan %'", Long.class);
+        employeeId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM employee WHERE email LIKE 'plan%'", Long.class);
+
+        // One booking in a thousand is cancelled, so the partial indexes leave out rows the table still has.
+        jdbcTemplate.update("INSERT INTO booking (room_id, employee_id, booking_date, start_time, end_time, " +
+                "cancelled_at) SELECT r.id, " + employeeId + " + (r.id * 7 + x) % " + EMPLOYEES + ", " +
+                "DATE '" + FIRST_DAY + "' + x / " + SLOTS_PER_DAY + ", " +
+                "TIME '09:00' + make_interval(hours => x % " + SLOTS_PER_DAY + "), " +
+                "TIME '10:00' + make_interval(hours => x % " + SLOTS_PER_DAY + "), " +
+                "CASE WHEN (r.id + x) % 1000 = 0 THEN TIMESTAMP '2029-12-01 12:00' END " +
+                "FROM room r CROSS JOIN generate_series(0, " + (days * SLOTS_PER_DAY - 1) + ") x " +
+                "WHERE r.name LIKE 'Plan %'");
+
+        jdbcTemplate.execute("VACUUM ANALYZE booking");
+    }
+
+    @AfterAll
+    void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void testRoomAndDateListing_PrunesToOnePartitionAndUsesRoomDateTimeIndex() {
+        String plan = explain("SELECT b.id, r.name, e.email, b.booking_date, b.start_time, b.end_time " +
+                "FROM booking b JOIN room r ON r.id = b.room_id JOIN employee e ON e.id = b.employee_id " +
+                "WHERE b.room_id = " + roomId + " AND b.booking_date = DATE '" + FEBRUARY_DAY + "' " +
+                "AND b.cancelled_at IS NULL ORDER BY b.booking_date, b.start_time, b.id LIMIT 11");
+
+        assertUsesIndex("idx_booking_room_date_time", FEBRUARY, plan);
+        assertPrunes(JANUARY, plan);
+        assertPrunes("booking_default", plan);
+    }
+
+    @Test
+    void testOverlapCheck_UsesRoomDateTimeIndex() {
+        String plan = explain("SELECT 1 FROM booking WHERE room_id = " + roomId + " " +
+                "AND booking_date = DATE '" + FEBRUARY_DAY + "' AND start_time < TIME '12:00' " +
+                "AND end_time > TIME '11:00' AND cancelled_at IS NULL");
+
+        assertUsesIndex("idx_booking_room_date_time", FEBRUARY, plan);
+        assertPrunes(JANUARY, plan);
+    }
+
+    @Test
+    void testSeekAfterCursor_PrunesEarlierMonthsAndUsesDateTimeIdIndex() {
+        String plan = explain("SELECT b.id FROM booking b WHERE b.cancelled_at IS NULL " +
+                "AND b.booking_date >= DATE '" + FEBRUARY_DAY + "' AND (b.booking_date > DATE '" + FEBRUARY_DAY + "' " +
+                "OR (b.booking_date = DATE '" + FEBRUARY_DAY + "' AND (b.start_time > TIME '10:00' " +
+                "OR (b.start_time = TIME '10:00' AND b.id > 0)))) " +
+                "ORDER BY b.booking_date, b.start_time, b.id LIMIT 11");
+
+        assertUsesIndex("idx_booking_date_time_id", FEBRUARY, plan);
+        assertPrunes(JANUARY, plan);
+    }
+
+    @Test
+    void testEmployeeLookup_UsesEmployeeIdIndex() {
+        // Unlike H2, PostgreSQL does not index foreign keys on its own, and the partial employee history index cannot
+        // answer a lookup that includes cancelled bookings, so idx_booking_employee_id is the only index that fits.
+        String plan = explain("SELECT b.id FROM booking b WHERE b.employee_id = " + employeeId);
+
+        assertUsesIndex("idx_booking_employee_id", JANUARY, plan);
+    }
+
+    @Test
+    void testEmployeeHistory_IsAnIndexOnlyScanWithoutHeapFetches() {
+        // VACUUM ANALYZE in setUp leaves every page all-visible, so the covering index can answer on its own.
+        String plan = explainAnalyze("SELECT b.id, r.name, e.email, b.booking_date, b.start_time, b.end_time " +
+                "FROM booking b JOIN room r ON r.id = b.room_id JOIN employee e ON e.id = b.employee_id " +
+                "WHERE b.employee_id = " + employeeId + " AND b.booking_date BETWEEN DATE '" + FIRST_DAY + "' " +
+                "AND DATE '" + FIRST_DAY.plusDays(27L) + "' AND b.cancelled_at IS NULL " +
+                "ORDER BY b.booking_date, b.start_time, b.id LIMIT 11");
+
+        String index = partitionIndex("idx_booking_employee_date_time", JANUARY);
+        assertTrue(plan.contains("Index Only Scan using " + index), "Expected an index-only scan in plan:\n" + plan);
+        assertTrue(plan.contains("Heap Fetches: 0"), "Expected no heap fetches in plan:\n" + plan);
+        assertFalse(HEAP_FETCHES.matcher(plan).find(), "Expected no heap fetches in plan:\n" + plan);
+    }
+
+    @Test
+    void testCancelledLookup_UsesCancelledAtIndex() {
+        String plan = explain("SELECT b.id FROM booking b WHERE b.cancelled_at < TIMESTAMP '2029-12-02 00:00'");
+
+        assertUsesIndex("idx_booking_cancelled_at", JANUARY, plan);
+    }
+
+    private void assertUsesIndex(String parentIndex, String partition, String plan) {
+        String index = partitionIndex(parentIndex, partition);
+        assertTrue(plan.contains(index), "Expected " + index + " in plan:\n" + plan);
+    }
+
+    private String partitionIndex(String parentIndex, String partition) {
+        return jdbcTemplate.queryForObject(PARTITION_INDEX_QUERY, String.class, parentIndex, partition);
+    }
+
+    private static void assertPrunes(String partition, String plan) {
+        assertFalse(plan.contains(partition), "Expected " + partition + " to be pruned from plan:\n" + plan);
+    }
+
+    private String explain(String query) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query, String.class));
+    }
+
+    private String explainAnalyze(String query) {
+        return explain("(ANALYZE, BUFFERS) " + query);
+    }
+}
@@ -0,0 +1,114 @@
+package com.acmelabinc.roombook.repositories;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Loads synthetic bookings into H2 and checks via EXPLAIN that the hot booking queries are answered from an index.
+ * The row count defaults to 200,000; run with {@code -Droombook.plan-test.rows=3000000} for a production-sized table.
+ * H2 indexes foreign keys on its own, which makes the plain {@code employee_id} lookup indistinguishable from
+ * {@code idx_booking_employee_id} here, so {@link BookingPostgresQueryPlanTest} checks that one.
+ */
+@JdbcTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class BookingQueryPlanTest {
+
+    private static final int ROOMS = 500;
+    private static final int EMPLOYEES = 1000;
+    private static final int SLOTS_PER_DAY = 8;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+    private static final String ROOM_DATE_TIME_INDEX = "IDX_BOOKING_ROOM_DATE_TIME";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long roomId;
+    private long employeeId;
+
+    @BeforeAll
+    void setUp() {
+        int rows = Integer.getInteger("roombook.plan-test.rows", 200_000);
+        int days = Math.max(1, rows / (ROOMS * SLOTS_PER_DAY));
+
+        jdbcTemplate.update("INSERT INTO room (name) SELECT 'Plan ' || X FROM SYSTEM_RANGE(1, " + ROOMS + ")");
+        jdbcTemplate.update("INSERT INTO employee (email) SELECT 'plan' || X || '@acme.com' " +
+                "FROM SYSTEM_RANGE(1, " + EMPLOYEES + ")");
+        roomId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM room WHERE name LIKE 'Plan %'", Long.class);
+        employeeId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM employee WHERE email LIKE 'plan%'", Long.class);
+
+        jdbcTemplate.update("INSERT INTO booking (room_id, employee_id, booking_date, start_time, end_time) " +
+                "SELECT r.id, " + employeeId + " + MOD(r.id * 7 + X, " + EMPLOYEES + "), " +
+                "DATEADD(DAY, X / " + SLOTS_PER_DAY + ", DATE '" + FIRST_DAY + "'), " +
+                "DATEADD(HOUR, MOD(X, " + SLOTS_PER_DAY + "), TIME '09:00:00'), " +
+                "DATEADD(HOUR, MOD(X, " + SLOTS_PER_DAY + ") + 1, TIME '09:00:00') " +
+                "FROM room r CROSS JOIN SYSTEM_RANGE(0, " + (days * SLOTS_PER_DAY - 1) + ") WHERE r.name LIKE 'Plan %'");
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void testRoomAndDateListing_UsesRoomDateTimeIndex() {
+        assertUsesIndex(ROOM_DATE_TIME_INDEX, "SELECT b.id, r.name, e.email, b.booking_date, b.start_time, b.end_time " +
+                "FROM booking b JOIN room r ON r.id = b.room_id JOIN employee e ON e.id = b.employee_id " +
+                "WHERE b.room_id = " + roomId + " AND b.booking_date = DATE '" + FIRST_DAY + "' " +
+                "ORDER BY b.start_time FETCH FIRST 10 ROWS ONLY");
+    }
+
+    @Test
+    void testRoomAndDateCount_UsesRoomDateTimeIndex() {
+        assertUsesIndex(ROOM_DATE_TIME_INDEX, "SELECT COUNT(b.id) FROM booking b " +
+                "WHERE b.room_id = " + roomId + " AND b.booking_date = DATE '" + FIRST_DAY + "'");
+    }
+
+    @Test
+    void testOverlapCheck_UsesRoomDateTimeIndex() {
+        assertUsesIndex(ROOM_DATE_TIME_INDEX, "SELECT 1 FROM booking WHERE room_id = " + roomId + " " +
+                "AND booking_date = DATE '" + FIRST_DAY + "' AND start_time < TIME '12:00:00' " +
+                "AND end_time > TIME '11:00:00'");
+    }
+
+    @Test
+    void testRecurringOverlapCheck_UsesRoomDateTimeIndex() {
+        assertUsesIndex(ROOM_DATE_TIME_INDEX, "SELECT room_id, booking_date, start_time, end_time FROM booking " +
+                "WHERE room_id = " + roomId + " AND booking_date BETWEEN DATE '" + FIRST_DAY + "' " +
+                "AND DATE '" + FIRST_DAY.plusWeeks(51L) + "' AND cancelled_at IS NULL");
+    }
+
+    @Test
+    void testSeekAfterCursor_UsesDateTimeIdIndex() {
+        assertUsesIndex("IDX_BOOKING_DATE_TIME_ID", "SELECT b.id FROM booking b " +
+                "WHERE b.booking_date >= DATE '" + FIRST_DAY + "' AND (b.booking_date > DATE '" + FIRST_DAY + "' " +
+                "OR (b.booking_date = DATE '" + FIRST_DAY + "' AND (b.start_time > TIME '10:00:00' " +
+                "OR (b.start_time = TIME '10:00:00' AND b.id > 0)))) " +
+                "ORDER BY b.booking_date, b.start_time, b.id FETCH FIRST 11 ROWS ONLY");
+    }
+
+    @Test
+    void testEmployeeHistory_UsesEmployeeDateTimeIndex() {
+        assertUsesIndex("IDX_BOOKING_EMPLOYEE_DATE_TIME", "SELECT b.id, r.name, e.email, b.booking_date, " +
+                "b.start_time, b.end_time FROM booking b JOIN room r ON r.id = b.room_id " +
+                "JOIN employee e ON e.id = b.employee_id WHERE b.employee_id = " + employeeId + " " +
+                "AND b.booking_date BETWEEN DATE '" + FIRST_DAY + "' AND DATE '" + FIRST_DAY.plusDays(30L) + "' " +
+                "AND b.cancelled_at IS NULL ORDER BY b.booking_date, b.start_time, b.id FETCH FIRST 11 ROWS ONLY");
+    }
+
+    private void assertUsesIndex(String indexName, String query) {
+        String plan = explain(query);
+        assertTrue(plan.contains(indexName), "Expected " + indexName + " in plan:\n" + plan);
+    }
+
+    private String explain(String query) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + query, String.class);
+    }
+}
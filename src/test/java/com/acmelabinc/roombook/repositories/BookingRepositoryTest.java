@@ -0,0 +1,190 @@
+package com.acmelabinc.roombook.repositories;
+
+import com.acmelabinc.roombook.dtos.BookingResponseDto;
+import com.acmelabinc.roombook.entities.Booking;
+import com.acmelabinc.roombook.entities.Employee;
+import com.acmelabinc.roombook.entities.Room;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class BookingRepositoryTest {
+
+    private static final int DAYS = 3;
+    private static final int HOURS_PER_DAY = 24;
+    private static final LocalDate FIRST_DAY = LocalDate.now().plusDays(1L);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Room room;
+    private Employee employee;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        room = roomRepository.findByName("Earth").orElseThrow();
+        employee = employeeRepository.findByEmail("pluto@acme.com").orElseThrow();
+
+        for (int day = 0; day < DAYS; day++) {
+            for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+                bookingRepository.save(new Booking(room, employee, FIRST_DAY.plusDays(day), LocalTime.of(hour, 0),
+                        LocalTime.of(hour, 59)));
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testFindAllResponses_ConstantQueryCountPerPage() {
+
+        for (int pageSize : new int[]{5, 20, 50}) {
+            statistics.clear();
+
+            Page<BookingResponseDto> page = bookingRepository.findAllResponses(
+                    PageRequest.of(0, pageSize, Sort.by("bookingDate")));
+
+            assertEquals(pageSize, page.getNumberOfElements());
+            assertEquals("Earth", page.getContent().getFirst().getRoom());
+            assertEquals("pluto@acme.com", page.getContent().getFirst().getBookedBy());
+            assertEquals(2, statistics.getPrepareStatementCount(), "Page size " + pageSize);
+        }
+    }
+
+    @Test
+    void testFindResponsesAfter_WalksAllBookingsWithoutCountQuery() {
+
+        Set<Long> seen = new HashSet<>();
+        List<BookingResponseDto> slice = bookingRepository.findFirstResponses(Limit.of(10));
+        while (!slice.isEmpty()) {
+            slice.forEach(booking -> assertTrue(seen.add(booking.getId()), "Duplicate booking " + booking.getId()));
+            BookingResponseDto last = slice.getLast();
+
+            statistics.clear();
+            slice = bookingRepository.findResponsesAfter(last.getBookingDate(), last.getTimeFrom(), last.getId(),
+                    Limit.of(10));
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+
+        assertEquals(DAYS * HOURS_PER_DAY, seen.size());
+    }
+
+    @Test
+    void testFindResponsesByEmployeeAfter_OneStatementPerPageWithinRange() {
+
+        Employee other = employeeRepository.findByEmail("ceres@acme.com").orElseThrow();
+        bookingRepository.save(new Booking(roomRepository.findByName("Mars").orElseThrow(), other, FIRST_DAY.plusDays(1L), LocalTime.of(10, 0),
+                LocalTime.of(11, 0)));
+        entityManager.flush();
+        entityManager.clear();
+
+        LocalDate from = FIRST_DAY.plusDays(1L);
+        LocalDate to = FIRST_DAY.plusDays(DAYS);
+        Set<Long> seen = new HashSet<>();
+
+        statistics.clear();
+        List<BookingResponseDto> slice = bookingRepository.findFirstResponsesByEmployee(employee.getId(), from, to,
+                Limit.of(10));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        while (!slice.isEmpty()) {
+            slice.forEach(booking -> {
+                assertTrue(seen.add(booking.getId()), "Duplicate booking " + booking.getId());
+                assertEquals("pluto@acme.com", booking.getBookedBy());
+                assertTrue(!booking.getBookingDate().isBefore(from), "Booking before the range");
+            });
+            BookingResponseDto last = slice.getLast();
+
+            statistics.clear();
+            slice = bookingRepository.findResponsesByEmployeeAfter(employee.getId(), from, to,
+                    last.getBookingDate(), last.getTimeFrom(), last.getId(), Limit.of(10));
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+
+        assertEquals((DAYS - 1) * HOURS_PER_DAY, seen.size());
+    }
+
+    @Test
+    void testFindResponsesByRoomAndBookingDate_ConstantQueryCountPerPage() {
+
+        for (int pageSize : new int[]{2, 10, 20}) {
+            statistics.clear();
+
+            Page<BookingResponseDto> page = bookingRepository.findResponsesByRoomAndBookingDate(room, FIRST_DAY,
+                    PageRequest.of(0, pageSize, Sort.by("startTime")));
+
+            assertEquals(pageSize, page.getNumberOfElements());
+            assertEquals(HOURS_PER_DAY, page.getTotalElements());
+            assertEquals(2, statistics.getPrepareStatementCount(), "Page size " + pageSize);
+        }
+    }
+
+    @Test
+    void testCancel_FreesSlotAndHidesBooking() {
+
+        Booking booking = bookingRepository.save(new Booking(room, employee, FIRST_DAY.plusDays(DAYS),
+                LocalTime.of(10, 0), LocalTime.of(12, 0)));
+        entityManager.flush();
+
+        assertEquals(1, bookingRepository.cancel(booking.getId(), booking.getBookingDate(), LocalDateTime.now()));
+        assertEquals(0, bookingRepository.cancel(booking.getId(), booking.getBookingDate(), LocalDateTime.now()));
+        assertTrue(bookingRepository.findSlotsIn(List.of(room.getId()), List.of(booking.getBookingDate())).isEmpty());
+
+        bookingRepository.saveAndFlush(new Booking(room, employee, booking.getBookingDate(), LocalTime.of(11, 0),
+                LocalTime.of(12, 0)));
+
+        assertEquals(1, bookingRepository.findSlotsIn(List.of(room.getId()), List.of(booking.getBookingDate())).size());
+    }
+
+    @Test
+    void testSaveAllAndFlush_BatchesInserts() {
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+            for (int day = DAYS; day < DAYS + 4; day++) {
+                bookings.add(new Booking(room, employee, FIRST_DAY.plusDays(day), LocalTime.of(hour, 0),
+                        LocalTime.of(hour, 59)));
+            }
+        }
+
+        statistics.clear();
+        bookingRepository.saveAllAndFlush(bookings);
+
+        assertTrue(statistics.getPrepareStatementCount() <= 6,
+                statistics.getPrepareStatementCount() + " statements for " + bookings.size() + " bookings");
+    }
+}
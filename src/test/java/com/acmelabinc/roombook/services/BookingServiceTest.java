@@ -1,34 +1,76 @@
 package com.acmelabinc.roombook.services;
 
+import com.acmelabinc.roombook.availability.BookingAdmission;
+import com.acmelabinc.roombook.availability.BookingIntervalIndex;
+import com.acmelabinc.roombook.availability.BookingSlot;
+import com.acmelabinc.roombook.availability.RoomDayOccupancy;
+import com.acmelabinc.roombook.availability.RoomDayVersions;
+import com.acmelabinc.roombook.compaction.BookingRetention;
+import com.acmelabinc.roombook.converters.BookingConverter;
+import com.acmelabinc.roombook.converters.BookingCursor;
+import com.acmelabinc.roombook.converters.BookingExportFormat;
+import com.acmelabinc.roombook.dtos.BookingBulkResultDto;
 import com.acmelabinc.roombook.dtos.BookingRequestDto;
 import com.acmelabinc.roombook.dtos.BookingResponseDto;
+import com.acmelabinc.roombook.dtos.BookingSliceDto;
+import com.acmelabinc.roombook.dtos.Recurrence;
+import com.acmelabinc.roombook.dtos.RecurringBookingRequestDto;
 import com.acmelabinc.roombook.entities.Booking;
 import com.acmelabinc.roombook.entities.Employee;
 import com.acmelabinc.roombook.entities.Room;
+import com.acmelabinc.roombook.events.BookingEvent;
+import com.acmelabinc.roombook.events.BookingEventBus;
 import com.acmelabinc.roombook.exceptions.AlreadyExistsException;
 import com.acmelabinc.roombook.exceptions.BadRequestException;
 import com.acmelabinc.roombook.exceptions.NotFoundException;
+import com.acmelabinc.roombook.metrics.BookingMetrics;
+import com.acmelabinc.roombook.outbox.BookingOutbox;
 import com.acmelabinc.roombook.repositories.BookingRepository;
 import com.acmelabinc.roombook.repositories.EmployeeRepository;
 import com.acmelabinc.roombook.repositories.RoomRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 public class BookingServiceTest {
@@ -42,6 +84,35 @@ public class BookingServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private BookingAdmission bookingAdmission;
+
+    @Mock
+    private ReferenceResolver referenceResolver;
+
+    @Mock
+    private RoomDayOccupancy roomDayOccupancy;
+
+    @Mock
+    private RoomDayVersions roomDayVersions;
+
+    @Mock
+    private BookingEventBus bookingEventBus;
+
+    @Mock
+    private BookingOutbox bookingOutbox;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private BookingMetrics bookingMetrics = new BookingMetrics(meterRegistry);
+
+    @Spy
+    private BookingRetention bookingRetention = new BookingRetention(Duration.ofDays(90L));
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -59,10 +130,11 @@ public class BookingServiceTest {
 
         Room room = buildRoom();
         Booking booking = buildBooking(room, buildEmployee());
-        Page<Booking> bookingPage = new PageImpl<>(List.of(booking));
+        Page<BookingResponseDto> bookingPage = new PageImpl<>(List.of(BookingConverter.convert(booking)));
 
-        when(roomRepository.findByName(roomName)).thenReturn(Optional.of(room));
-        when(bookingRepository.findByRoomAndBookingDate(room, date, pageable)).thenReturn(bookingPage);
+        when(referenceResolver.findRoomId(roomName)).thenReturn(Optional.of(room.getId()));
+        when(roomRepository.getReferenceById(room.getId())).thenReturn(room);
+        when(bookingRepository.findResponsesByRoomAndBookingDate(room, date, pageable)).thenReturn(bookingPage);
 
         Page<BookingResponseDto> result = bookingService.getByRoomAndDate(roomName, date, pageable);
 
@@ -77,7 +149,7 @@ public class BookingServiceTest {
         LocalDate date = LocalDate.of(2024, 11, 17);
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(roomRepository.findByName(roomName)).thenReturn(Optional.empty());
+        when(referenceResolver.findRoomId(roomName)).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> bookingService.getByRoomAndDate(roomName, date, pageable));
@@ -85,6 +157,141 @@ public class BookingServiceTest {
         assertEquals("Room not found: Milky Way", exception.getMessage());
     }
 
+    @Test
+    void testGetAllAfter_FirstSliceHasNext() {
+
+        List<BookingResponseDto> bookings = List.of(buildBookingResponseDto(1L, 10), buildBookingResponseDto(2L, 11),
+                buildBookingResponseDto(3L, 12));
+
+        when(bookingRepository.findFirstResponses(Limit.of(3))).thenReturn(bookings);
+
+        BookingSliceDto result = bookingService.getAllAfter(null, 2);
+
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.isHasNext());
+
+        BookingCursor cursor = BookingCursor.decode(result.getNextCursor());
+        assertEquals(2L, cursor.getId());
+        assertEquals(LocalTime.of(11, 0), cursor.getStartTime());
+    }
+
+    @Test
+    void testGetAllAfter_LastSlice() {
+
+        BookingResponseDto last = buildBookingResponseDto(2L, 11);
+        String cursor = BookingCursor.encode(last);
+
+        when(bookingRepository.findResponsesAfter(last.getBookingDate(), last.getTimeFrom(), last.getId(), Limit.of(3)))
+                .thenReturn(List.of(buildBookingResponseDto(3L, 12)));
+
+        BookingSliceDto result = bookingService.getAllAfter(cursor, 2);
+
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testGetAllAfter_InvalidCursor() {
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> bookingService.getAllAfter("not-a-cursor", 10));
+
+        assertEquals("The cursor is not valid.", exception.getMessage());
+    }
+
+    @Test
+    void testGetAllAfter_PageSizeBelowMinimum() {
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> bookingService.getAllAfter(null, 0));
+
+        assertEquals("Page size should be between 1 and 1000.", exception.getMessage());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testGetAllAfter_PageSizeAboveMaximum() {
+
+        when(bookingRepository.findFirstResponses(Limit.of(1001))).thenReturn(List.of());
+
+        assertFalse(bookingService.getAllAfter(null, 1000).isHasNext());
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> bookingService.getAllAfter(null, 1001));
+        assertEquals("Page size should be between 1 and 1000.", exception.getMessage());
+
+        assertThrows(BadRequestException.class,
+                () -> bookingService.getByEmployeeAfter("pluto@acme.com", null, null, null, Integer.MAX_VALUE));
+        verifyNoInteractions(referenceResolver);
+    }
+
+    @Test
+    void testGetByEmployeeAfter_OpenRangeIsBounded() {
+
+        when(referenceResolver.findEmployeeId("pluto@acme.com")).thenReturn(Optional.of(1L));
+        when(bookingRepository.findFirstResponsesByEmployee(1L, LocalDate.now().minusDays(90L),
+                LocalDate.of(9999, 12, 31), Limit.of(11))).thenReturn(List.of(buildBookingResponseDto(1L, 10)));
+
+        BookingSliceDto result = bookingService.getByEmployeeAfter("pluto@acme.com", null, null, null, 10);
+
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasNext());
+    }
+
+    @Test
+    void testGetByEmployeeAfter_RangeEndsBeforeItStarts() {
+
+        LocalDate date = LocalDate.of(2030, 1, 10);
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> bookingService.getByEmployeeAfter("pluto@acme.com", date, date.minusDays(1L), null, 10));
+
+        assertEquals("The date range cannot end before it starts.", exception.getMessage());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testGetByEmployeeAfter_RangeStartsBeforeRetention() {
+
+        LocalDate firstRetained = LocalDate.now().minusDays(90L);
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> bookingService.getByEmployeeAfter("pluto@acme.com", firstRetained.minusDays(1L), null, null, 10));
+
+        assertEquals("Booking history only goes back to " + firstRetained + ".", exception.getMessage());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testGetByEmployeeAfter_EmployeeNotFound() {
+
+        when(referenceResolver.findEmployeeId("nobody@acme.com")).thenReturn(Optional.empty());
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> bookingService.getByEmployeeAfter("nobody@acme.com", null, null, null, 10));
+
+        assertEquals("Employee not found: nobody@acme.com", exception.getMessage());
+    }
+
+    @Test
+    void testExportAll_Csv() throws IOException {
+
+        BookingResponseDto booking = buildBookingResponseDto(1L, 10);
+        booking.setRoom("Earth, \"East\" wing");
+
+        when(bookingRepository.streamAllResponses()).thenReturn(Stream.of(booking));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        bookingService.exportAll(BookingExportFormat.CSV, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("id,room,bookedBy,bookingDate,timeFrom,timeTo", lines[0]);
+        assertEquals("1,\"Earth, \"\"East\"\" wing\",dinos@acme.com," + booking.getBookingDate() + ",10:00,11:00",
+                lines[1]);
+    }
+
     @Test
     void testSave_Successful() {
 
@@ -93,17 +300,25 @@ public class BookingServiceTest {
         Employee employee = buildEmployee();
         Booking booking = buildBooking(room, employee);
 
-        when(roomRepository.findByName("room1")).thenReturn(Optional.of(room));
-        when(employeeRepository.findByEmail("dinos@acme.com")).thenReturn(Optional.of(employee));
-        when(bookingRepository.existsByRoomAndBookingDateAndStartTimeLessThanAndEndTimeGreaterThan(room, requestDto.getBookingDate(),
-                requestDto.getStartTime(), requestDto.getEndTime())).thenReturn(false);
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(referenceResolver.findRoomId("room1")).thenReturn(Optional.of(room.getId()));
+        when(roomRepository.getReferenceById(room.getId())).thenReturn(room);
+        when(referenceResolver.findEmployeeId("dinos@acme.com")).thenReturn(Optional.of(employee.getId()));
+        when(employeeRepository.getReferenceById(employee.getId())).thenReturn(employee);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
 
         BookingResponseDto result = bookingService.save(requestDto);
 
         assertEquals(result.getBookedBy(), (requestDto.getEmployeeEmail()));
         assertEquals(result.getBookingDate(), (LocalDate.now().plusDays(1L)));
         assertEquals(result.getRoom(), (requestDto.getRoomName()));
+        verify(roomDayOccupancy).invalidateAfterCommit(room.getId(), booking.getBookingDate());
+        verify(roomDayVersions).bumpAfterCommit(room.getId(), booking.getBookingDate());
+        verify(bookingEventBus).publishAfterCommit(argThat(event -> event.type() == BookingEvent.Type.CREATED));
+        verify(bookingOutbox).append(argThat(event -> event.type() == BookingEvent.Type.CREATED));
+        for (String stage : List.of("validation", "room-lookup", "employee-lookup", "overlap-check", "insert")) {
+            assertEquals(1, meterRegistry.get("roombook.booking.save.stage").tag("stage", stage).timer().count());
+        }
+        assertEquals(1, meterRegistry.get("roombook.room.bookings").tag("room", "room1").counter().count());
     }
 
     @Test
@@ -149,7 +364,7 @@ public class BookingServiceTest {
         BookingRequestDto requestDto = builidValidBookingRequestDto();
         requestDto.setRoomName("Earth");
 
-        when(roomRepository.findByName("room1")).thenReturn(Optional.empty());
+        when(referenceResolver.findRoomId("room1")).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> bookingService.save(requestDto));
 
@@ -164,8 +379,9 @@ public class BookingServiceTest {
 
         Room room = buildRoom();
 
-        when(roomRepository.findByName("room1")).thenReturn(Optional.of(room));
-        when(employeeRepository.findByEmail("dinos@acme.com")).thenReturn(Optional.empty());
+        when(referenceResolver.findRoomId("room1")).thenReturn(Optional.of(room.getId()));
+        when(roomRepository.getReferenceById(room.getId())).thenReturn(room);
+        when(referenceResolver.findEmployeeId("dinos@acme.com")).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> bookingService.save(requestDto));
 
@@ -178,15 +394,212 @@ public class BookingServiceTest {
         Room room = buildRoom();
         Employee employee = buildEmployee();
 
-        when(roomRepository.findByName("room1")).thenReturn(Optional.of(room));
-        when(employeeRepository.findByEmail("dinos@acme.com")).thenReturn(Optional.of(employee));
-        when(bookingRepository.existsByRoomAndBookingDateAndStartTimeLessThanAndEndTimeGreaterThan(room, requestDto.getBookingDate(),
-                requestDto.getEndTime(), requestDto.getStartTime())).thenReturn(true);
+        when(referenceResolver.findRoomId("room1")).thenReturn(Optional.of(room.getId()));
+        when(roomRepository.getReferenceById(room.getId())).thenReturn(room);
+        when(referenceResolver.findEmployeeId("dinos@acme.com")).thenReturn(Optional.of(employee.getId()));
+        when(employeeRepository.getReferenceById(employee.getId())).thenReturn(employee);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("conflicting key value violates exclusion constraint \"booking_no_overlap\"")));
 
         AlreadyExistsException exception = assertThrows(AlreadyExistsException.class,
                 () -> bookingService.save(requestDto));
 
         assertEquals("This room is already booked for the selected hours or overlaps another booking.", exception.getMessage());
+        assertEquals(1, meterRegistry.get("roombook.booking.rejections").tags("operation", "save",
+                "exception", "AlreadyExistsException").counter().count());
+    }
+
+    @Test
+    void testSave_OverlapsIndexedBooking() {
+        BookingRequestDto requestDto = builidValidBookingRequestDto();
+        Room room = buildRoom();
+        Employee employee = buildEmployee();
+
+        when(referenceResolver.findRoomId("room1")).thenReturn(Optional.of(room.getId()));
+        when(roomRepository.getReferenceById(room.getId())).thenReturn(room);
+        when(referenceResolver.findEmployeeId("dinos@acme.com")).thenReturn(Optional.of(employee.getId()));
+        when(employeeRepository.getReferenceById(employee.getId())).thenReturn(employee);
+        when(bookingIntervalIndex.isEnabled()).thenReturn(true);
+        when(bookingIntervalIndex.tryReserve(room.getId(), requestDto.getBookingDate(), requestDto.getStartTime(),
+                requestDto.getEndTime())).thenReturn(false);
+
+        AlreadyExistsException exception = assertThrows(AlreadyExistsException.class,
+                () -> bookingService.save(requestDto));
+
+        assertEquals("This room is already booked for the selected hours or overlaps another booking.", exception.getMessage());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testSaveAll_ReportsResultPerItem() {
+
+        BookingRequestDto first = builidValidBookingRequestDto();
+        BookingRequestDto overlapsFirst = builidValidBookingRequestDto();
+        overlapsFirst.setStartTime(LocalTime.of(11, 0));
+        BookingRequestDto unknownRoom = builidValidBookingRequestDto();
+        unknownRoom.setRoomName("room2");
+        BookingRequestDto invalidDuration = builidValidBookingRequestDto();
+        invalidDuration.setEndTime(LocalTime.of(10, 30));
+        BookingRequestDto overlapsExisting = builidValidBookingRequestDto();
+        overlapsExisting.setBookingDate(LocalDate.now().plusDays(2L));
+
+        when(roomRepository.findByNameIn(anyCollection())).thenReturn(List.of(buildRoom()));
+        when(employeeRepository.findByEmailIn(anyCollection())).thenReturn(List.of(buildEmployee()));
+        when(bookingRepository.findSlotsIn(anyCollection(), anyCollection())).thenReturn(List.of(new BookingSlot(1L,
+                overlapsExisting.getBookingDate(), LocalTime.of(9, 0), LocalTime.of(11, 0))));
+        when(bookingRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookingBulkResultDto> results = bookingService.saveAll(List.of(first, overlapsFirst, unknownRoom,
+                invalidDuration, overlapsExisting));
+
+        assertEquals(List.of(HttpStatus.OK, HttpStatus.CONFLICT, HttpStatus.NOT_FOUND, HttpStatus.BAD_REQUEST,
+                HttpStatus.CONFLICT), results.stream().map(BookingBulkResultDto::getStatus).toList());
+        assertEquals("room1", results.get(0).getBooking().getRoom());
+        assertEquals("Room not found: room2", results.get(2).getMessage());
+        verify(bookingOutbox).appendAll(argThat(events -> events.size() == 1));
+    }
+
+    @Test
+    void testSaveAll_EmptyItemOrMissingTimeIsABadRequestItem() {
+
+        BookingRequestDto valid = builidValidBookingRequestDto();
+        BookingRequestDto missingStartTime = builidValidBookingRequestDto();
+        missingStartTime.setStartTime(null);
+
+        when(roomRepository.findByNameIn(anyCollection())).thenReturn(List.of(buildRoom()));
+        when(employeeRepository.findByEmailIn(anyCollection())).thenReturn(List.of(buildEmployee()));
+        when(bookingRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookingBulkResultDto> results = bookingService.saveAll(Arrays.asList(valid, null, missingStartTime));
+
+        assertEquals(List.of(HttpStatus.OK, HttpStatus.BAD_REQUEST, HttpStatus.BAD_REQUEST),
+                results.stream().map(BookingBulkResultDto::getStatus).toList());
+        assertEquals("A booking request cannot be empty.", results.get(1).getMessage());
+        assertEquals("A booking needs a booking date, a start time and an end time.", results.get(2).getMessage());
+    }
+
+    @Test
+    void testSaveAll_TooManyBookings() {
+
+        List<BookingRequestDto> requestDtos = Collections.nCopies(501, builidValidBookingRequestDto());
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> bookingService.saveAll(requestDtos));
+
+        assertEquals("A bulk request should contain between 1 and 500 bookings.", exception.getMessage());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testSaveRecurring_WeeklyForAYearInOneQueryAndOneBatch() {
+
+        RecurringBookingRequestDto requestDto = buildRecurringBookingRequestDto(Recurrence.WEEKLY);
+        requestDto.setOccurrences(52);
+        LocalDate first = requestDto.getBookingDate();
+
+        when(referenceResolver.findRoomId("room1")).thenReturn(Optional.of(1L));
+        when(roomRepository.getReferenceById(1L)).thenReturn(buildRoom());
+        when(referenceResolver.findEmployeeId("dinos@acme.com")).thenReturn(Optional.of(1L));
+        when(employeeRepository.getReferenceById(1L)).thenReturn(buildEmployee());
+
+        List<BookingResponseDto> result = bookingService.saveRecurring(requestDto);
+
+        assertEquals(52, result.size());
+        assertEquals(first.plusWeeks(51L), result.get(51).getBookingDate());
+        verify(bookingRepository).findSlotsBetween(1L, first, first.plusWeeks(51L));
+        verify(bookingRepository).saveAllAndFlush(argThat(bookings -> ((List<Booking>) bookings).size() == 52));
+        verify(bookingOutbox).appendAll(argThat(events -> events.size() == 52));
+    }
+
+    @Test
+    void testSaveRecurring_RejectsTheWholeSeriesOnAnyOverlap() {
+
+        RecurringBookingRequestDto requestDto = buildRecurringBookingRequestDto(Recurrence.DAILY);
+        requestDto.setInterval(2);
+        requestDto.setUntil(requestDto.getBookingDate().plusDays(10L));
+        LocalDate taken = requestDto.getBookingDate().plusDays(4L);
+
+        when(referenceResolver.findRoomId("room1")).thenReturn(Optional.of(1L));
+        when(roomRepository.getReferenceById(1L)).thenReturn(buildRoom());
+        when(referenceResolver.findEmployeeId("dinos@acme.com")).thenReturn(Optional.of(1L));
+        when(employeeRepository.getReferenceById(1L)).thenReturn(buildEmployee());
+        when(bookingRepository.findSlotsBetween(1L, requestDto.getBookingDate(), requestDto.getUntil()))
+                .thenReturn(List.of(new BookingSlot(1L, taken, LocalTime.of(11, 0), LocalTime.of(13, 0)),
+                        new BookingSlot(1L, taken.plusDays(1L), LocalTime.of(10, 0), LocalTime.of(12, 0))));
+
+        AlreadyExistsException exception = assertThrows(AlreadyExistsException.class,
+                () -> bookingService.saveRecurring(requestDto));
+
+        assertEquals("This room is already booked for the selected hours on: " + taken, exception.getMessage());
+        verify(bookingRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void testSaveRecurring_InvalidRecurrence() {
+
+        RecurringBookingRequestDto untilAndOccurrences = buildRecurringBookingRequestDto(Recurrence.WEEKLY);
+        untilAndOccurrences.setUntil(LocalDate.now().plusMonths(1L));
+        untilAndOccurrences.setOccurrences(4);
+        RecurringBookingRequestDto tooLong = buildRecurringBookingRequestDto(Recurrence.DAILY);
+        tooLong.setUntil(tooLong.getBookingDate().plusYears(1L).plusDays(1L));
+
+        assertEquals("A recurring booking should end either at a date or after a number of occurrences.",
+                assertThrows(BadRequestException.class, () -> bookingService.saveRecurring(untilAndOccurrences))
+                        .getMessage());
+        assertEquals("A recurring booking should have between 1 and 366 occurrences.",
+                assertThrows(BadRequestException.class, () -> bookingService.saveRecurring(tooLong)).getMessage());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testSaveRecurring_MissingBookingDate() {
+
+        RecurringBookingRequestDto requestDto = buildRecurringBookingRequestDto(Recurrence.DAILY);
+        requestDto.setBookingDate(null);
+        requestDto.setOccurrences(3);
+
+        assertEquals("A recurring booking needs a booking date, a start time and an end time.",
+                assertThrows(BadRequestException.class, () -> bookingService.saveRecurring(requestDto)).getMessage());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testSaveRecurring_IntervalOutOfRange() {
+
+        RecurringBookingRequestDto requestDto = buildRecurringBookingRequestDto(Recurrence.WEEKLY);
+        requestDto.setInterval(Integer.MAX_VALUE);
+        requestDto.setUntil(LocalDate.MAX);
+
+        assertEquals("The recurrence interval should be between 1 and 365.",
+                assertThrows(BadRequestException.class, () -> bookingService.saveRecurring(requestDto)).getMessage());
+
+        requestDto.setInterval(0);
+        assertThrows(BadRequestException.class, () -> bookingService.saveRecurring(requestDto));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testSaveRecurring_UntilBeforeFirstBooking() {
+
+        RecurringBookingRequestDto requestDto = buildRecurringBookingRequestDto(Recurrence.DAILY);
+        requestDto.setUntil(requestDto.getBookingDate().minusDays(1L));
+
+        assertEquals("A recurring booking cannot end before its first booking.",
+                assertThrows(BadRequestException.class, () -> bookingService.saveRecurring(requestDto)).getMessage());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testSaveRecurring_RunsPastTheCalendar() {
+
+        RecurringBookingRequestDto requestDto = buildRecurringBookingRequestDto(Recurrence.WEEKLY);
+        requestDto.setBookingDate(LocalDate.MAX.minusDays(10L));
+        requestDto.setInterval(365);
+        requestDto.setOccurrences(2);
+
+        assertEquals("A recurring booking cannot run past the end of the calendar.",
+                assertThrows(BadRequestException.class, () -> bookingService.saveRecurring(requestDto)).getMessage());
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
@@ -197,10 +610,35 @@ public class BookingServiceTest {
         booking.setStartTime(LocalTime.of(10, 0));
 
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.cancel(eq(bookingId), eq(booking.getBookingDate()), any(LocalDateTime.class)))
+                .thenReturn(1);
 
         String result = bookingService.cancel(bookingId);
 
         assertEquals("Booking was cancelled successfully.", result);
+        verify(bookingIntervalIndex).releaseAfterCommit(booking.getRoom().getId(), booking.getBookingDate(),
+                booking.getStartTime(), booking.getEndTime());
+        verify(roomDayOccupancy).invalidateAfterCommit(booking.getRoom().getId(), booking.getBookingDate());
+        verify(roomDayVersions).bumpAfterCommit(booking.getRoom().getId(), booking.getBookingDate());
+        verify(bookingEventBus).publishAfterCommit(argThat(event -> event.type() == BookingEvent.Type.CANCELLED));
+        verify(bookingOutbox).append(argThat(event -> event.type() == BookingEvent.Type.CANCELLED));
+    }
+
+    @Test
+    void testCancel_AlreadyCancelled() {
+
+        Long bookingId = 1L;
+        Booking booking = buildBooking(buildRoom(), buildEmployee());
+        booking.setCancelledAt(LocalDateTime.now());
+
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> bookingService.cancel(bookingId));
+
+        assertEquals("Booking was not found.", exception.getMessage());
+        verify(bookingRepository, never()).cancel(any(), any(), any());
+        verifyNoInteractions(bookingIntervalIndex);
     }
 
     @Test
@@ -256,6 +694,22 @@ public class BookingServiceTest {
         return booking;
     }
 
+    private static BookingResponseDto buildBookingResponseDto(Long id, int startHour) {
+        return new BookingResponseDto(id, "room1", "dinos@acme.com", LocalDate.now().plusDays(1L),
+                LocalTime.of(startHour, 0), LocalTime.of(startHour + 1, 0));
+    }
+
+    private static RecurringBookingRequestDto buildRecurringBookingRequestDto(Recurrence recurrence) {
+        RecurringBookingRequestDto requestDto = new RecurringBookingRequestDto();
+        requestDto.setRoomName("room1");
+        requestDto.setEmployeeEmail("dinos@acme.com");
+        requestDto.setBookingDate(LocalDate.now().plusDays(1L));
+        requestDto.setStartTime(LocalTime.of(10, 0));
+        requestDto.setEndTime(LocalTime.of(12, 0));
+        requestDto.setRecurrence(recurrence);
+        return requestDto;
+    }
+
     private static BookingRequestDto builidValidBookingRequestDto() {
         BookingRequestDto requestDto = new BookingRequestDto();
         requestDto.setRoomName("room1");
@@ -0,0 +1,71 @@
+package com.acmelabinc.roombook.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class ReferenceResolverTest {
+
+    @Autowired
+    private ReferenceResolver referenceResolver;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(ReferenceResolver.ROOM_IDS).clear();
+        cacheManager.getCache(ReferenceResolver.EMPLOYEE_IDS).clear();
+    }
+
+    @Test
+    void testFindRoomId_SecondLookupIsCacheHit() {
+
+        double hits = cacheGets(ReferenceResolver.ROOM_IDS, "hit");
+        double misses = cacheGets(ReferenceResolver.ROOM_IDS, "miss");
+
+        Optional<Long> first = referenceResolver.findRoomId("Earth");
+        Optional<Long> second = referenceResolver.findRoomId("Earth");
+
+        assertTrue(first.isPresent());
+        assertEquals(first, second);
+        assertEquals(misses + 1, cacheGets(ReferenceResolver.ROOM_IDS, "miss"));
+        assertEquals(hits + 1, cacheGets(ReferenceResolver.ROOM_IDS, "hit"));
+    }
+
+    @Test
+    void testFindRoomId_UnknownNameIsNotCached() {
+
+        assertTrue(referenceResolver.findRoomId("Milky Way").isEmpty());
+        assertNull(cacheManager.getCache(ReferenceResolver.ROOM_IDS).get("Milky Way"));
+    }
+
+    @Test
+    void testFindEmployeeId_EvictedEntryIsLoadedAgain() {
+
+        double misses = cacheGets(ReferenceResolver.EMPLOYEE_IDS, "miss");
+
+        referenceResolver.findEmployeeId("pluto@acme.com");
+        cacheManager.getCache(ReferenceResolver.EMPLOYEE_IDS).evict("pluto@acme.com");
+        referenceResolver.findEmployeeId("pluto@acme.com");
+
+        assertEquals(misses + 2, cacheGets(ReferenceResolver.EMPLOYEE_IDS, "miss"));
+    }
+
+    private double cacheGets(String cacheName, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cacheName).tag("result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,196 @@
+package com.acmelabinc.roombook.services;
+
+import com.acmelabinc.roombook.availability.HourlyBitmap;
+import com.acmelabinc.roombook.availability.RoomDay;
+import com.acmelabinc.roombook.availability.RoomDayOccupancy;
+import com.acmelabinc.roombook.dtos.FreeRoomsDto;
+import com.acmelabinc.roombook.dtos.RoomAvailabilityDto;
+import com.acmelabinc.roombook.dtos.RoomCandidateDto;
+import com.acmelabinc.roombook.entities.Room;
+import com.acmelabinc.roombook.events.BookingEventBus;
+import com.acmelabinc.roombook.exceptions.BadRequestException;
+import com.acmelabinc.roombook.exceptions.NotFoundException;
+import com.acmelabinc.roombook.availability.BookingSlot;
+import com.acmelabinc.roombook.repositories.BookingRepository;
+import com.acmelabinc.roombook.repositories.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class RoomServiceTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(1L);
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomDayOccupancy roomDayOccupancy;
+
+    @Mock
+    private ReferenceResolver referenceResolver;
+
+    @Mock
+    private BookingEventBus bookingEventBus;
+
+    @InjectMocks
+    private RoomServiceImpl roomService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testGetAvailability_SkipsBookedHours() {
+
+        when(referenceResolver.findRoomId("Earth")).thenReturn(Optional.of(1L));
+        when(roomDayOccupancy.get(1L, DATE)).thenReturn(HourlyBitmap.of(LocalTime.of(10, 0), LocalTime.of(12, 0)));
+
+        RoomAvailabilityDto result = roomService.getAvailability("Earth", DATE);
+
+        assertEquals(21, result.getFreeSlots().size());
+        assertEquals(LocalTime.of(9, 0), result.getFreeSlots().get(9).getTimeFrom());
+        assertEquals(LocalTime.of(12, 0), result.getFreeSlots().get(10).getTimeFrom());
+        assertEquals(LocalTime.of(13, 0), result.getFreeSlots().get(10).getTimeTo());
+        assertEquals(LocalTime.of(23, 0), result.getFreeSlots().getLast().getTimeTo());
+    }
+
+    @Test
+    void testGetAvailability_RoomNotFound() {
+
+        when(referenceResolver.findRoomId("Milky Way")).thenReturn(Optional.empty());
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> roomService.getAvailability("Milky Way", DATE));
+
+        assertEquals("Room not found: Milky Way", exception.getMessage());
+    }
+
+    @Test
+    void testStreamEvents_RoomNotFound() {
+
+        when(referenceResolver.findRoomId("Milky Way")).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> roomService.streamEvents("Milky Way"));
+        verifyNoInteractions(bookingEventBus);
+    }
+
+    @Test
+    void testGetFreeRooms_PerDate() {
+
+        Room earth = new Room(1L, "Earth");
+        Room mars = new Room(2L, "Mars");
+        when(roomRepository.findAll(Sort.by("name"))).thenReturn(List.of(earth, mars));
+        when(roomDayOccupancy.getAll(anyCollection())).thenReturn(Map.of(
+                new RoomDay(1L, DATE), HourlyBitmap.of(LocalTime.of(15, 0), LocalTime.of(17, 0)),
+                new RoomDay(2L, DATE), HourlyBitmap.of(LocalTime.of(16, 0), LocalTime.of(17, 0)),
+                new RoomDay(1L, DATE.plusDays(1L)), 0,
+                new RoomDay(2L, DATE.plusDays(1L)), HourlyBitmap.of(LocalTime.of(13, 0), LocalTime.of(14, 0))));
+
+        List<FreeRoomsDto> result = roomService.getFreeRooms(List.of(DATE.plusDays(1L), DATE), LocalTime.of(14, 0),
+                LocalTime.of(16, 0));
+
+        assertEquals(DATE, result.get(0).getDate());
+        assertEquals(List.of("Mars"), result.get(0).getRooms());
+        assertEquals(DATE.plusDays(1L), result.get(1).getDate());
+        assertEquals(List.of("Earth", "Mars"), result.get(1).getRooms());
+    }
+
+    @Test
+    void testGetFreeRooms_NotWholeHours() {
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> roomService.getFreeRooms(List.of(DATE), LocalTime.of(14, 30), LocalTime.of(16, 0)));
+
+        assertEquals("Availability can only be checked for whole hours (e.g. 14:00).", exception.getMessage());
+        verifyNoInteractions(roomDayOccupancy);
+    }
+
+    @Test
+    void testSearchRooms_RankedAcrossDays() {
+
+        Room earth = new Room(1L, "Earth");
+        Room mars = new Room(2L, "Mars");
+        when(roomRepository.findAll(Sort.by("name"))).thenReturn(List.of(earth, mars));
+        when(bookingRepository.findAllSlotsBetween(DATE, DATE.plusDays(1L))).thenReturn(List.of(
+                new BookingSlot(1L, DATE, LocalTime.of(13, 0), LocalTime.of(15, 0)),
+                new BookingSlot(2L, DATE, LocalTime.of(14, 0), LocalTime.of(15, 0)),
+                new BookingSlot(2L, DATE.plusDays(1L), LocalTime.of(15, 0), LocalTime.of(16, 0))));
+
+        List<RoomCandidateDto> result = roomService.searchRooms(DATE, DATE.plusDays(1L), LocalTime.of(13, 0),
+                LocalTime.of(17, 0), 2, 10);
+
+        assertEquals(4, result.size());
+        assertEquals("Earth", result.get(0).getRoom());
+        assertEquals(DATE, result.get(0).getDate());
+        assertEquals(LocalTime.of(15, 0), result.get(0).getTimeFrom());
+        assertEquals(LocalTime.of(17, 0), result.get(0).getTimeTo());
+        assertEquals("Mars", result.get(1).getRoom());
+        assertEquals(LocalTime.of(15, 0), result.get(1).getTimeFrom());
+        // Mars fits the two hours snugly on the second day, Earth is free the whole window.
+        assertEquals("Mars", result.get(2).getRoom());
+        assertEquals(DATE.plusDays(1L), result.get(2).getDate());
+        assertEquals(LocalTime.of(13, 0), result.get(2).getTimeFrom());
+        assertEquals("Earth", result.get(3).getRoom());
+        verifyNoInteractions(roomDayOccupancy);
+    }
+
+    @Test
+    void testSearchRooms_RangeTooLong() {
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> roomService.searchRooms(DATE, DATE.plusDays(31L), LocalTime.of(13, 0), LocalTime.of(17, 0), 2, 10));
+
+        assertEquals("A search can span between 1 and 31 days.", exception.getMessage());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testSearchRooms_PastDate() {
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> roomService.searchRooms(LocalDate.now().minusDays(1L), DATE, LocalTime.of(13, 0),
+                        LocalTime.of(17, 0), 2, 10));
+
+        assertEquals("This day is gone forever.", exception.getMessage());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testSearchRooms_TodaySkipsStartedHours() {
+
+        LocalDate today = LocalDate.now();
+        when(roomRepository.findAll(Sort.by("name"))).thenReturn(List.of(new Room(1L, "Earth")));
+        when(bookingRepository.findAllSlotsBetween(today, today)).thenReturn(List.of());
+        LocalTime before = LocalTime.now();
+
+        List<RoomCandidateDto> result = roomService.searchRooms(today, today, LocalTime.MIDNIGHT, LocalTime.of(23, 0),
+                1, 10);
+
+        // Late in the evening no whole hour may be left in the window.
+        if (before.getHour() < 21) {
+            assertEquals(1, result.size());
+        }
+        result.forEach(candidate -> assertFalse(candidate.getTimeFrom().isBefore(before)));
+    }
+}